@@ -0,0 +1,19 @@
+package com.act.backend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+// Streaming CSV exports run as async requests; the container default (30s) would cut off a whole-term export
+@Configuration
+public class AsyncConfig implements WebMvcConfigurer {
+
+    @Value("${app.export.timeout-ms:900000}")
+    private long timeoutMs;
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setDefaultTimeout(timeoutMs);
+    }
+}
@@ -0,0 +1,82 @@
+package com.act.backend.config;
+
+import com.act.backend.models.Event;
+import com.act.backend.models.Faculty;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ConfigurationBuilder;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Hibernate second-level and query cache for the small, rarely changing
+ * {@link Event} and {@link Faculty} rows that almost every request looks up.
+ * Each region is an in-heap Ehcache bounded by entry count, with a TTL. The
+ * TTL also bounds how stale another replica's copy can get, because each
+ * backend instance has its own cache.
+ *
+ * Entity writes through Hibernate update the cache when they commit. Bulk JPQL
+ * updates evict the whole region. The seat counters are the exception: see
+ * EventRepository.takeSeat.
+ *
+ * Hit ratios come from the Hibernate statistics enabled in MetricsConfig, as
+ * hibernate.second.level.cache.requests{region,result} and
+ * hibernate.cache.query.requests{result}.
+ */
+@Configuration
+public class CacheConfig {
+
+    public static final String EVENT_REGION = "event";
+    public static final String FACULTY_REGION = "faculty";
+    private static final String QUERY_RESULTS_REGION = "default-query-results-region";
+    private static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(@Value("${app.cache.entity-max-entries:10000}") long entityMaxEntries,
+                                              @Value("${app.cache.entity-ttl-seconds:300}") long entityTtlSeconds,
+                                              @Value("${app.cache.query-max-entries:2000}") long queryMaxEntries,
+                                              @Value("${app.cache.query-ttl-seconds:60}") long queryTtlSeconds) {
+        ConfigurationBuilder config = ConfigurationBuilder.newConfigurationBuilder()
+                .withCache(EVENT_REGION, region(entityMaxEntries, entityTtlSeconds))
+                .withCache(FACULTY_REGION, region(entityMaxEntries, entityTtlSeconds))
+                .withCache(QUERY_RESULTS_REGION, region(queryMaxEntries, queryTtlSeconds))
+                // One entry per table; it must never be evicted or cached query results could outlive a write
+                .withCache(UPDATE_TIMESTAMPS_REGION, CacheConfigurationBuilder.newCacheConfigurationBuilder(
+                        Object.class, Object.class, ResourcePoolsBuilder.heap(1000)));
+
+        EhcacheCachingProvider provider = (EhcacheCachingProvider) Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+        // A manager of its own per application context, so test contexts in one JVM do not share regions
+        return provider.getCacheManager(URI.create("urn:activityportal:hibernate:" + UUID.randomUUID()), config.build());
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCache(CacheManager hibernateCacheManager,
+                                                          @Value("${app.cache.enabled:true}") boolean enabled) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, enabled);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, enabled);
+            if (!enabled) return;
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            // A region without an explicit size and TTL above is a mistake, not something to create silently
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    private static CacheConfigurationBuilder<Object, Object> region(long maxEntries, long ttlSeconds) {
+        return CacheConfigurationBuilder.newCacheConfigurationBuilder(Object.class, Object.class, ResourcePoolsBuilder.heap(maxEntries))
+                .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(ttlSeconds)));
+    }
+}
@@ -1,18 +1,43 @@
 
 package com.act.backend.config;
 
+import com.act.backend.security.AuthTokenFilter;
+import com.act.backend.security.TokenService;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.servlet.config.annotation.*;
+import org.springframework.core.Ordered;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
+import org.springframework.web.filter.CorsFilter;
+
+import java.util.List;
 
 @Configuration
-public class CorsConfig implements WebMvcConfigurer {
- @Override
- public void addCorsMappings(CorsRegistry registry) {
-     registry.addMapping("/api/**")
-             .allowedOrigins("http://localhost:5173") // your Vite frontend URL
-             .allowedMethods("GET", "POST", "PUT", "DELETE")
-             .allowedHeaders("*")
-             .allowCredentials(true);
+public class CorsConfig {
+
+ // CORS runs as a filter ahead of AuthTokenFilter so 401 responses still carry CORS headers
+ @Bean
+ public FilterRegistrationBean<CorsFilter> corsFilter() {
+     CorsConfiguration config = new CorsConfiguration();
+     config.setAllowedOrigins(List.of("http://localhost:5173")); // your Vite frontend URL
+     config.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE"));
+     config.addAllowedHeader("*");
+     config.setAllowCredentials(true);
+
+     UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
+     source.registerCorsConfiguration("/api/**", config);
+
+     FilterRegistrationBean<CorsFilter> bean = new FilterRegistrationBean<>(new CorsFilter(source));
+     bean.setOrder(Ordered.HIGHEST_PRECEDENCE);
+     return bean;
+ }
+
+ @Bean
+ public FilterRegistrationBean<AuthTokenFilter> authTokenFilter(TokenService tokenService) {
+     FilterRegistrationBean<AuthTokenFilter> bean = new FilterRegistrationBean<>(new AuthTokenFilter(tokenService));
+     bean.addUrlPatterns("/api/*");
+     bean.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+     return bean;
  }
 }
@@ -0,0 +1,52 @@
+package com.act.backend.config;
+
+import com.act.backend.monitoring.SqlStatementCounter;
+import com.act.backend.monitoring.SqlStatementFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+
+/**
+ * Turns on Hibernate statistics so hibernate-micrometer can publish statement,
+ * query and entity-load counts next to the HTTP request metrics; dividing one
+ * by the other gives queries per request. Disable with
+ * {@code app.metrics.hibernate-statistics=false}. The per-session "Session
+ * Metrics" log block that statistics switch on by default stays off, since
+ * it would print for every request; set {@code hibernate.session.events.log}
+ * to bring it back while debugging.
+ *
+ * Every API request also gets its own statement count (see
+ * {@link SqlStatementFilter}), logged above {@code app.sql.warn-threshold} and
+ * returned as a response header outside the prod profile.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateStatistics(@Value("${app.metrics.hibernate-statistics:true}") boolean enabled) {
+        return properties -> {
+            properties.putIfAbsent(AvailableSettings.GENERATE_STATISTICS, String.valueOf(enabled));
+            properties.putIfAbsent(AvailableSettings.LOG_SESSION_METRICS, "false");
+            properties.putIfAbsent(AvailableSettings.STATEMENT_INSPECTOR, new SqlStatementCounter());
+        };
+    }
+
+    // Just inside CORS, so the count covers authentication and everything after it
+    @Bean
+    public FilterRegistrationBean<SqlStatementFilter> sqlStatementFilter(MeterRegistry registry, Environment environment,
+                                                                         @Value("${app.sql.warn-threshold:20}") int warnThreshold) {
+        boolean exposeHeader = !environment.acceptsProfiles(Profiles.of("prod"));
+        FilterRegistrationBean<SqlStatementFilter> bean =
+                new FilterRegistrationBean<>(new SqlStatementFilter(registry, warnThreshold, exposeHeader));
+        bean.addUrlPatterns("/api/*");
+        bean.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return bean;
+    }
+}
@@ -0,0 +1,118 @@
+package com.act.backend.config;
+
+import com.act.backend.datasource.ReadOnlyTransaction;
+import com.act.backend.datasource.ReadYourWritesFilter;
+import com.act.backend.datasource.Replica;
+import com.act.backend.datasource.ReplicaAwareTransactionManager;
+import com.act.backend.datasource.ReplicaLagMonitor;
+import com.act.backend.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizers;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read replicas. They are enabled by listing JDBC URLs in
+ * {@code app.datasource.replica-urls} (comma-separated). Without that
+ * property, Spring Boot's single DataSource is used as before.
+ *
+ * The primary pool is still configured through {@code spring.datasource.*}.
+ * Replica pools are read-only and named replica-1, replica-2, ... in the
+ * hikaricp metrics. Only {@link ReadOnlyTransaction} methods read from a
+ * replica. Everything else stays on the primary, including Spring Data's own
+ * read-only repository transactions and the event catalog snapshot, which is
+ * kept until the next admin write.
+ *
+ * Hibernate normally holds one connection for the whole request (open session
+ * in view). Here it releases the connection after each transaction instead,
+ * so a request can read from a replica and then write to the primary.
+ */
+@Configuration
+@ConditionalOnProperty("app.datasource.replica-urls")
+public class ReplicaRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @Primary
+    public ReplicaRoutingDataSource dataSource(HikariDataSource primaryDataSource, DataSourceProperties properties,
+                                              MeterRegistry registry,
+                                              @Value("${app.datasource.replica-urls}") List<String> urls,
+                                              @Value("${app.datasource.replica-username:}") String username,
+                                              @Value("${app.datasource.replica-password:}") String password,
+                                              @Value("${app.datasource.replica-pool-size:10}") int poolSize) {
+        List<Replica> replicas = new ArrayList<>();
+        for (String url : urls) {
+            HikariConfig config = new HikariConfig();
+            config.setPoolName("replica-" + (replicas.size() + 1));
+            config.setJdbcUrl(url.trim());
+            config.setUsername(username.isEmpty() ? properties.determineUsername() : username);
+            config.setPassword(username.isEmpty() ? properties.determinePassword() : password);
+            config.setMaximumPoolSize(poolSize);
+            // A write that reaches a replica by mistake fails instead of diverging it
+            config.setReadOnly(true);
+            // A replica that is down at startup is simply out of rotation until the lag check finds it
+            config.setInitializationFailTimeout(-1);
+            config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+            replicas.add(new Replica(config.getPoolName(), new HikariDataSource(config)));
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, registry);
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(ReplicaRoutingDataSource dataSource, MeterRegistry registry,
+                                               @Value("${app.datasource.replica-lag-query:SHOW REPLICA STATUS}") String lagQuery,
+                                               @Value("${app.datasource.max-replica-lag-ms:2000}") long maxLagMs) {
+        return new ReplicaLagMonitor(dataSource.replicas(), lagQuery, Duration.ofMillis(maxLagMs), registry);
+    }
+
+    // After AuthTokenFilter, which sets the principal the writes are recorded against
+    @Bean
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(
+            @Value("${app.datasource.max-replica-lag-ms:2000}") long maxLagMs,
+            @Value("${app.datasource.replica-lag-check-ms:1000}") long checkIntervalMs) {
+        FilterRegistrationBean<ReadYourWritesFilter> bean =
+                new FilterRegistrationBean<>(new ReadYourWritesFilter(Duration.ofMillis(maxLagMs + checkIntervalMs)));
+        bean.addUrlPatterns("/api/*");
+        bean.setOrder(Ordered.HIGHEST_PRECEDENCE + 20);
+        return bean;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer replicaConnectionHandling() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    // Spring Boot's own transaction manager, with the replica routing added
+    @Bean
+    public PlatformTransactionManager transactionManager(ReplicaRoutingDataSource dataSource,
+                                                         ObjectProvider<TransactionManagerCustomizers> customizers) {
+        ReplicaAwareTransactionManager transactionManager = new ReplicaAwareTransactionManager(dataSource);
+        customizers.ifAvailable(c -> c.customize(transactionManager));
+        return transactionManager;
+    }
+}
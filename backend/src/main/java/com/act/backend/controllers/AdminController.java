@@ -2,69 +2,98 @@ package com.act.backend.controllers;
 
 import com.act.backend.dto.*;
 import com.act.backend.models.*;
+import com.act.backend.security.AuthPrincipal;
+import com.act.backend.security.AuthRole;
+import com.act.backend.security.TokenService;
 import com.act.backend.services.AdminService;
+import com.act.backend.services.AttendanceExportService;
+import com.act.backend.services.AttendanceStatsService;
+import com.act.backend.services.EventCatalogCache;
+import com.act.backend.services.RosterBroadcaster;
+import com.act.backend.services.StudentImportService;
+import com.act.backend.services.StudentService;
 import lombok.RequiredArgsConstructor;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.web.PagedModel;
 import org.springframework.http.*;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import jakarta.servlet.http.HttpSession;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 
+// Authentication is handled by AuthTokenFilter; every endpoint here except login/logout requires an admin token
 @RestController
 @RequestMapping("/api/admin")
 
 public class AdminController {
     @Autowired
     private AdminService adminService;
+    @Autowired
+    private StudentService studentService;
+    @Autowired
+    private TokenService tokenService;
+    @Autowired
+    private EventCatalogCache catalogCache;
+    @Autowired
+    private AttendanceExportService exportService;
+    @Autowired
+    private StudentImportService importService;
+    @Autowired
+    private AttendanceStatsService attendanceStats;
+    @Autowired
+    private RosterBroadcaster roster;
 
     // ------------------- LOGIN / LOGOUT -------------------
     @PostMapping("/login")
-    public ResponseEntity<?> login(@RequestBody LoginRequest req, HttpSession session) {
+    public ResponseEntity<?> login(@RequestBody LoginRequest req) {
         var adminOpt = adminService.authenticate(req.getEmail(), req.getPassword());
         if (adminOpt.isPresent()) {
-            session.setAttribute("admin", adminOpt.get());
-            return ResponseEntity.ok(adminOpt.get());
+            return ResponseEntity.ok()
+                    .header(HttpHeaders.SET_COOKIE, tokenService.loginCookie(AuthRole.ADMIN, adminOpt.get().getId()).toString())
+                    .body(new AdminProfileDTO(adminOpt.get()));
         }
         return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid credentials");
     }
 
     @PostMapping("/logout")
-    public ResponseEntity<String> logout(HttpSession session) {
-        session.invalidate();
-        return ResponseEntity.ok("Logged out");
+    public ResponseEntity<String> logout() {
+        return ResponseEntity.ok()
+                .header(HttpHeaders.SET_COOKIE, tokenService.logoutCookie(AuthRole.ADMIN).toString())
+                .body("Logged out");
     }
 
     // ------------------- PROFILE -------------------
     @GetMapping("/me")
-    public ResponseEntity<?> getProfile(HttpSession session) {
+    public ResponseEntity<?> getProfile(@RequestAttribute(AuthPrincipal.ATTRIBUTE) AuthPrincipal principal) {
         try {
-            adminService.checkAdminSession(session);
-            return ResponseEntity.ok(adminService.getAdminFromSession(session));
+            return ResponseEntity.ok(adminService.getAdmin(principal.id()));
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(e.getMessage());
         }
     }
 
     @PutMapping("/update")
-    public ResponseEntity<?> updateProfile(HttpSession session, @RequestBody Admin updated) {
+    public ResponseEntity<?> updateProfile(@RequestAttribute(AuthPrincipal.ATTRIBUTE) AuthPrincipal principal,
+                                           @RequestBody Admin updated) {
         try {
-            adminService.checkAdminSession(session);
-            Admin admin = adminService.getAdminFromSession(session);
-            return ResponseEntity.ok(adminService.updateProfile(admin, updated));
+            return ResponseEntity.ok(adminService.updateProfile(principal.id(), updated));
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(e.getMessage());
         }
     }
 
     @PutMapping("/update-password")
-    public ResponseEntity<?> updatePassword(HttpSession session, @RequestBody Map<String, String> body) {
+    public ResponseEntity<?> updatePassword(@RequestAttribute(AuthPrincipal.ATTRIBUTE) AuthPrincipal principal,
+                                            @RequestBody Map<String, String> body) {
         try {
-            adminService.checkAdminSession(session);
-            Admin admin = adminService.getAdminFromSession(session);
-            boolean success = adminService.updatePassword(admin, body.get("currentPassword"), body.get("newPassword"));
+            boolean success = adminService.updatePassword(principal.id(), body.get("currentPassword"), body.get("newPassword"));
             if (!success) return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Current password incorrect");
             return ResponseEntity.ok("Password updated");
         } catch (RuntimeException e) {
@@ -74,10 +103,9 @@ public class AdminController {
 
     // ------------------- FACULTY -------------------
     @GetMapping("/unapproved-faculties")
-    public ResponseEntity<?> getUnapprovedFaculties(HttpSession session) {
+    public ResponseEntity<?> getUnapprovedFaculties() {
         try {
-            adminService.checkAdminSession(session);
-            List<Faculty> list = adminService.getUnapprovedFaculties();
+            List<FacultyProfileDTO> list = adminService.getUnapprovedFaculties();
             return ResponseEntity.ok(list);
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(e.getMessage());
@@ -85,9 +113,8 @@ public class AdminController {
     }
 
     @GetMapping("/faculties")
-    public ResponseEntity<?> getAllFaculties(HttpSession session) {
+    public ResponseEntity<?> getAllFaculties() {
         try {
-            adminService.checkAdminSession(session);
             return ResponseEntity.ok(adminService.getAllFaculties());
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(e.getMessage());
@@ -95,9 +122,8 @@ public class AdminController {
     }
 
     @PutMapping("/approve-faculty/{id}")
-    public ResponseEntity<?> approveFaculty(HttpSession session, @PathVariable Long id) {
+    public ResponseEntity<?> approveFaculty(@PathVariable Long id) {
         try {
-            adminService.checkAdminSession(session);
             return ResponseEntity.ok(adminService.approveFaculty(id));
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(e.getMessage());
@@ -105,19 +131,27 @@ public class AdminController {
     }
 
     @PutMapping("/reject-faculty/{id}")
-    public ResponseEntity<?> rejectFaculty(HttpSession session, @PathVariable Long id, @RequestParam String reason) {
+    public ResponseEntity<?> rejectFaculty(@PathVariable Long id, @RequestParam String reason) {
         try {
-            adminService.checkAdminSession(session);
             return ResponseEntity.ok(adminService.rejectFaculty(id, reason));
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(e.getMessage());
         }
     }
 
+    // Per-id results; skipped decisions do not fail the batch
+    @PutMapping("/moderate-faculties")
+    public ResponseEntity<?> moderateFaculties(@RequestBody List<FacultyDecisionRequest> decisions) {
+        try {
+            return ResponseEntity.ok(adminService.moderateFaculties(decisions));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
     @PutMapping("/faculties/{id}")
-    public ResponseEntity<?> updateFaculty(HttpSession session, @PathVariable Long id, @RequestBody FacultyDTO updatedFaculty) {
+    public ResponseEntity<?> updateFaculty(@PathVariable Long id, @RequestBody FacultyDTO updatedFaculty) {
         try {
-            adminService.checkAdminSession(session);
             return ResponseEntity.ok(adminService.updateFaculty(id, updatedFaculty));
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
@@ -125,11 +159,9 @@ public class AdminController {
     }
 
     @DeleteMapping("/faculties/{facultyId}")
-    public ResponseEntity<?> deleteFaculty(HttpSession session,
-                                           @PathVariable Long facultyId,
+    public ResponseEntity<?> deleteFaculty(@PathVariable Long facultyId,
                                            @RequestParam(required = false) Long replacementFacultyId) {
         try {
-            adminService.checkAdminSession(session);
             return ResponseEntity.ok(adminService.deleteFaculty(facultyId, replacementFacultyId));
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
@@ -138,21 +170,47 @@ public class AdminController {
 
     // ------------------- STUDENTS -------------------
     @GetMapping("/students")
-public ResponseEntity<?> getAllStudents(HttpSession session) {
-    try {
-        adminService.checkAdminSession(session);
-        return ResponseEntity.ok(adminService.getAllStudentsWithEvents());
-    } catch (RuntimeException e) {
-        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(e.getMessage());
+    public ResponseEntity<?> getAllStudents(@RequestParam(required = false) Long cursor,
+                                            @RequestParam(defaultValue = "50") int size) {
+        try {
+            return ResponseEntity.ok(adminService.getStudentsWithEvents(cursor, size));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(e.getMessage());
+        }
     }
-}
 
+    // The upload is the raw request body (CSV with a header row, or one JSON object per line),
+    // read as a stream so large files are neither buffered nor subject to multipart size limits
+    @PostMapping(value = "/students/import",
+            consumes = {"text/csv", MediaType.APPLICATION_NDJSON_VALUE, "application/jsonl"})
+    public ResponseEntity<?> importStudents(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                            InputStream body) {
+        var format = contentType.startsWith("text/csv")
+                ? StudentImportService.Format.CSV
+                : StudentImportService.Format.JSON_LINES;
+        try {
+            return ResponseEntity.ok(importService.importStudents(body, format));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
 
+    // sort=eventCount lists the most active students first, anything else orders by id
+    @GetMapping("/students/event-counts")
+    public ResponseEntity<?> getStudentEventCounts(@RequestParam(defaultValue = "0") int page,
+                                                   @RequestParam(defaultValue = "20") int size,
+                                                   @RequestParam(defaultValue = "id") String sort) {
+        try {
+            return ResponseEntity.ok(new PagedModel<>(
+                    studentService.getStudentsWithEventCount(page, size, "eventCount".equals(sort))));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(e.getMessage());
+        }
+    }
 
     @PutMapping("/students/{id}")
-    public ResponseEntity<?> updateStudent(HttpSession session, @PathVariable Long id, @RequestBody Student updatedStudent) {
+    public ResponseEntity<?> updateStudent(@PathVariable Long id, @RequestBody Student updatedStudent) {
         try {
-            adminService.checkAdminSession(session);
             return ResponseEntity.ok(adminService.updateStudent(id, updatedStudent));
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
@@ -160,9 +218,8 @@ public ResponseEntity<?> getAllStudents(HttpSession session) {
     }
 
     @DeleteMapping("/students/{id}")
-    public ResponseEntity<?> deleteStudent(HttpSession session, @PathVariable Long id) {
+    public ResponseEntity<?> deleteStudent(@PathVariable Long id) {
         try {
-            adminService.checkAdminSession(session);
             return ResponseEntity.ok(adminService.deleteStudent(id));
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
@@ -171,19 +228,13 @@ public ResponseEntity<?> getAllStudents(HttpSession session) {
 
     // ------------------- EVENTS -------------------
     @GetMapping("/events")
-    public ResponseEntity<?> getAllEvents(HttpSession session) {
-        try {
-            adminService.checkAdminSession(session);
-            return ResponseEntity.ok(adminService.getAllEvents());
-        } catch (RuntimeException e) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(e.getMessage());
-        }
+    public ResponseEntity<byte[]> getAllEvents() {
+        return catalogCache.current().toResponse();
     }
 
     @PostMapping("/create-event")
-    public ResponseEntity<?> addEvent(HttpSession session, @RequestBody Map<String, Object> body) {
+    public ResponseEntity<?> addEvent(@RequestBody Map<String, Object> body) {
         try {
-            adminService.checkAdminSession(session);
             return ResponseEntity.ok(adminService.addEvent(body));
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
@@ -191,9 +242,8 @@ public ResponseEntity<?> getAllStudents(HttpSession session) {
     }
 
     @PutMapping("/events/{id}")
-    public ResponseEntity<?> updateEvent(HttpSession session, @PathVariable Long id, @RequestBody Map<String, Object> body) {
+    public ResponseEntity<?> updateEvent(@PathVariable Long id, @RequestBody Map<String, Object> body) {
         try {
-            adminService.checkAdminSession(session);
             return ResponseEntity.ok(adminService.updateEvent(id, body));
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
@@ -201,9 +251,8 @@ public ResponseEntity<?> getAllStudents(HttpSession session) {
     }
 
     @DeleteMapping("/events/{id}")
-    public ResponseEntity<?> deleteEvent(HttpSession session, @PathVariable Long id) {
+    public ResponseEntity<?> deleteEvent(@PathVariable Long id) {
         try {
-            adminService.checkAdminSession(session);
             return ResponseEntity.ok(adminService.deleteEvent(id));
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
@@ -211,22 +260,77 @@ public ResponseEntity<?> getAllStudents(HttpSession session) {
     }
 
     @GetMapping("/events/{eventId}/students")
-    public ResponseEntity<?> getStudentsByEvent(HttpSession session, @PathVariable Long eventId) {
+    public ResponseEntity<?> getStudentsByEvent(@PathVariable Long eventId) {
         try {
-            adminService.checkAdminSession(session);
             return ResponseEntity.ok(adminService.getStudentsByEvent(eventId));
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
         }
     }
 
+    // Live roster changes (registered / unregistered / attendance) as Server-Sent Events;
+    // 503 when the connection limit is reached
+    @GetMapping(value = "/events/{eventId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamRoster(@PathVariable Long eventId) {
+        try {
+            return ResponseEntity.ok(roster.subscribe(eventId));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+
     @PutMapping("/events/{eventId}/reassign/{newFacultyId}")
-    public ResponseEntity<?> reassignEvent(HttpSession session, @PathVariable Long eventId, @PathVariable Long newFacultyId) {
+    public ResponseEntity<?> reassignEvent(@PathVariable Long eventId, @PathVariable Long newFacultyId) {
         try {
-            adminService.checkAdminSession(session);
             return ResponseEntity.ok(adminService.reassignEvent(eventId, newFacultyId));
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
         }
     }
+
+    // ------------------- EXPORTS -------------------
+    // Registrations and attendance as CSV, streamed row by row; narrow with eventId, department and/or a term's dates
+    @GetMapping("/exports/attendance")
+    public ResponseEntity<StreamingResponseBody> exportAttendance(
+            @RequestParam(required = false) Long eventId,
+            @RequestParam(required = false) String department,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        var filter = new AttendanceExportService.Filter(eventId, null, department, from, to);
+        return csv("attendance.csv", out -> exportService.writeCsv(filter, out));
+    }
+
+    // ------------------- ANALYTICS -------------------
+    @GetMapping("/analytics/events/{eventId}")
+    public ResponseEntity<?> getEventAttendanceStats(@PathVariable Long eventId) {
+        try {
+            return ResponseEntity.ok(attendanceStats.forEvent(eventId));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/analytics/departments")
+    public ResponseEntity<List<AttendanceStatsDTO>> getDepartmentAttendanceStats() {
+        return ResponseEntity.ok(attendanceStats.byDepartment());
+    }
+
+    @GetMapping("/analytics/faculty")
+    public ResponseEntity<List<AttendanceStatsDTO>> getFacultyAttendanceStats() {
+        return ResponseEntity.ok(attendanceStats.byFaculty());
+    }
+
+    // Recounts every counter from the registrations; also runs nightly
+    @PostMapping("/analytics/rebuild")
+    public ResponseEntity<String> rebuildAttendanceStats() {
+        attendanceStats.rebuild();
+        return ResponseEntity.ok("Attendance statistics rebuilt");
+    }
+
+    private static ResponseEntity<StreamingResponseBody> csv(String filename, StreamingResponseBody body) {
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+                .body(body);
+    }
 }
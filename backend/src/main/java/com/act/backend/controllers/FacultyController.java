@@ -1,19 +1,35 @@
 package com.act.backend.controllers;
 
+import com.act.backend.dto.AttendanceStatsDTO;
 import com.act.backend.dto.StudentAttendanceDTO;
 import com.act.backend.dto.EventDTO;
+import com.act.backend.dto.FacultyProfileDTO;
 import com.act.backend.models.Faculty;
+import com.act.backend.security.AuthPrincipal;
+import com.act.backend.security.AuthRole;
+import com.act.backend.security.TokenService;
+import com.act.backend.services.AttendanceExportService;
+import com.act.backend.services.AttendanceStatsService;
 import com.act.backend.services.FacultyService;
-import jakarta.servlet.http.HttpSession;
+import com.act.backend.services.RosterBroadcaster;
 import lombok.RequiredArgsConstructor;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.web.PagedModel;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 
+// Authentication is handled by AuthTokenFilter; protected handlers receive the verified principal
 @RestController
 @RequestMapping("/api/faculty")
 // @RequiredArgsConstructor
@@ -21,13 +37,14 @@ public class FacultyController {
 
     @Autowired
     private FacultyService facultyService;
-
-    // Helper: check session
-    private Faculty checkFacultySession(HttpSession session) {
-        Faculty f = (Faculty) session.getAttribute("faculty");
-        if (f == null) throw new RuntimeException("Not logged in");
-        return f;
-    }
+    @Autowired
+    private TokenService tokenService;
+    @Autowired
+    private AttendanceExportService exportService;
+    @Autowired
+    private AttendanceStatsService attendanceStats;
+    @Autowired
+    private RosterBroadcaster roster;
 
     // Register
     @PostMapping("/register")
@@ -37,11 +54,12 @@ public class FacultyController {
 
     // Login
     @PostMapping("/login")
-    public ResponseEntity<?> login(@RequestBody Map<String, String> body, HttpSession session) {
+    public ResponseEntity<?> login(@RequestBody Map<String, String> body) {
         try {
-            Faculty f = facultyService.login(body.get("email"), body.get("password"));
-            session.setAttribute("faculty", f);
-            return ResponseEntity.ok(f);
+            FacultyProfileDTO f = facultyService.login(body.get("email"), body.get("password"));
+            return ResponseEntity.ok()
+                    .header(HttpHeaders.SET_COOKIE, tokenService.loginCookie(AuthRole.FACULTY, f.getId()).toString())
+                    .body(f);
         } catch (RuntimeException e) {
             return ResponseEntity.status(401).body("Invalid credentials: " + e.getMessage());
         }
@@ -49,17 +67,17 @@ public class FacultyController {
 
     // Logout
     @PostMapping("/logout")
-    public ResponseEntity<String> logout(HttpSession session) {
-        session.invalidate();
-        return ResponseEntity.ok("Faculty logged out successfully");
+    public ResponseEntity<String> logout() {
+        return ResponseEntity.ok()
+                .header(HttpHeaders.SET_COOKIE, tokenService.logoutCookie(AuthRole.FACULTY).toString())
+                .body("Faculty logged out successfully");
     }
 
     // Get Profile
     @GetMapping("/me")
-    public ResponseEntity<?> getProfile(HttpSession session) {
+    public ResponseEntity<?> getProfile(@RequestAttribute(AuthPrincipal.ATTRIBUTE) AuthPrincipal principal) {
         try {
-            Faculty f = checkFacultySession(session);
-            return ResponseEntity.ok(f);
+            return ResponseEntity.ok(facultyService.getProfile(principal.id()));
         } catch (RuntimeException e) {
             return ResponseEntity.status(401).body(e.getMessage());
         }
@@ -67,12 +85,10 @@ public class FacultyController {
 
     // Update Profile
     @PutMapping("/update")
-    public ResponseEntity<?> updateProfile(HttpSession session, @RequestBody Faculty updated) {
+    public ResponseEntity<?> updateProfile(@RequestAttribute(AuthPrincipal.ATTRIBUTE) AuthPrincipal principal,
+                                           @RequestBody Faculty updated) {
         try {
-            Faculty f = checkFacultySession(session);
-            Faculty saved = facultyService.updateProfile(f, updated);
-            session.setAttribute("faculty", saved);
-            return ResponseEntity.ok(saved);
+            return ResponseEntity.ok(facultyService.updateProfile(principal.id(), updated));
         } catch (RuntimeException e) {
             return ResponseEntity.status(401).body(e.getMessage());
         }
@@ -80,10 +96,10 @@ public class FacultyController {
 
     // Update Password
     @PutMapping("/update-password")
-    public ResponseEntity<?> updatePassword(HttpSession session, @RequestBody Map<String, String> body) {
+    public ResponseEntity<?> updatePassword(@RequestAttribute(AuthPrincipal.ATTRIBUTE) AuthPrincipal principal,
+                                            @RequestBody Map<String, String> body) {
         try {
-            Faculty f = checkFacultySession(session);
-            facultyService.updatePassword(f, body.get("currentPassword"), body.get("newPassword"));
+            facultyService.updatePassword(principal.id(), body.get("currentPassword"), body.get("newPassword"));
             return ResponseEntity.ok("Password updated successfully");
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body("Failed: " + e.getMessage());
@@ -103,40 +119,120 @@ public class FacultyController {
 
     // Get Assigned Events
     @GetMapping("/events")
-    public ResponseEntity<?> getAssignedEvents(HttpSession session) {
+    public ResponseEntity<?> getAssignedEvents(@RequestAttribute(AuthPrincipal.ATTRIBUTE) AuthPrincipal principal) {
         try {
-            Faculty f = checkFacultySession(session);
-            List<EventDTO> events = facultyService.getAssignedEvents(f);
+            List<EventDTO> events = facultyService.getAssignedEvents(principal.id());
             return ResponseEntity.ok(events);
         } catch (RuntimeException e) {
             return ResponseEntity.status(401).body(e.getMessage());
         }
     }
 
+    // Date slices of the assigned events, paginated
+    @GetMapping("/events/upcoming")
+    public ResponseEntity<PagedModel<EventDTO>> getUpcomingEvents(@RequestAttribute(AuthPrincipal.ATTRIBUTE) AuthPrincipal principal,
+                                                                  @RequestParam(defaultValue = "0") int page,
+                                                                  @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(new PagedModel<>(facultyService.getUpcomingEvents(principal.id(), page, size)));
+    }
+
+    @GetMapping("/events/past")
+    public ResponseEntity<PagedModel<EventDTO>> getPastEvents(@RequestAttribute(AuthPrincipal.ATTRIBUTE) AuthPrincipal principal,
+                                                              @RequestParam(defaultValue = "0") int page,
+                                                              @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(new PagedModel<>(facultyService.getPastEvents(principal.id(), page, size)));
+    }
+
+    @GetMapping("/events/between")
+    public ResponseEntity<?> getEventsBetween(@RequestAttribute(AuthPrincipal.ATTRIBUTE) AuthPrincipal principal,
+                                              @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                              @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                              @RequestParam(defaultValue = "0") int page,
+                                              @RequestParam(defaultValue = "20") int size) {
+        try {
+            return ResponseEntity.ok(new PagedModel<>(facultyService.getEventsBetween(principal.id(), from, to, page, size)));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
     // Get Students for Event
     @GetMapping("/events/{eventId}/students")
-    public ResponseEntity<?> getStudentsByEvent(@PathVariable Long eventId, HttpSession session) {
+    public ResponseEntity<?> getStudentsByEvent(@PathVariable Long eventId,
+                                                @RequestAttribute(AuthPrincipal.ATTRIBUTE) AuthPrincipal principal) {
         try {
-            Faculty f = checkFacultySession(session);
-            List<StudentAttendanceDTO> students = facultyService.getStudentsByEvent(f, eventId);
+            List<StudentAttendanceDTO> students = facultyService.getStudentsByEvent(principal.id(), eventId);
             return ResponseEntity.ok(students);
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body("Failed to fetch students: " + e.getMessage());
         }
     }
 
+    // Live roster changes (registered / unregistered / attendance) as Server-Sent Events;
+    // 403 for an event that is not theirs, 503 when the connection limit is reached
+    @GetMapping(value = "/events/{eventId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamRoster(@PathVariable Long eventId,
+                                                   @RequestAttribute(AuthPrincipal.ATTRIBUTE) AuthPrincipal principal) {
+        try {
+            facultyService.getOwnedEvent(principal.id(), eventId);
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(403).build();
+        }
+        try {
+            return ResponseEntity.ok(roster.subscribe(eventId));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(503).build();
+        }
+    }
+
     // Mark Attendance
     @PostMapping("/events/{eventId}/attendance")
     public ResponseEntity<?> markAttendance(@PathVariable Long eventId,
                                             @RequestParam Long studentId,
                                             @RequestParam Boolean present,
-                                            HttpSession session) {
+                                            @RequestAttribute(AuthPrincipal.ATTRIBUTE) AuthPrincipal principal) {
         try {
-            Faculty f = checkFacultySession(session);
-            facultyService.markAttendance(f, eventId, studentId, present);
+            facultyService.markAttendance(principal.id(), eventId, studentId, present);
             return ResponseEntity.ok("Attendance marked as " + (present ? "Present" : "Absent"));
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body("Failed to mark attendance: " + e.getMessage());
         }
     }
+
+    // Mark Attendance for a whole roster: body is {studentId: true|false}
+    @PostMapping("/events/{eventId}/attendance/bulk")
+    public ResponseEntity<?> markAttendanceBulk(@PathVariable Long eventId,
+                                                @RequestBody Map<Long, Boolean> attendance,
+                                                @RequestAttribute(AuthPrincipal.ATTRIBUTE) AuthPrincipal principal) {
+        try {
+            return ResponseEntity.ok(facultyService.markAttendanceBulk(principal.id(), eventId, attendance));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body("Failed to mark attendance: " + e.getMessage());
+        }
+    }
+
+    // Registration and attendance counts for each assigned event
+    @GetMapping("/analytics/events")
+    public ResponseEntity<List<AttendanceStatsDTO>> getEventAttendanceStats(@RequestAttribute(AuthPrincipal.ATTRIBUTE) AuthPrincipal principal) {
+        return ResponseEntity.ok(attendanceStats.forFacultyEvents(principal.id()));
+    }
+
+    // CSV export limited to this faculty's own events; an eventId they do not own yields only the header
+    @GetMapping("/exports/attendance")
+    public ResponseEntity<StreamingResponseBody> exportAttendance(
+            @RequestAttribute(AuthPrincipal.ATTRIBUTE) AuthPrincipal principal,
+            @RequestParam(required = false) Long eventId,
+            @RequestParam(required = false) String department,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        var filter = new AttendanceExportService.Filter(eventId, principal.id(), department, from, to);
+        return csv("attendance.csv", out -> exportService.writeCsv(filter, out));
+    }
+
+    private static ResponseEntity<StreamingResponseBody> csv(String filename, StreamingResponseBody body) {
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+                .body(body);
+    }
 }
@@ -1,31 +1,47 @@
 package com.act.backend.controllers;
 
 import com.act.backend.dto.EventDTO;
+import com.act.backend.dto.RegistrationTicketDTO;
+import com.act.backend.dto.StudentProfileDTO;
 import com.act.backend.models.Student;
+import com.act.backend.security.AuthPrincipal;
+import com.act.backend.security.AuthRole;
+import com.act.backend.security.TokenService;
+import com.act.backend.services.EventCatalogCache;
+import com.act.backend.services.RegistrationQueue;
 import com.act.backend.services.StudentService;
-import jakarta.servlet.http.HttpSession;
 import lombok.RequiredArgsConstructor;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.web.PagedModel;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.net.URI;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.RejectedExecutionException;
 
+// Authentication is handled by AuthTokenFilter; protected handlers receive the verified principal
 @RestController
 @RequestMapping("/api/students")
 // @RequiredArgsConstructor
 public class StudentController {
     @Autowired
     private StudentService studentService;
-
-    // ✅ Helper: ensure student is logged in
-    private Student checkStudentSession(HttpSession session) {
-        Student student = (Student) session.getAttribute("student");
-        if (student == null) throw new RuntimeException("Not logged in");
-        return student;
-    }
+    @Autowired
+    private TokenService tokenService;
+    @Autowired
+    private EventCatalogCache catalogCache;
+    @Autowired
+    private RegistrationQueue registrationQueue;
 
     // ---------------- PUBLIC ----------------
 
@@ -39,62 +55,125 @@ public class StudentController {
     }
 
     @PostMapping("/login")
-    public ResponseEntity<String> login(@RequestBody Map<String, String> body, HttpSession session) {
+    public ResponseEntity<String> login(@RequestBody Map<String, String> body) {
         try {
-            return ResponseEntity.ok(studentService.login(body.get("email"), body.get("password"), session));
+            Student student = studentService.login(body.get("email"), body.get("password"));
+            return ResponseEntity.ok()
+                    .header(HttpHeaders.SET_COOKIE, tokenService.loginCookie(AuthRole.STUDENT, student.getId()).toString())
+                    .body("Login successful");
         } catch (RuntimeException e) {
             return ResponseEntity.status(401).body(e.getMessage());
         }
     }
 
-    // ---------------- PROTECTED ----------------
-
     @PostMapping("/logout")
-    public ResponseEntity<String> logout(HttpSession session) {
-        checkStudentSession(session);
-        studentService.logout(session);
-        return ResponseEntity.ok("Logged out successfully");
+    public ResponseEntity<String> logout() {
+        return ResponseEntity.ok()
+                .header(HttpHeaders.SET_COOKIE, tokenService.logoutCookie(AuthRole.STUDENT).toString())
+                .body("Logged out successfully");
     }
 
+    // ---------------- PROTECTED ----------------
+
     @GetMapping("/profile")
-    public ResponseEntity<Student> getProfile(HttpSession session) {
-        return ResponseEntity.ok(checkStudentSession(session));
+    public ResponseEntity<StudentProfileDTO> getProfile(@RequestAttribute(AuthPrincipal.ATTRIBUTE) AuthPrincipal principal) {
+        return ResponseEntity.ok(studentService.getProfile(principal.id()));
     }
 
     @PutMapping("/profile")
-    public ResponseEntity<Student> updateProfile(HttpSession session, @RequestBody Student updated) {
-        Student saved = studentService.updateOwnProfile(session, updated);
+    public ResponseEntity<StudentProfileDTO> updateProfile(@RequestAttribute(AuthPrincipal.ATTRIBUTE) AuthPrincipal principal,
+                                                           @RequestBody Student updated) {
+        StudentProfileDTO saved = studentService.updateOwnProfile(principal.id(), updated);
         return ResponseEntity.ok(saved);
     }
 
     @PutMapping("/profile/password")
-    public ResponseEntity<String> updatePassword(HttpSession session, @RequestBody Map<String, String> body) {
-        return ResponseEntity.ok(studentService.updatePassword(session, body.get("oldPassword"), body.get("newPassword")));
+    public ResponseEntity<String> updatePassword(@RequestAttribute(AuthPrincipal.ATTRIBUTE) AuthPrincipal principal,
+                                                 @RequestBody Map<String, String> body) {
+        return ResponseEntity.ok(studentService.updatePassword(principal.id(), body.get("oldPassword"), body.get("newPassword")));
     }
 
+    // With the registration queue enabled: 202 and a ticket to poll, 429 while the event's queue is full,
+    // 503 while the application shuts down. Anything unexpected goes to the normal error handling
     @PostMapping("/register-event/{eventId}")
-    public ResponseEntity<String> registerEvent(HttpSession session, @PathVariable Long eventId) {
-        return ResponseEntity.ok(studentService.registerEvent(session, eventId));
+    public ResponseEntity<?> registerEvent(@RequestAttribute(AuthPrincipal.ATTRIBUTE) AuthPrincipal principal,
+                                           @PathVariable Long eventId) {
+        if (!registrationQueue.enabled()) return ResponseEntity.ok(studentService.registerEvent(principal.id(), eventId));
+
+        try {
+            return registrationQueue.submit(principal.id(), eventId)
+                    .<ResponseEntity<?>>map(ticket -> ResponseEntity.accepted()
+                            .location(URI.create("/api/students/registrations/" + ticket.id()))
+                            .body(ticket.toDTO()))
+                    .orElseGet(() -> ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                            .header(HttpHeaders.RETRY_AFTER, "1")
+                            .body("Registration is busy, please try again"));
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body("Registration is unavailable, please try again");
+        }
+    }
+
+    @GetMapping("/registrations/{ticket}")
+    public ResponseEntity<RegistrationTicketDTO> getRegistration(@RequestAttribute(AuthPrincipal.ATTRIBUTE) AuthPrincipal principal,
+                                                                 @PathVariable String ticket) {
+        return ResponseEntity.of(registrationQueue.ticket(ticket, principal.id()).map(RegistrationQueue.Ticket::toDTO));
+    }
+
+    // A single "outcome" event once the queued registration is decided
+    @GetMapping(value = "/registrations/{ticket}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamRegistration(@RequestAttribute(AuthPrincipal.ATTRIBUTE) AuthPrincipal principal,
+                                                         @PathVariable String ticket) {
+        return ResponseEntity.of(registrationQueue.ticket(ticket, principal.id()).map(registrationQueue::watch));
     }
 
     @PostMapping("/unregister-event/{eventId}")
-    public ResponseEntity<String> unregisterEvent(HttpSession session, @PathVariable Long eventId) {
-        return ResponseEntity.ok(studentService.unregisterEvent(session, eventId));
+    public ResponseEntity<String> unregisterEvent(@RequestAttribute(AuthPrincipal.ATTRIBUTE) AuthPrincipal principal,
+                                                  @PathVariable Long eventId) {
+        return ResponseEntity.ok(studentService.unregisterEvent(principal.id(), eventId));
     }
 
+    // Served from the cached catalog; a matching If-None-Match gets 304
     @GetMapping("/events")
-    public ResponseEntity<List<EventDTO>> getAllEvents(HttpSession session) {
-        checkStudentSession(session);
-        return ResponseEntity.ok(studentService.getAllEvents());
+    public ResponseEntity<byte[]> getAllEvents() {
+        return catalogCache.current().toResponse();
+    }
+
+    @GetMapping("/events/upcoming")
+    public ResponseEntity<PagedModel<EventDTO>> getUpcomingEvents(@RequestParam(defaultValue = "0") int page,
+                                                                  @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(new PagedModel<>(studentService.getUpcomingEvents(page, size)));
+    }
+
+    @GetMapping("/events/past")
+    public ResponseEntity<PagedModel<EventDTO>> getPastEvents(@RequestParam(defaultValue = "0") int page,
+                                                              @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(new PagedModel<>(studentService.getPastEvents(page, size)));
+    }
+
+    @GetMapping("/events/between")
+    public ResponseEntity<?> getEventsBetween(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                              @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                              @RequestParam(defaultValue = "0") int page,
+                                              @RequestParam(defaultValue = "20") int size) {
+        try {
+            return ResponseEntity.ok(new PagedModel<>(studentService.getEventsBetween(from, to, page, size)));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
 
     @GetMapping("/registered-events")
-    public ResponseEntity<List<EventDTO>> getRegisteredEvents(HttpSession session) {
-        return ResponseEntity.ok(studentService.getRegisteredEvents(session));
+    public ResponseEntity<List<EventDTO>> getRegisteredEvents(@RequestAttribute(AuthPrincipal.ATTRIBUTE) AuthPrincipal principal) {
+        return ResponseEntity.ok(studentService.getRegisteredEvents(principal.id()));
     }
 
     @GetMapping("/events/{eventId}/attendance")
-    public ResponseEntity<Boolean> getAttendance(HttpSession session, @PathVariable Long eventId) {
-        return ResponseEntity.ok(studentService.getAttendance(session, eventId));
+    public ResponseEntity<Boolean> getAttendance(@RequestAttribute(AuthPrincipal.ATTRIBUTE) AuthPrincipal principal,
+                                                 @PathVariable Long eventId) {
+        return ResponseEntity.ok(studentService.getAttendance(principal.id(), eventId));
     }
 }
@@ -0,0 +1,25 @@
+package com.act.backend.datasource;
+
+import org.springframework.transaction.annotation.Transactional;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * A read-only transaction that may be served by a read replica when replicas
+ * are configured (see ReplicaRoutingConfig); against a single database it is
+ * an ordinary read-only transaction.
+ *
+ * Only for methods that never write and whose callers can accept data that is
+ * up to the replica lag bound old. The caller's own recent writes are still
+ * visible, see {@link ReadYourWritesFilter}.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Transactional(readOnly = true, label = ReplicaRoutingDataSource.REPLICA_LABEL)
+public @interface ReadOnlyTransaction {
+}
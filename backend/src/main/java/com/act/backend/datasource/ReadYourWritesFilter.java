@@ -0,0 +1,71 @@
+package com.act.backend.datasource;
+
+import com.act.backend.security.AuthPrincipal;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Read-your-writes on top of replica reads. After a principal sends a write
+ * request (register for an event, mark attendance, ...), their replica reads
+ * go to the primary for {@code window}. The window is the largest lag a
+ * replica may have and still get reads, plus one lag check interval. After
+ * that, every replica in rotation has the write.
+ *
+ * The write time is recorded when the request starts and again when it
+ * finishes, so the window covers reads sent before the response is fully
+ * written as well as slow writes. The record lives in this backend instance
+ * only. Requests without a principal are not tracked.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    private static final Set<String> READ_METHODS = Set.of(
+            HttpMethod.GET.name(), HttpMethod.HEAD.name(), HttpMethod.OPTIONS.name());
+    private static final int SWEEP_THRESHOLD = 10_000;
+
+    private final long windowNanos;
+    private final Map<AuthPrincipal, Long> lastWrite = new ConcurrentHashMap<>();
+
+    public ReadYourWritesFilter(Duration window) {
+        this.windowNanos = window.toNanos();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (!(request.getAttribute(AuthPrincipal.ATTRIBUTE) instanceof AuthPrincipal principal)) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        boolean write = !READ_METHODS.contains(request.getMethod());
+        if (write) recordWrite(principal);
+        ReplicaRoutingDataSource.primaryOnly(write || wroteRecently(principal));
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ReplicaRoutingDataSource.primaryOnly(false);
+            if (write) recordWrite(principal);
+        }
+    }
+
+    private boolean wroteRecently(AuthPrincipal principal) {
+        Long at = lastWrite.get(principal);
+        return at != null && System.nanoTime() - at < windowNanos;
+    }
+
+    private void recordWrite(AuthPrincipal principal) {
+        long now = System.nanoTime();
+        lastWrite.put(principal, now);
+        if (lastWrite.size() > SWEEP_THRESHOLD) lastWrite.values().removeIf(at -> now - at >= windowNanos);
+    }
+}
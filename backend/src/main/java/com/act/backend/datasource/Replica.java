@@ -0,0 +1,48 @@
+package com.act.backend.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import javax.sql.DataSource;
+
+// One read replica: its connection pool and the replication lag last measured by ReplicaLagMonitor
+public final class Replica implements AutoCloseable {
+
+    private final String name;
+    private final HikariDataSource dataSource;
+
+    // Unusable until the first lag check says otherwise
+    private volatile double lagSeconds = Double.NaN;
+    private volatile boolean usable;
+
+    public Replica(String name, HikariDataSource dataSource) {
+        this.name = name;
+        this.dataSource = dataSource;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    DataSource dataSource() {
+        return dataSource;
+    }
+
+    // NaN when the replica is unreachable or not replicating
+    double lagSeconds() {
+        return lagSeconds;
+    }
+
+    boolean usable() {
+        return usable;
+    }
+
+    void update(double lagSeconds, boolean usable) {
+        this.lagSeconds = lagSeconds;
+        this.usable = usable;
+    }
+
+    @Override
+    public void close() {
+        dataSource.close();
+    }
+}
@@ -0,0 +1,83 @@
+package com.act.backend.datasource;
+
+import jakarta.persistence.CacheStoreMode;
+import jakarta.persistence.EntityManager;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.interceptor.TransactionAttribute;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Starts {@link ReadOnlyTransaction}s on a replica. The connection source is
+ * chosen before the transaction begins, because Hibernate takes its
+ * connection then. The previous choice is restored when the transaction ends,
+ * so a new transaction started inside a replica read still goes to the
+ * primary.
+ *
+ * Rows read from a replica can be older than what the second-level cache
+ * already holds. Replica transactions therefore read from the cache but never
+ * put into it. Otherwise a lagging read could re-cache an event that was just
+ * updated or deleted and keep it for a full TTL.
+ */
+public class ReplicaAwareTransactionManager extends JpaTransactionManager {
+
+    // The JPA property rather than Hibernate's CacheMode: EntityManager.find takes its cache mode from it
+    private static final String CACHE_STORE_MODE = "jakarta.persistence.cache.storeMode";
+
+    private record Routed(Replica previous, Object previousStoreMode) {
+    }
+
+    private static final ThreadLocal<Deque<Routed>> ROUTED = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private final ReplicaRoutingDataSource routing;
+
+    public ReplicaAwareTransactionManager(ReplicaRoutingDataSource routing) {
+        this.routing = routing;
+    }
+
+    @Override
+    protected void doBegin(Object transaction, TransactionDefinition definition) {
+        Replica replica = isReplicaRead(definition) ? routing.routeReplicaRead() : null;
+        Replica previous = ReplicaRoutingDataSource.use(replica);
+        try {
+            super.doBegin(transaction, definition);
+        } catch (RuntimeException | Error e) {
+            ReplicaRoutingDataSource.use(previous);
+            throw e;
+        }
+
+        Object previousStoreMode = null;
+        if (replica != null) {
+            EntityManager entityManager = currentEntityManager();
+            previousStoreMode = entityManager.getProperties().getOrDefault(CACHE_STORE_MODE, CacheStoreMode.USE);
+            entityManager.setProperty(CACHE_STORE_MODE, CacheStoreMode.BYPASS);
+        }
+        ROUTED.get().push(new Routed(previous, previousStoreMode));
+    }
+
+    @Override
+    protected void doCleanupAfterCompletion(Object transaction) {
+        Routed routed = ROUTED.get().pop();
+        try {
+            if (routed.previousStoreMode() != null) currentEntityManager().setProperty(CACHE_STORE_MODE, routed.previousStoreMode());
+            super.doCleanupAfterCompletion(transaction);
+        } finally {
+            ReplicaRoutingDataSource.use(routed.previous());
+        }
+    }
+
+    private EntityManager currentEntityManager() {
+        EntityManagerHolder holder = (EntityManagerHolder) TransactionSynchronizationManager.getResource(obtainEntityManagerFactory());
+        return holder.getEntityManager();
+    }
+
+    private static boolean isReplicaRead(TransactionDefinition definition) {
+        return definition.isReadOnly()
+                && definition instanceof TransactionAttribute attribute
+                && attribute.getLabels().contains(ReplicaRoutingDataSource.REPLICA_LABEL);
+    }
+}
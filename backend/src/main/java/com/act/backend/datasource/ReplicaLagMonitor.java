@@ -0,0 +1,85 @@
+package com.act.backend.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Measures each replica's replication lag on a fixed delay. A replica whose
+ * lag is above {@code maxLag}, that cannot be reached, or whose replication
+ * has stopped gets no reads until a later check finds it caught up again.
+ *
+ * The lag query defaults to MySQL's SHOW REPLICA STATUS and its
+ * Seconds_Behind_Source column. Any other query works if its first column is
+ * the lag in seconds. A query that returns no row means the server is not a
+ * replica at all, for example when a replica URL points at the primary, and
+ * counts as no lag.
+ *
+ * Lag is published as the datasource.replica.lag{replica} gauge in seconds.
+ */
+public class ReplicaLagMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+    private static final String SECONDS_BEHIND_SOURCE = "Seconds_Behind_Source";
+
+    private final List<Replica> replicas;
+    private final String lagQuery;
+    private final double maxLagSeconds;
+
+    public ReplicaLagMonitor(List<Replica> replicas, String lagQuery, Duration maxLag, MeterRegistry registry) {
+        this.replicas = replicas;
+        this.lagQuery = lagQuery;
+        this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+        replicas.forEach(replica -> Gauge.builder("datasource.replica.lag", replica, Replica::lagSeconds)
+                .description("Replication lag at the last check; NaN when unreachable or not replicating")
+                .baseUnit("seconds")
+                .tag("replica", replica.name())
+                .register(registry));
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replica-lag-check-ms:1000}")
+    public void check() {
+        replicas.forEach(this::check);
+    }
+
+    private void check(Replica replica) {
+        double lag;
+        try (Connection connection = replica.dataSource().getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(lagQuery)) {
+            lag = rs.next() ? lag(rs) : 0;
+        } catch (SQLException e) {
+            log.debug("Lag check failed for {}", replica.name(), e);
+            lag = Double.NaN;
+        }
+
+        // NaN compares false, so unreachable and stopped replicas are unusable too
+        boolean usable = lag <= maxLagSeconds;
+        if (usable != replica.usable()) {
+            if (usable) log.info("Replica {} is back in rotation (lag {}s)", replica.name(), lag);
+            else log.warn("Replica {} taken out of rotation (lag {}s, limit {}s)", replica.name(), lag, maxLagSeconds);
+        }
+        replica.update(lag, usable);
+    }
+
+    private static double lag(ResultSet rs) throws SQLException {
+        int column;
+        try {
+            column = rs.findColumn(SECONDS_BEHIND_SOURCE);
+        } catch (SQLException notMySqlReplicaStatus) {
+            column = 1;
+        }
+        double lag = rs.getDouble(column);
+        // NULL means the replication threads are not running: the replica is not catching up at all
+        return rs.wasNull() ? Double.NaN : lag;
+    }
+}
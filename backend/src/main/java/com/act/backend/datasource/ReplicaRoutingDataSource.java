@@ -0,0 +1,111 @@
+package com.act.backend.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The application DataSource when read replicas are configured. Connections
+ * come from the primary unless the current thread is inside a replica read,
+ * i.e. a {@link ReadOnlyTransaction} begun by {@link ReplicaAwareTransactionManager};
+ * those are spread round-robin over the replicas that ReplicaLagMonitor last
+ * found usable. With no usable replica, or while the caller's own writes may
+ * not have replicated yet, replica reads stay on the primary.
+ *
+ * Every replica-eligible transaction is counted as
+ * datasource.read.routes{target,reason}.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    public static final String REPLICA_LABEL = "replica";
+
+    private static final ThreadLocal<Replica> CURRENT = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> PRIMARY_ONLY = new ThreadLocal<>();
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final MeterRegistry registry;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<Replica> replicas, MeterRegistry registry) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.registry = registry;
+    }
+
+    public List<Replica> replicas() {
+        return replicas;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return target().getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return target().getConnection(username, password);
+    }
+
+    private DataSource target() {
+        Replica replica = CURRENT.get();
+        return replica != null ? replica.dataSource() : primary;
+    }
+
+    // Set by ReadYourWritesFilter around requests whose principal wrote within the lag window
+    static void primaryOnly(boolean primaryOnly) {
+        if (primaryOnly) PRIMARY_ONLY.set(Boolean.TRUE);
+        else PRIMARY_ONLY.remove();
+    }
+
+    // Where a replica-eligible transaction should read from; null means the primary
+    Replica routeReplicaRead() {
+        if (PRIMARY_ONLY.get() != null) {
+            route("primary", "read_your_writes");
+            return null;
+        }
+        Replica replica = nextUsable();
+        if (replica == null) {
+            route("primary", "replicas_unavailable");
+            return null;
+        }
+        route(replica.name(), "balanced");
+        return replica;
+    }
+
+    // Sends this thread's connections to the replica, or to the primary for null; returns the previous target
+    static Replica use(Replica replica) {
+        Replica previous = CURRENT.get();
+        if (replica != null) CURRENT.set(replica);
+        else CURRENT.remove();
+        return previous;
+    }
+
+    private Replica nextUsable() {
+        int start = next.getAndIncrement();
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get(Math.floorMod(start + i, replicas.size()));
+            if (replica.usable()) return replica;
+        }
+        return null;
+    }
+
+    private void route(String target, String reason) {
+        Counter.builder("datasource.read.routes")
+                .description("Replica-eligible read-only transactions by the pool that served them")
+                .tags("target", target, "reason", reason)
+                .register(registry)
+                .increment();
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(Replica::close);
+    }
+}
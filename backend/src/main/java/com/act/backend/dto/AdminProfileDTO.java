@@ -0,0 +1,17 @@
+package com.act.backend.dto;
+
+import com.act.backend.models.Admin;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class AdminProfileDTO {
+    private Long id;
+    private String username;
+    private String email;
+
+    public AdminProfileDTO(Admin a) {
+        this(a.getId(), a.getUsername(), a.getEmail());
+    }
+}
@@ -0,0 +1,11 @@
+package com.act.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class AttendanceResultDTO {
+    private Long studentId;
+    private String status; // UPDATED, NOT_REGISTERED or INVALID
+}
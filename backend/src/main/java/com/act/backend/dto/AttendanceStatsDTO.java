@@ -0,0 +1,26 @@
+package com.act.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttendanceStatsDTO {
+    private Long id;     // event or faculty id; null for department rows
+    private String name; // event name, faculty name or department (null when unspecified)
+    private long registered;
+    private long present;
+    private long absent;
+
+    public long getUnmarked() {
+        return registered - present - absent;
+    }
+
+    // Share of marked registrations that were present; null until something is marked
+    public Double getAttendanceRate() {
+        long marked = present + absent;
+        return marked == 0 ? null : (double) present / marked;
+    }
+}
@@ -0,0 +1,13 @@
+package com.act.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class CursorPage<T> {
+    private List<T> items;
+    private Long nextCursor; // pass back as ?cursor= to fetch the next page, null on the last page
+    private boolean hasMore;
+}
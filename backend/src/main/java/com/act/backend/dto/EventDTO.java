@@ -2,6 +2,8 @@ package com.act.backend.dto;
 
 import lombok.*;
 
+import java.time.LocalDateTime;
+
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -14,4 +16,7 @@ public class EventDTO {
     private String facultyName;      
     private String facultyEmail;     
     private String facultyDepartment;
+    private Integer capacity; // null = unlimited
+    private LocalDateTime startAt;
+    private LocalDateTime endAt;
 }
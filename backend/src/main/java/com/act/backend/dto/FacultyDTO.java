@@ -13,5 +13,5 @@ public class FacultyDTO {
     private String department;
     private String gender;
     private boolean approved;
-    private int assignedEventsCount; // ✅ NEW
+    private long assignedEventsCount; // ✅ NEW
 }
@@ -0,0 +1,12 @@
+package com.act.backend.dto;
+
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FacultyDecisionRequest {
+    private Long id;
+    private String decision; // APPROVE or REJECT
+    private String reason;   // required to reject; sent to the faculty
+}
@@ -0,0 +1,22 @@
+package com.act.backend.dto;
+
+import com.act.backend.models.Faculty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+// A faculty's own columns, without the password or the assigned events
+@Data
+@AllArgsConstructor
+public class FacultyProfileDTO {
+    private Long id;
+    private String name;
+    private String email;
+    private String phone;
+    private String department;
+    private String gender;
+    private boolean approved;
+
+    public FacultyProfileDTO(Faculty f) {
+        this(f.getId(), f.getName(), f.getEmail(), f.getPhone(), f.getDepartment(), f.getGender(), f.isApproved());
+    }
+}
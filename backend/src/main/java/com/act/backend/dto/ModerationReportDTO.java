@@ -0,0 +1,26 @@
+package com.act.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+public class ModerationReportDTO {
+    private long approved;
+    private long rejected;
+    private long skipped;
+    private List<Result> results = new ArrayList<>(); // one per decision, in request order
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Result {
+        private Long id;
+        private String outcome; // APPROVED, REJECTED or SKIPPED
+        private String message;
+    }
+}
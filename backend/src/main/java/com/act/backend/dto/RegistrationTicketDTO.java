@@ -0,0 +1,13 @@
+package com.act.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class RegistrationTicketDTO {
+    private String ticket;
+    private Long eventId;
+    private String status;  // QUEUED, REGISTERED or REJECTED
+    private String message; // the same text the direct registration returns or fails with; null while queued
+}
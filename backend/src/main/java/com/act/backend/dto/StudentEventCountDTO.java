@@ -0,0 +1,18 @@
+package com.act.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentEventCountDTO {
+    private Long id;
+    private String name;
+    private String email;
+    private String phone;
+    private String gender;
+    private String department;
+    private long eventCount; // number of student_event registrations
+}
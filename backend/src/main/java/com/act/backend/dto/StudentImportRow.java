@@ -0,0 +1,16 @@
+package com.act.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.Data;
+
+// One line of a bulk student import (CSV with a header row, or JSON lines)
+@Data
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class StudentImportRow {
+    private String name;
+    private String email;
+    private String phone;
+    private String gender;
+    private String department;
+    private String password;
+}
@@ -0,0 +1,22 @@
+package com.act.backend.dto;
+
+import com.act.backend.models.Student;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+// What the student profile endpoints return: the student's own columns, never the password
+@Data
+@AllArgsConstructor
+public class StudentProfileDTO {
+    private Long id;
+    private String name;
+    private String email;
+    private String phone;
+    private String gender;
+    private String department;
+
+    // For responses to updates, from the entity that was just saved
+    public StudentProfileDTO(Student s) {
+        this(s.getId(), s.getName(), s.getEmail(), s.getPhone(), s.getGender(), s.getDepartment());
+    }
+}
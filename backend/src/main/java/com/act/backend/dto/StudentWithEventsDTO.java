@@ -2,6 +2,7 @@ package com.act.backend.dto;
 
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import java.util.ArrayList;
 import java.util.List;
 
 @Data
@@ -14,4 +15,9 @@ public class StudentWithEventsDTO {
     private String department;
     private String gender;
     private List<String> registeredEvents; // List of event names
+
+    // Used by the roster JPQL projection; event names are filled in afterwards
+    public StudentWithEventsDTO(Long id, String name, String email, String phone, String department, String gender) {
+        this(id, name, email, phone, department, gender, new ArrayList<>());
+    }
 }
@@ -0,0 +1,52 @@
+package com.act.backend.models;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "email_outbox",
+       indexes = @Index(name = "idx_email_outbox_due", columnList = "status, next_attempt_at"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmailOutbox {
+
+    public enum Status { PENDING, SENT, DEAD }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String recipient;
+    private String subject;
+    @Column(length = 10000)
+    private String body;
+
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR) // plain VARCHAR on MySQL rather than a native ENUM column
+    @Column(nullable = false, length = 16)
+    private Status status;
+    private int attempts;
+    private LocalDateTime nextAttemptAt;
+    private LocalDateTime createdAt;
+    private LocalDateTime sentAt;
+    @Column(length = 1000)
+    private String lastError;
+
+    public static EmailOutbox pending(String recipient, String subject, String body) {
+        LocalDateTime now = LocalDateTime.now();
+        EmailOutbox mail = new EmailOutbox();
+        mail.setRecipient(recipient);
+        mail.setSubject(subject);
+        mail.setBody(body);
+        mail.setStatus(Status.PENDING);
+        mail.setCreatedAt(now);
+        mail.setNextAttemptAt(now);
+        return mail;
+    }
+}
@@ -2,10 +2,22 @@ package com.act.backend.models;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
 
+import com.act.backend.config.CacheConfig;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+
 import jakarta.persistence.*;
 import lombok.*;
 
+import java.time.LocalDateTime;
+
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_event_start_at", columnList = "start_at"),
+        @Index(name = "idx_event_end_at", columnList = "end_at")
+})
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheConfig.EVENT_REGION)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -16,6 +28,20 @@ public class Event {
 
     private String name, description, date, venue;
 
+    // Typed schedule behind the upcoming/past/range queries; date stays as the display text
+    @Column(name = "start_at")
+    private LocalDateTime startAt;
+    @Column(name = "end_at")
+    private LocalDateTime endAt;
+
+    private Integer capacity; // null = unlimited
+
+    // Maintained only by EventRepository.takeSeat/releaseSeat, never by entity saves. A cached copy can briefly
+    // lag behind those updates, so capacity checks are always made in SQL, never against this field
+    @Column(name = "seats_taken", nullable = false, insertable = false, updatable = false)
+    @ColumnDefault("0")
+    private int seatsTaken;
+
     @ManyToOne
 @JoinColumn(name = "faculty_id")
 @JsonBackReference
@@ -1,13 +1,18 @@
 package com.act.backend.models;
 
+import com.act.backend.config.CacheConfig;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.List;
 
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 
 @Entity
+@Table(indexes = @Index(name = "idx_faculty_approved", columnList = "approved"))
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheConfig.FACULTY_REGION)
 @Getter
 @Setter
 @NoArgsConstructor
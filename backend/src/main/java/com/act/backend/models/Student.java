@@ -1,15 +1,9 @@
 package com.act.backend.models;
 
-import java.util.ArrayList;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Set;
-
-import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
-
 import jakarta.persistence.*;
 import lombok.*;
 
+// Registrations live only in StudentEvent (student_event); query them through StudentEventRepository
 @Entity
 @Getter
 @Setter
@@ -27,13 +21,4 @@ public class Student {
     private String gender;
     private String department;
     private String password;
-
-    @ManyToMany(fetch = FetchType.EAGER)
-    @JoinTable(
-        name = "student_events",
-        joinColumns = @JoinColumn(name = "student_id"),
-        inverseJoinColumns = @JoinColumn(name = "event_id")
-    )
-    @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
-    private Set<Event> registeredEvents = new HashSet<>();
 }
@@ -4,7 +4,8 @@ import jakarta.persistence.*;
 import lombok.*;
 
 @Entity
-@Table(name = "student_event")
+@Table(name = "student_event",
+       uniqueConstraints = @UniqueConstraint(name = "uk_student_event", columnNames = {"student_id", "event_id"}))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -14,11 +15,12 @@ public class StudentEvent {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @ManyToOne
+    // Lazy: repository queries fetch-join whichever side the caller reads
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "student_id")
     private Student student;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "event_id")
     private Event event;
 
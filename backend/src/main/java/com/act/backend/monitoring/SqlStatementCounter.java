@@ -0,0 +1,36 @@
+package com.act.backend.monitoring;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread while a
+ * count is open. {@link SqlStatementFilter} opens one per HTTP request;
+ * statements on other threads (schedulers, async exports) and plain
+ * JdbcTemplate calls are not seen.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<int[]> COUNT = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        int[] count = COUNT.get();
+        if (count != null) count[0]++;
+        return sql;
+    }
+
+    static void start() {
+        COUNT.set(new int[1]);
+    }
+
+    static int current() {
+        int[] count = COUNT.get();
+        return count == null ? 0 : count[0];
+    }
+
+    static int stop() {
+        int count = current();
+        COUNT.remove();
+        return count;
+    }
+}
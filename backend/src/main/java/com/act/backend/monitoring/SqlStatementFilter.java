@@ -0,0 +1,166 @@
+package com.act.backend.monitoring;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/**
+ * Counts the SQL statements each request runs and records them as the
+ * {@code http.server.requests.sql} summary, tagged like the HTTP request
+ * metrics. Requests over {@code warnThreshold} statements are logged, and the
+ * total is left in the {@value #ATTRIBUTE} request attribute for tests.
+ *
+ * With {@code exposeHeader} the count is also sent as {@value #HEADER}. The
+ * header has to go out before the body, so it carries the statements run up
+ * to the first byte written; for a body that streams past the buffer, lazy
+ * loads during serialization can add more.
+ */
+@Slf4j
+public class SqlStatementFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-SQL-Statements";
+    public static final String ATTRIBUTE = "com.act.backend.sqlStatements";
+
+    private final MeterRegistry registry;
+    private final int warnThreshold;
+    private final boolean exposeHeader;
+
+    public SqlStatementFilter(MeterRegistry registry, int warnThreshold, boolean exposeHeader) {
+        this.registry = registry;
+        this.warnThreshold = warnThreshold;
+        this.exposeHeader = exposeHeader;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        SqlStatementCounter.start();
+        try {
+            chain.doFilter(request, exposeHeader ? new CountHeaderResponse(response) : response);
+        } finally {
+            int count = SqlStatementCounter.stop();
+            request.setAttribute(ATTRIBUTE, count);
+            if (exposeHeader && !response.isCommitted()) response.setHeader(HEADER, String.valueOf(count));
+
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String uri = pattern == null ? "UNKNOWN" : pattern.toString();
+            DistributionSummary.builder("http.server.requests.sql")
+                    .description("SQL statements run by one HTTP request")
+                    .baseUnit("statements")
+                    .tags("method", request.getMethod(), "uri", uri)
+                    .register(registry)
+                    .record(count);
+            if (count > warnThreshold) {
+                log.warn("{} {} ran {} SQL statements (threshold {})", request.getMethod(), request.getRequestURI(), count, warnThreshold);
+            }
+        }
+    }
+
+    // Sets the header just before the first body byte, while the response can still take headers
+    private static final class CountHeaderResponse extends HttpServletResponseWrapper {
+
+        private boolean headerSet;
+        private ServletOutputStream out;
+
+        CountHeaderResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        private void setCountHeader() {
+            if (headerSet) return;
+            headerSet = true;
+            if (!isCommitted()) setHeader(HEADER, String.valueOf(SqlStatementCounter.current()));
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (out == null) out = new CountHeaderStream(super.getOutputStream());
+            return out;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            setCountHeader();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            setCountHeader();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            setCountHeader();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            setCountHeader();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            setCountHeader();
+            super.sendRedirect(location);
+        }
+
+        private final class CountHeaderStream extends ServletOutputStream {
+
+            private final ServletOutputStream delegate;
+
+            CountHeaderStream(ServletOutputStream delegate) {
+                this.delegate = delegate;
+            }
+
+            @Override
+            public void write(int b) throws IOException {
+                setCountHeader();
+                delegate.write(b);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                setCountHeader();
+                delegate.write(b, off, len);
+            }
+
+            @Override
+            public void flush() throws IOException {
+                setCountHeader();
+                delegate.flush();
+            }
+
+            @Override
+            public void close() throws IOException {
+                setCountHeader();
+                delegate.close();
+            }
+
+            @Override
+            public boolean isReady() {
+                return delegate.isReady();
+            }
+
+            @Override
+            public void setWriteListener(WriteListener listener) {
+                delegate.setWriteListener(listener);
+            }
+        }
+    }
+}
@@ -1,10 +1,15 @@
 package com.act.backend.repositories;
 
+import com.act.backend.dto.AdminProfileDTO;
 import com.act.backend.models.Admin;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.Optional;
 
 public interface AdminRepository extends JpaRepository<Admin, Long> {
     Optional<Admin> findByEmail(String email);
+
+    @Query("SELECT new com.act.backend.dto.AdminProfileDTO(a.id, a.username, a.email) FROM Admin a WHERE a.id = :id")
+    Optional<AdminProfileDTO> findProfileById(Long id);
 }
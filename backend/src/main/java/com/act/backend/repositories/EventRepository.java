@@ -1,13 +1,105 @@
 package com.act.backend.repositories;
 
+import com.act.backend.dto.EventDTO;
 import com.act.backend.models.Event;
 import com.act.backend.models.Faculty;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 public interface EventRepository extends JpaRepository<Event, Long> {
-    List<Event> findByFaculty(Faculty faculty);
+    // Query space for the seat counter updates; no cached query reads it
+    String SEATS_SPACE = "event_seats";
+
+    // Inner join so the planner can go faculty -> idx_event_faculty instead of scanning event.
+    // Query-cached: invalidated by any write to event or faculty, but not by seat counter updates
+    @Query("SELECT e FROM Event e JOIN FETCH e.faculty f WHERE f.id = :facultyId")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Event> findByFacultyId(Long facultyId);
+
+    @Query("SELECT COUNT(e) FROM Event e WHERE e.faculty.id = :facultyId")
+    long countByFacultyId(Long facultyId);
+
+    // One UPDATE however many events the faculty has. Hibernate drops the Event cache region and the
+    // cached queries over event for a bulk update; the persistence context is cleared so no stale copy survives
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Event e SET e.faculty = :to WHERE e.faculty.id = :fromFacultyId")
+    int reassignAll(Long fromFacultyId, Faculty to);
+
+    @Query("SELECT e.id FROM Event e WHERE e.faculty.id IN :facultyIds")
+    List<Long> findIdsByFacultyIdIn(Collection<Long> facultyIds);
+
+    String CATALOG_SELECT = "SELECT new com.act.backend.dto.EventDTO(e.id, e.name, e.description, e.date, e.venue, " +
+            "COALESCE(f.name, 'Unassigned'), f.email, f.department, e.capacity, e.startAt, e.endAt) " +
+            "FROM Event e LEFT JOIN e.faculty f ";
+
+    // Whole catalog in one query; the faculty join replaces a lazy lookup per event
+    @Query(CATALOG_SELECT + "ORDER BY e.id")
+    List<EventDTO> findCatalog();
+
+    // Upcoming includes events still in progress; events without a parsed date appear in neither slice
+    @Query(value = CATALOG_SELECT + "WHERE e.endAt >= :now ORDER BY e.startAt, e.id",
+           countQuery = "SELECT COUNT(e) FROM Event e WHERE e.endAt >= :now")
+    Page<EventDTO> findUpcoming(LocalDateTime now, Pageable pageable);
+
+    @Query(value = CATALOG_SELECT + "WHERE e.endAt < :now ORDER BY e.startAt DESC, e.id DESC",
+           countQuery = "SELECT COUNT(e) FROM Event e WHERE e.endAt < :now")
+    Page<EventDTO> findPast(LocalDateTime now, Pageable pageable);
+
+    @Query(value = CATALOG_SELECT + "WHERE e.startAt >= :from AND e.startAt < :to ORDER BY e.startAt, e.id",
+           countQuery = "SELECT COUNT(e) FROM Event e WHERE e.startAt >= :from AND e.startAt < :to")
+    Page<EventDTO> findStartingBetween(LocalDateTime from, LocalDateTime to, Pageable pageable);
+
+    @Query(value = CATALOG_SELECT + "WHERE e.faculty.id = :facultyId AND e.endAt >= :now ORDER BY e.startAt, e.id",
+           countQuery = "SELECT COUNT(e) FROM Event e WHERE e.faculty.id = :facultyId AND e.endAt >= :now")
+    Page<EventDTO> findUpcomingForFaculty(Long facultyId, LocalDateTime now, Pageable pageable);
+
+    @Query(value = CATALOG_SELECT + "WHERE e.faculty.id = :facultyId AND e.endAt < :now ORDER BY e.startAt DESC, e.id DESC",
+           countQuery = "SELECT COUNT(e) FROM Event e WHERE e.faculty.id = :facultyId AND e.endAt < :now")
+    Page<EventDTO> findPastForFaculty(Long facultyId, LocalDateTime now, Pageable pageable);
+
+    @Query(value = CATALOG_SELECT + "WHERE e.faculty.id = :facultyId AND e.startAt >= :from AND e.startAt < :to ORDER BY e.startAt, e.id",
+           countQuery = "SELECT COUNT(e) FROM Event e WHERE e.faculty.id = :facultyId AND e.startAt >= :from AND e.startAt < :to")
+    Page<EventDTO> findStartingBetweenForFaculty(Long facultyId, LocalDateTime from, LocalDateTime to, Pageable pageable);
+
+    // Atomically claims a seat; returns 0 when the event is full or does not exist.
+    // Native, with its own query space, so Hibernate does not drop the whole Event cache region on every
+    // registration; callers evict just this event once committed (StudentServiceImpl.evictSeatsAfterCommit)
+    @Modifying
+    @Query(value = "UPDATE event SET seats_taken = seats_taken + 1 " +
+                   "WHERE id = :eventId AND (capacity IS NULL OR seats_taken < capacity)", nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = SEATS_SPACE))
+    int takeSeat(Long eventId);
+
+    // Changes the capacity only if it still covers the seats taken; returns 0 otherwise. The row lock it takes
+    // holds off takeSeat until the caller commits, so no registration slips in over the new limit
+    @Modifying
+    @Query(value = "UPDATE event SET capacity = :capacity WHERE id = :eventId AND seats_taken <= :capacity", nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = SEATS_SPACE))
+    int changeCapacity(Long eventId, int capacity);
+
+    @Modifying
+    @Query(value = "UPDATE event SET seats_taken = seats_taken - 1 WHERE id = :eventId AND seats_taken > 0", nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = SEATS_SPACE))
+    int releaseSeat(Long eventId);
+
+    // Gives back a seat on every event the student is registered for. Native in the seat query space like
+    // releaseSeat, so the Event region survives; the caller evicts just those events once committed
+    @Modifying
+    @Query(value = "UPDATE event SET seats_taken = seats_taken - 1 WHERE seats_taken > 0 AND id IN " +
+                   "(SELECT event_id FROM student_event WHERE student_id = :studentId)", nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = SEATS_SPACE))
+    int releaseSeatsOfStudent(Long studentId);
 
 }
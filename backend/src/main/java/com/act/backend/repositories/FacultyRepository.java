@@ -1,10 +1,43 @@
 package com.act.backend.repositories;
 
+import com.act.backend.dto.FacultyDTO;
+import com.act.backend.dto.FacultyProfileDTO;
 import com.act.backend.models.Faculty;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface FacultyRepository extends JpaRepository<Faculty, Long> {
+    // Query-cached for logins; the Faculty itself then comes from the entity cache
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Faculty> findByEmail(String email);
+
+    // Served by idx_faculty_approved instead of filtering findAll() in Java; only the faculty columns,
+    // so the assigned events are never loaded
+    @Query("SELECT new com.act.backend.dto.FacultyProfileDTO(f.id, f.name, f.email, f.phone, f.department, f.gender, f.approved) " +
+           "FROM Faculty f WHERE f.approved = false ORDER BY f.id")
+    List<FacultyProfileDTO> findByApprovedFalse();
+
+    // A whole moderation batch in one query, approved or not
+    @Query("SELECT new com.act.backend.dto.FacultyProfileDTO(f.id, f.name, f.email, f.phone, f.department, f.gender, f.approved) " +
+           "FROM Faculty f WHERE f.id IN :ids")
+    List<FacultyProfileDTO> findProfilesByIdIn(Collection<Long> ids);
+
+    // One UPDATE for every approval in a batch; Hibernate evicts the Faculty cache region for it
+    @Modifying
+    @Query("UPDATE Faculty f SET f.approved = true WHERE f.id IN :ids AND f.approved = false")
+    int approveAll(Collection<Long> ids);
+
+    // Assigned-event counts via one GROUP BY over event.faculty_id; events themselves are never loaded
+    @Query("SELECT new com.act.backend.dto.FacultyDTO(f.id, f.name, f.email, f.phone, f.department, f.gender, f.approved, COUNT(e.id)) " +
+           "FROM Faculty f LEFT JOIN f.eventsAssigned e " +
+           "GROUP BY f.id, f.name, f.email, f.phone, f.department, f.gender, f.approved ORDER BY f.id")
+    List<FacultyDTO> findAllWithEventCounts();
 }
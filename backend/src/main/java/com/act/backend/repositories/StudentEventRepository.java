@@ -1,33 +1,77 @@
 package com.act.backend.repositories;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.act.backend.models.Event;
 import com.act.backend.models.Student;
 import com.act.backend.models.StudentEvent;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 
 @Repository
 public interface StudentEventRepository extends JpaRepository<StudentEvent, Long> {
 
-    // ✅ Add this method so you can check if a student is already registered for an event
-    boolean existsByStudentAndEvent(Student student, Event event);
-    // ✅ get all events registered by a student
-    List<StudentEvent> findByStudent(Student student);
+    // Filters on the foreign key itself so uk_student_event serves it; the derived query joined student first
+    @Query("SELECT se FROM StudentEvent se JOIN FETCH se.event e LEFT JOIN FETCH e.faculty " +
+           "WHERE se.student.id = :studentId ORDER BY e.id")
+    List<StudentEvent> findByStudentId(Long studentId);
     Optional<StudentEvent> findByStudentAndEvent(Student student, Event event);
+    @Query("SELECT se FROM StudentEvent se JOIN FETCH se.student WHERE se.event = :event")
     List<StudentEvent> findByEvent(Event event);
     @Modifying
     @Transactional
     @Query(value = "UPDATE student_event SET attendance = :present WHERE event_id = :eventId AND student_id = :studentId", nativeQuery = true)
+    // Without a declared table Hibernate would flush every second-level cache region on each mark
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "student_event"))
     void updateAttendance(Long eventId, Long studentId, Boolean present);
 
+    // Bulk attendance: one statement per present/absent group instead of one per student
+    @Modifying
+    @Query("UPDATE StudentEvent se SET se.attendance = :present WHERE se.event.id = :eventId AND se.student.id IN :studentIds")
+    int updateAttendanceForStudents(Long eventId, Collection<Long> studentIds, Boolean present);
+
+    @Query("SELECT se.student.id FROM StudentEvent se WHERE se.event.id = :eventId AND se.student.id IN :studentIds")
+    List<Long> findRegisteredStudentIds(Long eventId, Collection<Long> studentIds);
+
+    @Query("SELECT se.event.id FROM StudentEvent se WHERE se.student.id = :studentId")
+    List<Long> findEventIdsByStudentId(Long studentId);
+
     @Query(value = "SELECT attendance FROM student_event WHERE event_id = :eventId AND student_id = :studentId", nativeQuery = true)
     Boolean findAttendance(Long eventId, Long studentId);
-    void deleteByEvent(Event event);
+
+    // One DELETE for the whole roster; the derived deleteByEvent loaded every registration and deleted them one by one
+    @Modifying
+    @Query("DELETE FROM StudentEvent se WHERE se.event.id = :eventId")
+    int deleteByEventId(Long eventId);
+
+    @Modifying
+    @Query("DELETE FROM StudentEvent se WHERE se.event.id IN :eventIds")
+    int deleteByEventIdIn(Collection<Long> eventIds);
+
+    @Modifying
+    @Query("DELETE FROM StudentEvent se WHERE se.student.id = :studentId AND se.event.id = :eventId")
+    int deleteByStudentIdAndEventId(Long studentId, Long eventId);
+
+    @Modifying
+    @Query("DELETE FROM StudentEvent se WHERE se.student.id = :studentId")
+    int deleteByStudentId(Long studentId);
+
+    // Event names for a whole roster page in one query (avoids findByStudent per student)
+    @Query("SELECT se.student.id AS studentId, e.name AS eventName FROM StudentEvent se JOIN se.event e " +
+           "WHERE se.student.id IN :studentIds ORDER BY se.student.id, e.id")
+    List<StudentEventName> findEventNamesByStudentIds(Collection<Long> studentIds);
+
+    interface StudentEventName {
+        Long getStudentId();
+        String getEventName();
+    }
 }
@@ -1,10 +1,41 @@
 package com.act.backend.repositories;
 
+import com.act.backend.dto.StudentEventCountDTO;
+import com.act.backend.dto.StudentProfileDTO;
+import com.act.backend.dto.StudentWithEventsDTO;
 import com.act.backend.models.Student;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface StudentRepository extends JpaRepository<Student, Long> {
     Optional<Student> findByEmail(String email);
+
+    @Query("SELECT new com.act.backend.dto.StudentProfileDTO(s.id, s.name, s.email, s.phone, s.gender, s.department) " +
+           "FROM Student s WHERE s.id = :id")
+    Optional<StudentProfileDTO> findProfileById(Long id);
+
+    // Keyset page of the admin roster: only the student columns, nothing else joined
+    @Query("SELECT new com.act.backend.dto.StudentWithEventsDTO(s.id, s.name, s.email, s.phone, s.department, s.gender) " +
+           "FROM Student s WHERE s.id > :afterId ORDER BY s.id")
+    List<StudentWithEventsDTO> findRosterPage(Long afterId, Limit limit);
+
+    // Registration counts aggregated in the database (GROUP BY student), one page at a time
+    String EVENT_COUNT_SELECT = "SELECT new com.act.backend.dto.StudentEventCountDTO(" +
+            "s.id, s.name, s.email, s.phone, s.gender, s.department, COUNT(se.id)) " +
+            "FROM Student s LEFT JOIN StudentEvent se ON se.student = s " +
+            "GROUP BY s.id, s.name, s.email, s.phone, s.gender, s.department ";
+
+    @Query(value = EVENT_COUNT_SELECT + "ORDER BY s.id",
+           countQuery = "SELECT COUNT(s) FROM Student s")
+    Page<StudentEventCountDTO> findEventCounts(Pageable pageable);
+
+    @Query(value = EVENT_COUNT_SELECT + "ORDER BY COUNT(se.id) DESC, s.id",
+           countQuery = "SELECT COUNT(s) FROM Student s")
+    Page<StudentEventCountDTO> findEventCountsMostActiveFirst(Pageable pageable);
 }
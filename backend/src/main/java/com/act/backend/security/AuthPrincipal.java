@@ -0,0 +1,6 @@
+package com.act.backend.security;
+
+// Who the current request belongs to, as proven by a verified token. Set by AuthTokenFilter.
+public record AuthPrincipal(AuthRole role, Long id) {
+    public static final String ATTRIBUTE = "authPrincipal";
+}
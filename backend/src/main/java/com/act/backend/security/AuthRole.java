@@ -0,0 +1,22 @@
+package com.act.backend.security;
+
+public enum AuthRole {
+    STUDENT("/api/students"),
+    FACULTY("/api/faculty"),
+    ADMIN("/api/admin");
+
+    private final String apiPrefix;
+
+    AuthRole(String apiPrefix) {
+        this.apiPrefix = apiPrefix;
+    }
+
+    public String apiPrefix() {
+        return apiPrefix;
+    }
+
+    // One cookie per role, scoped to that role's API, so a browser can hold several logins at once
+    public String cookieName() {
+        return "SAP_" + name();
+    }
+}
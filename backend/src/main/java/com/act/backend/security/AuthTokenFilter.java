@@ -0,0 +1,76 @@
+package com.act.backend.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Single authentication point for the role APIs. Every request under
+ * /api/students, /api/faculty or /api/admin must carry a valid token for
+ * that role, either in the role's cookie or as an {@code Authorization: Bearer}
+ * header, except for the public login/registration endpoints below.
+ * On success the {@link AuthPrincipal} is stored as a request attribute.
+ */
+@RequiredArgsConstructor
+public class AuthTokenFilter extends OncePerRequestFilter {
+
+    private static final Set<String> PUBLIC_PATHS = Set.of(
+            "/api/students/signup", "/api/students/login", "/api/students/logout",
+            "/api/faculty/register", "/api/faculty/login", "/api/faculty/logout", "/api/faculty/set-password",
+            "/api/admin/login", "/api/admin/logout");
+
+    private final TokenService tokenService;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        AuthRole required = requiredRole(path);
+
+        if (required == null || PUBLIC_PATHS.contains(path) || HttpMethod.OPTIONS.matches(request.getMethod())) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        Optional<AuthPrincipal> principal = tokenService.verify(token(request, required))
+                .filter(p -> p.role() == required);
+        if (principal.isEmpty()) {
+            response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+            response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+            response.getWriter().write("Not logged in");
+            return;
+        }
+
+        request.setAttribute(AuthPrincipal.ATTRIBUTE, principal.get());
+        chain.doFilter(request, response);
+    }
+
+    private static AuthRole requiredRole(String path) {
+        for (AuthRole role : AuthRole.values()) {
+            if (path.startsWith(role.apiPrefix() + "/")) return role;
+        }
+        return null;
+    }
+
+    private static String token(HttpServletRequest request, AuthRole role) {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header != null && header.startsWith("Bearer ")) return header.substring(7);
+
+        if (request.getCookies() == null) return null;
+        for (Cookie cookie : request.getCookies()) {
+            if (cookie.getName().equals(role.cookieName())) return cookie.getValue();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,101 @@
+package com.act.backend.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseCookie;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Issues and verifies compact HMAC-SHA256 tokens of the form
+ * {@code base64url(role:id:expiry).base64url(signature)}. Verification needs
+ * only the shared secret, so any backend replica can authenticate a request
+ * without server-side session state.
+ */
+@Slf4j
+@Service
+public class TokenService {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SecretKeySpec key;
+    private final Duration ttl;
+
+    public TokenService(@Value("${app.auth.token-secret:}") String secret,
+                        @Value("${app.auth.token-ttl-minutes:480}") long ttlMinutes) {
+        byte[] keyBytes;
+        if (secret.isBlank()) {
+            // Fine for a single dev instance; replicas must share app.auth.token-secret
+            log.warn("app.auth.token-secret is not set; using a random key, tokens will not survive a restart");
+            keyBytes = new byte[32];
+            new SecureRandom().nextBytes(keyBytes);
+        } else {
+            keyBytes = secret.getBytes(StandardCharsets.UTF_8);
+        }
+        this.key = new SecretKeySpec(keyBytes, ALGORITHM);
+        this.ttl = Duration.ofMinutes(ttlMinutes);
+    }
+
+    public String issue(AuthRole role, Long id) {
+        long expiresAt = Instant.now().plus(ttl).getEpochSecond();
+        byte[] payload = (role.name() + ":" + id + ":" + expiresAt).getBytes(StandardCharsets.UTF_8);
+        return ENCODER.encodeToString(payload) + "." + ENCODER.encodeToString(sign(payload));
+    }
+
+    public Optional<AuthPrincipal> verify(String token) {
+        if (token == null) return Optional.empty();
+        int dot = token.indexOf('.');
+        if (dot <= 0) return Optional.empty();
+        try {
+            byte[] payload = DECODER.decode(token.substring(0, dot));
+            byte[] signature = DECODER.decode(token.substring(dot + 1));
+            if (!MessageDigest.isEqual(sign(payload), signature)) return Optional.empty();
+
+            String[] parts = new String(payload, StandardCharsets.UTF_8).split(":");
+            if (parts.length != 3) return Optional.empty();
+            if (Instant.now().getEpochSecond() >= Long.parseLong(parts[2])) return Optional.empty();
+            return Optional.of(new AuthPrincipal(AuthRole.valueOf(parts[0]), Long.valueOf(parts[1])));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    public ResponseCookie loginCookie(AuthRole role, Long id) {
+        return cookie(role, issue(role, id), ttl);
+    }
+
+    public ResponseCookie logoutCookie(AuthRole role) {
+        return cookie(role, "", Duration.ZERO);
+    }
+
+    private ResponseCookie cookie(AuthRole role, String value, Duration maxAge) {
+        return ResponseCookie.from(role.cookieName(), value)
+                .httpOnly(true)
+                .sameSite("Lax")
+                .path(role.apiPrefix())
+                .maxAge(maxAge)
+                .build();
+    }
+
+    private byte[] sign(byte[] payload) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(payload);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC unavailable", e);
+        }
+    }
+}
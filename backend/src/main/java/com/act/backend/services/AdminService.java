@@ -2,7 +2,6 @@ package com.act.backend.services;
 
 import com.act.backend.dto.*;
 import com.act.backend.models.*;
-import jakarta.servlet.http.HttpSession;
 
 import java.util.List;
 import java.util.Map;
@@ -12,25 +11,24 @@ public interface AdminService {
 
     // Admin
     Optional<Admin> authenticate(String email, String password);
-    Admin updateProfile(Admin admin, Admin updated);
-    boolean updatePassword(Admin admin, String currentPassword, String newPassword);
-    Admin getAdminFromSession(HttpSession session);
-    void checkAdminSession(HttpSession session);
+    AdminProfileDTO getAdmin(Long adminId);
+    AdminProfileDTO updateProfile(Long adminId, Admin updated);
+    boolean updatePassword(Long adminId, String currentPassword, String newPassword);
 
     // Faculty
-    List<Faculty> getUnapprovedFaculties();
+    List<FacultyProfileDTO> getUnapprovedFaculties();
     List<FacultyDTO> getAllFaculties();
     String approveFaculty(Long id);
     String rejectFaculty(Long id, String reason);
+    ModerationReportDTO moderateFaculties(List<FacultyDecisionRequest> decisions);
     FacultyDTO updateFaculty(Long id, FacultyDTO updatedFaculty);
     String deleteFaculty(Long facultyId, Long replacementFacultyId);
 
     // Student
-    // Student
-List<StudentWithEventsDTO> getAllStudentsWithEvents();
+    CursorPage<StudentWithEventsDTO> getStudentsWithEvents(Long cursor, int size);
 
 
-    Student updateStudent(Long id, Student updatedStudent);
+    StudentProfileDTO updateStudent(Long id, Student updatedStudent);
     String deleteStudent(Long id);
 
     // Event
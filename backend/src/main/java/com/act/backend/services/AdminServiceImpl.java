@@ -1,13 +1,19 @@
 package com.act.backend.services;
 
+import com.act.backend.datasource.ReadOnlyTransaction;
 import com.act.backend.dto.*;
 import com.act.backend.models.*;
 import com.act.backend.repositories.*;
-import jakarta.servlet.http.HttpSession;
+import io.micrometer.core.instrument.Tags;
+import jakarta.persistence.EntityManagerFactory;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.LocalDateTime;
 import java.util.*;
 
 @Service
@@ -20,79 +26,144 @@ public class AdminServiceImpl implements AdminService {
     private final StudentRepository studentRepo;
     private final StudentEventRepository studentEventRepo;
     private final EmailService emailService;
+    private final EventCatalogCache catalogCache;
+    private final AttendanceStatsService attendanceStats;
+    private final ServiceMetrics metrics;
+    private final EntityManagerFactory entityManagerFactory;
 
-    // ------------------- SESSION -------------------
-    @Override
-    public void checkAdminSession(HttpSession session) {
-        Admin admin = (Admin) session.getAttribute("admin");
-        if (admin == null) {
-            throw new RuntimeException("Not logged in");
-        }
-    }
+    private static final int MAX_MODERATION_BATCH = 1000;
 
+    // ------------------- ADMIN -------------------
     @Override
-    public Admin getAdminFromSession(HttpSession session) {
-        return (Admin) session.getAttribute("admin");
+    public Optional<Admin> authenticate(String email, String password) {
+        return metrics.timed("auth.logins", Tags.of("role", "admin"),
+                () -> adminRepo.findByEmail(email).filter(admin -> admin.getPassword().equals(password)),
+                admin -> admin.isPresent() ? "success" : "invalid_credentials");
     }
 
-    // ------------------- ADMIN -------------------
     @Override
-    public Optional<Admin> authenticate(String email, String password) {
-        return adminRepo.findByEmail(email)
-                .filter(admin -> admin.getPassword().equals(password));
+    public AdminProfileDTO getAdmin(Long adminId) {
+        return adminRepo.findProfileById(adminId).orElseThrow(() -> new RuntimeException("Admin not found"));
     }
 
     @Override
-    public Admin updateProfile(Admin admin, Admin updated) {
+    public AdminProfileDTO updateProfile(Long adminId, Admin updated) {
+        Admin admin = findAdmin(adminId);
         admin.setUsername(updated.getUsername());
         admin.setEmail(updated.getEmail());
-        return adminRepo.save(admin);
+        return new AdminProfileDTO(adminRepo.save(admin));
     }
 
     @Override
-    public boolean updatePassword(Admin admin, String currentPassword, String newPassword) {
+    public boolean updatePassword(Long adminId, String currentPassword, String newPassword) {
+        Admin admin = findAdmin(adminId);
         if (!admin.getPassword().equals(currentPassword)) return false;
         admin.setPassword(newPassword);
         adminRepo.save(admin);
         return true;
     }
 
+    private Admin findAdmin(Long adminId) {
+        return adminRepo.findById(adminId).orElseThrow(() -> new RuntimeException("Admin not found"));
+    }
+
     // ------------------- FACULTY -------------------
     @Override
-    public List<Faculty> getUnapprovedFaculties() {
-        return facultyRepo.findAll().stream().filter(f -> !f.isApproved()).toList();
+    @ReadOnlyTransaction
+    public List<FacultyProfileDTO> getUnapprovedFaculties() {
+        return facultyRepo.findByApprovedFalse();
     }
 
     @Override
+    @ReadOnlyTransaction
     public List<FacultyDTO> getAllFaculties() {
-        return facultyRepo.findAll().stream().map(f -> new FacultyDTO(
-                f.getId(),
-                f.getName(),
-                f.getEmail(),
-                f.getPhone(),
-                f.getDepartment(),
-                f.getGender(),
-                f.isApproved(),
-                (f.getEventsAssigned() == null) ? 0 : f.getEventsAssigned().size()
-        )).toList();
+        return facultyRepo.findAllWithEventCounts();
     }
 
+    // The notification is written to the email outbox in the same transaction as the status change
     @Override
+    @Transactional
     public String approveFaculty(Long id) {
         Faculty f = facultyRepo.findById(id).orElseThrow();
         f.setApproved(true);
         facultyRepo.save(f);
         String link = "http://localhost:5173/faculty/set-password?email=" + f.getEmail();
         emailService.sendEmail(f.getEmail(), "Faculty Approval", "Approved! Set password: " + link);
-        return "Faculty approved and email sent";
+        return "Faculty approved and email queued";
     }
 
     @Override
+    @Transactional
     public String rejectFaculty(Long id, String reason) {
         Faculty f = facultyRepo.findById(id).orElseThrow();
+        removeFaculties(List.of(f.getId()));
         emailService.sendEmail(f.getEmail(), "Faculty Rejected", "Reason: " + reason);
-        facultyRepo.delete(f);
-        return "Faculty rejected and email sent";
+        return "Faculty rejected and email queued";
+    }
+
+    // The same decisions as approveFaculty and rejectFaculty for a whole batch, in one transaction and a fixed
+    // number of statements. Decisions that cannot apply are skipped and reported; the rest still go through
+    @Override
+    @Transactional
+    public ModerationReportDTO moderateFaculties(List<FacultyDecisionRequest> decisions) {
+        if (decisions == null || decisions.isEmpty()) throw new RuntimeException("No decisions given");
+        if (decisions.size() > MAX_MODERATION_BATCH)
+            throw new RuntimeException("At most " + MAX_MODERATION_BATCH + " decisions per batch");
+
+        Set<Long> ids = new HashSet<>();
+        for (FacultyDecisionRequest d : decisions) if (d.getId() != null) ids.add(d.getId());
+        Map<Long, FacultyProfileDTO> faculties = new HashMap<>();
+        if (!ids.isEmpty()) facultyRepo.findProfilesByIdIn(ids).forEach(f -> faculties.put(f.getId(), f));
+
+        ModerationReportDTO report = new ModerationReportDTO();
+        Set<Long> decided = new HashSet<>();
+        List<Long> approved = new ArrayList<>();
+        List<Long> rejected = new ArrayList<>();
+        List<EmailOutbox> mails = new ArrayList<>();
+        for (FacultyDecisionRequest d : decisions) {
+            FacultyProfileDTO f = d.getId() == null ? null : faculties.get(d.getId());
+            boolean approve = "APPROVE".equalsIgnoreCase(d.getDecision());
+            String skip = null;
+            if (f == null) skip = "Faculty not found";
+            else if (!approve && !"REJECT".equalsIgnoreCase(d.getDecision())) skip = "Decision must be APPROVE or REJECT";
+            else if (!approve && (d.getReason() == null || d.getReason().isBlank())) skip = "Reason is required to reject";
+            else if (!decided.add(f.getId())) skip = "Duplicate decision";
+            else if (f.isApproved()) skip = "Faculty already approved";
+            if (skip != null) {
+                report.getResults().add(new ModerationReportDTO.Result(d.getId(), "SKIPPED", skip));
+            } else if (approve) {
+                approved.add(f.getId());
+                String link = "http://localhost:5173/faculty/set-password?email=" + f.getEmail();
+                mails.add(EmailOutbox.pending(f.getEmail(), "Faculty Approval", "Approved! Set password: " + link));
+                report.getResults().add(new ModerationReportDTO.Result(f.getId(), "APPROVED", "Faculty approved and email queued"));
+            } else {
+                rejected.add(f.getId());
+                mails.add(EmailOutbox.pending(f.getEmail(), "Faculty Rejected", "Reason: " + d.getReason()));
+                report.getResults().add(new ModerationReportDTO.Result(f.getId(), "REJECTED", "Faculty rejected and email queued"));
+            }
+        }
+
+        if (!approved.isEmpty()) facultyRepo.approveAll(approved);
+        if (!rejected.isEmpty()) removeFaculties(rejected);
+        emailService.sendAll(mails);
+
+        report.setApproved(approved.size());
+        report.setRejected(rejected.size());
+        report.setSkipped(decisions.size() - approved.size() - rejected.size());
+        return report;
+    }
+
+    // Rejection removes the faculty with its events and their registrations. The stats rows go first, under the
+    // event row locks, then everything else in bulk, so the entity cascade never loads or deletes row by row
+    private void removeFaculties(List<Long> facultyIds) {
+        List<Long> eventIds = eventRepo.findIdsByFacultyIdIn(facultyIds);
+        if (!eventIds.isEmpty()) {
+            attendanceStats.eventsDeleted(eventIds);
+            studentEventRepo.deleteByEventIdIn(eventIds);
+            eventRepo.deleteAllByIdInBatch(eventIds);
+        }
+        facultyRepo.deleteAllByIdInBatch(facultyIds);
+        catalogCache.invalidate();
     }
 
     @Override
@@ -106,6 +177,8 @@ public class AdminServiceImpl implements AdminService {
             faculty.setApproved(updatedFaculty.isApproved());
             return facultyRepo.save(faculty);
         }).orElseThrow(() -> new RuntimeException("Faculty not found"));
+        // The catalog shows the faculty's name, email and department
+        catalogCache.invalidate();
 
         return new FacultyDTO(
                 saved.getId(),
@@ -115,65 +188,67 @@ public class AdminServiceImpl implements AdminService {
                 saved.getDepartment(),
                 saved.getGender(),
                 saved.isApproved(),
-                (saved.getEventsAssigned() == null) ? 0 : saved.getEventsAssigned().size()
+                eventRepo.countByFacultyId(saved.getId())
         );
     }
 
     @Override
     @Transactional
+    // A fixed number of statements however many events move: the events are never loaded, and the faculty
+    // is deleted in bulk so the cascade on eventsAssigned cannot load them either
     public String deleteFaculty(Long facultyId, Long replacementFacultyId) {
-        Faculty facultyToDelete = facultyRepo.findById(facultyId).orElseThrow(() -> new RuntimeException("Faculty not found"));
-        List<Event> assignedEvents = eventRepo.findByFaculty(facultyToDelete);
-
-        if (!assignedEvents.isEmpty() && replacementFacultyId == null) {
-            throw new RuntimeException("Faculty has assigned events. Provide replacementFacultyId.");
+        if (!facultyRepo.existsById(facultyId)) throw new RuntimeException("Faculty not found");
+
+        if (replacementFacultyId == null) {
+            if (eventRepo.countByFacultyId(facultyId) > 0)
+                throw new RuntimeException("Faculty has assigned events. Provide replacementFacultyId.");
+        } else {
+            if (replacementFacultyId.equals(facultyId)) throw new RuntimeException("Replacement must be a different faculty");
+            if (!facultyRepo.existsById(replacementFacultyId)) throw new RuntimeException("Replacement faculty not found");
+            eventRepo.reassignAll(facultyId, facultyRepo.getReferenceById(replacementFacultyId));
         }
 
-        if (replacementFacultyId != null) {
-            Faculty replacementFaculty = facultyRepo.findById(replacementFacultyId).orElseThrow(() -> new RuntimeException("Replacement faculty not found"));
-            assignedEvents.forEach(e -> { e.setFaculty(replacementFaculty); eventRepo.save(e); });
-        }
-
-        facultyRepo.delete(facultyToDelete);
+        facultyRepo.deleteAllByIdInBatch(List.of(facultyId));
+        catalogCache.invalidate();
         return "Faculty deleted successfully";
     }
 
     // ------------------- STUDENT -------------------
+    private static final int MAX_ROSTER_PAGE_SIZE = 200;
+
     @Override
-public List<StudentWithEventsDTO> getAllStudentsWithEvents() {
-    List<Student> students = studentRepo.findAll();
-
-    return students.stream().map(s -> {
-        List<String> events = studentEventRepo.findByStudent(s)
-                .stream()
-                .map(se -> se.getEvent().getName())
-                .toList();
-
-        return new StudentWithEventsDTO(
-                s.getId(),
-                s.getName(),
-                s.getEmail(),
-                s.getPhone(),
-                s.getDepartment(),
-                s.getGender(),
-                events
-        );
-    }).toList();
-}
+    @ReadOnlyTransaction
+    public CursorPage<StudentWithEventsDTO> getStudentsWithEvents(Long cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_ROSTER_PAGE_SIZE));
+
+        // Fetch one extra row to know whether another page exists
+        List<StudentWithEventsDTO> rows = studentRepo.findRosterPage(cursor == null ? 0L : cursor, Limit.of(pageSize + 1));
+        boolean hasMore = rows.size() > pageSize;
+        List<StudentWithEventsDTO> page = hasMore ? rows.subList(0, pageSize) : rows;
+        if (page.isEmpty()) return new CursorPage<>(page, null, false);
+
+        Map<Long, StudentWithEventsDTO> byId = new HashMap<>();
+        page.forEach(dto -> byId.put(dto.getId(), dto));
+        studentEventRepo.findEventNamesByStudentIds(byId.keySet())
+                .forEach(row -> byId.get(row.getStudentId()).getRegisteredEvents().add(row.getEventName()));
+
+        Long nextCursor = hasMore ? page.get(page.size() - 1).getId() : null;
+        return new CursorPage<>(page, nextCursor, hasMore);
+    }
 
 
 
 @Override
 @Transactional
-public Student updateStudent(Long id, Student updatedStudent) {
+public StudentProfileDTO updateStudent(Long id, Student updatedStudent) {
     return studentRepo.findById(id).map(student -> {
+        attendanceStats.departmentChanging(id, student.getDepartment(), updatedStudent.getDepartment());
         student.setName(updatedStudent.getName());
         student.setEmail(updatedStudent.getEmail());
         student.setPhone(updatedStudent.getPhone());
         student.setDepartment(updatedStudent.getDepartment());
         student.setGender(updatedStudent.getGender());
-        // registeredEvents NOT updated here
-        return studentRepo.save(student);
+        return new StudentProfileDTO(studentRepo.save(student));
     }).orElseThrow(() -> new RuntimeException("Student not found"));
 }
 
@@ -184,33 +259,36 @@ public Student updateStudent(Long id, Student updatedStudent) {
    @Override
 @Transactional
 public String deleteStudent(Long id) {
-    Student student = studentRepo.findById(id)
-            .orElseThrow(() -> new RuntimeException("Student not found"));
+    if (!studentRepo.existsById(id)) throw new RuntimeException("Student not found");
 
-    // Clear all registered events
-    student.getRegisteredEvents().clear();
-
-    // Delete student
-    studentRepo.delete(student);
+    // Give the seats back, then drop the registrations in one statement each
+    attendanceStats.studentDeleting(id);
+    List<Long> eventIds = studentEventRepo.findEventIdsByStudentId(id);
+    eventRepo.releaseSeatsOfStudent(id);
+    evictSeatsAfterCommit(eventIds);
+    studentEventRepo.deleteByStudentId(id);
+    studentRepo.deleteById(id);
 
     return "Student and registered events deleted successfully";
 }
 
+    // The seat counter update bypasses the entity cache; drop those events' cached copies once the new counts are visible
+    private void evictSeatsAfterCommit(List<Long> eventIds) {
+        if (eventIds.isEmpty()) return;
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                eventIds.forEach(eventId -> entityManagerFactory.getCache().evict(Event.class, eventId));
+            }
+        });
+    }
+
 
 
     // ------------------- EVENT -------------------
     @Override
     public List<EventDTO> getAllEvents() {
-        return eventRepo.findAll().stream().map(e -> {
-            EventDTO dto = new EventDTO();
-            dto.setId(e.getId());
-            dto.setName(e.getName());
-            dto.setDescription(e.getDescription());
-            dto.setDate(e.getDate());
-            dto.setVenue(e.getVenue());
-            dto.setFacultyName(e.getFaculty() != null ? e.getFaculty().getName() : "Unassigned");
-            return dto;
-        }).toList();
+        return eventRepo.findCatalog();
     }
 
     @Override
@@ -218,8 +296,9 @@ public String deleteStudent(Long id) {
         Event event = new Event();
         event.setName((String) body.get("name"));
         event.setVenue((String) body.get("venue"));
-        event.setDate((String) body.get("date"));
         event.setDescription((String) body.get("description"));
+        applySchedule(event, body);
+        event.setCapacity(parseCapacity(body.get("capacity")));
 
         event.setFaculty(null);
         if (body.containsKey("facultyId")) {
@@ -227,37 +306,92 @@ public String deleteStudent(Long id) {
             event.setFaculty(facultyId != null ? facultyRepo.findById(facultyId).orElse(null) : null);
         }
 
-        return eventRepo.save(event);
+        Event saved = eventRepo.save(event);
+        catalogCache.invalidate();
+        return saved;
     }
 
     @Override
+    @Transactional
     public Event updateEvent(Long id, Map<String, Object> body) {
         Event event = eventRepo.findById(id).orElseThrow(() -> new RuntimeException("Event not found"));
 
         if (body.containsKey("name")) event.setName((String) body.get("name"));
         if (body.containsKey("venue")) event.setVenue((String) body.get("venue"));
-        if (body.containsKey("date")) event.setDate((String) body.get("date"));
+        applySchedule(event, body);
         if (body.containsKey("description")) event.setDescription((String) body.get("description"));
+        if (body.containsKey("capacity")) {
+            Integer capacity = parseCapacity(body.get("capacity"));
+            // Checked in SQL: the cached seatsTaken may lag behind registrations
+            if (capacity != null && eventRepo.changeCapacity(id, capacity) == 0)
+                throw new RuntimeException("Capacity cannot be lower than the seats already taken");
+            event.setCapacity(capacity);
+        }
         if (body.containsKey("facultyId")) {
             Long facultyId = body.get("facultyId") != null ? Long.valueOf(body.get("facultyId").toString()) : null;
             event.setFaculty(facultyId != null ? facultyRepo.findById(facultyId).orElse(null) : null);
         }
 
-        return eventRepo.save(event);
+        Event saved = eventRepo.save(event);
+        catalogCache.invalidate();
+        return saved;
+    }
+
+    // Accepts the legacy "date" text and/or ISO "startAt"/"endAt" and keeps the three consistent
+    private void applySchedule(Event event, Map<String, Object> body) {
+        if (body.containsKey("date")) event.setDate((String) body.get("date"));
+        if (body.containsKey("startAt") || body.containsKey("date")) {
+            Object raw = body.containsKey("startAt") ? body.get("startAt") : body.get("date");
+            LocalDateTime start = parseDateTime(raw, "start");
+            LocalDateTime previousStart = event.getStartAt();
+            event.setStartAt(start);
+            if (start != null && !body.containsKey("date")) event.setDate(start.toLocalDate().toString());
+            // An end the admin set stays put unless the new start passes it; one derived from the old start follows the new one
+            LocalDateTime end = event.getEndAt();
+            boolean derivedEnd = end == null || (previousStart != null && end.equals(EventDates.endOfDay(previousStart)));
+            if (!body.containsKey("endAt") && (start == null || derivedEnd || end.isBefore(start)))
+                event.setEndAt(start != null ? EventDates.endOfDay(start) : null);
+        }
+        if (body.containsKey("endAt")) event.setEndAt(parseDateTime(body.get("endAt"), "end"));
+
+        if (event.getStartAt() != null && event.getEndAt() != null && event.getEndAt().isBefore(event.getStartAt())) {
+            throw new RuntimeException("Event end must not be before its start");
+        }
+    }
+
+    private LocalDateTime parseDateTime(Object value, String label) {
+        if (value == null || value.toString().isBlank()) return null;
+        return EventDates.parse(value.toString())
+                .orElseThrow(() -> new RuntimeException("Invalid event " + label + " date: " + value));
+    }
+
+    // null or blank means unlimited seats
+    private Integer parseCapacity(Object value) {
+        if (value == null || value.toString().isBlank()) return null;
+        int capacity;
+        try {
+            capacity = Integer.parseInt(value.toString().trim());
+        } catch (NumberFormatException e) {
+            throw new RuntimeException("Capacity must be a number");
+        }
+        if (capacity < 1) throw new RuntimeException("Capacity must be at least 1");
+        return capacity;
     }
 
     @Override
     @Transactional
+    // Bulk deletes throughout, so the statement count does not grow with the roster
     public String deleteEvent(Long id) {
-        Event event = eventRepo.findById(id).orElseThrow(() -> new RuntimeException("Event not found"));
-        studentEventRepo.deleteByEvent(event);
-        event.setFaculty(null);
-        eventRepo.save(event);
-        eventRepo.delete(event);
+        if (!eventRepo.existsById(id)) throw new RuntimeException("Event not found");
+        attendanceStats.eventDeleted(id);
+        studentEventRepo.deleteByEventId(id);
+        eventRepo.deleteAllByIdInBatch(List.of(id));
+        catalogCache.invalidate();
         return "Event deleted successfully";
     }
 
     @Override
+    @ReadOnlyTransaction
     public List<StudentAttendanceDTO> getStudentsByEvent(Long eventId) {
         Event event = eventRepo.findById(eventId).orElseThrow(() -> new RuntimeException("Event not found"));
         return studentEventRepo.findByEvent(event).stream().map(se -> {
@@ -272,6 +406,7 @@ public String deleteStudent(Long id) {
         Faculty faculty = facultyRepo.findById(newFacultyId).orElseThrow(() -> new RuntimeException("Faculty not found"));
         event.setFaculty(faculty);
         eventRepo.save(event);
+        catalogCache.invalidate();
         return "Event reassigned successfully";
     }
 }
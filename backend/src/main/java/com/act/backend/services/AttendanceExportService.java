@@ -0,0 +1,152 @@
+package com.act.backend.services;
+
+import com.act.backend.datasource.ReadOnlyTransaction;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes registration/attendance rows as CSV straight from a forward-only
+ * JDBC cursor. Nothing is collected in memory: each row is formatted into a
+ * buffered writer as it is read, so heap use is the same for ten rows or
+ * ten million. On MySQL the driver only streams when the fetch size is
+ * {@link Integer#MIN_VALUE}; other drivers get a regular batch fetch size.
+ */
+@Service
+@RequiredArgsConstructor
+public class AttendanceExportService {
+
+    // Every filter is optional; from/to are inclusive days matched against the event start
+    public record Filter(Long eventId, Long facultyId, String department, LocalDate from, LocalDate to) {
+    }
+
+    static final String HEADER = "event_id,event_name,event_start,faculty,student_id,student_name,student_email,department,attendance";
+
+    private static final String SELECT =
+            "SELECT e.id, e.name, e.start_at, f.name, s.id, s.name, s.email, s.department, se.attendance " +
+            "FROM student_event se " +
+            "JOIN event e ON e.id = se.event_id " +
+            "JOIN student s ON s.id = se.student_id " +
+            "LEFT JOIN faculty f ON f.id = e.faculty_id";
+
+    private static final int FETCH_SIZE = 1000;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final JdbcTemplate jdbc;
+
+    // Returns the number of data rows written
+    @ReadOnlyTransaction
+    public long writeCsv(Filter filter, OutputStream out) {
+        List<Object> args = new ArrayList<>();
+        // (event_id, id) is the order of idx_student_event_event on InnoDB, so MySQL needs no filesort
+        String sql = SELECT + where(filter, args) + " ORDER BY se.event_id, se.id";
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        long[] rows = {0};
+        try {
+            writer.write(HEADER);
+            writer.write("\r\n");
+            jdbc.query(con -> prepare(con, sql, args), (RowCallbackHandler) rs -> {
+                writeRow(writer, rs);
+                rows[0]++;
+            });
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return rows[0];
+    }
+
+    private static String where(Filter filter, List<Object> args) {
+        List<String> clauses = new ArrayList<>();
+        if (filter.eventId() != null) {
+            clauses.add("se.event_id = ?");
+            args.add(filter.eventId());
+        }
+        if (filter.facultyId() != null) {
+            clauses.add("e.faculty_id = ?");
+            args.add(filter.facultyId());
+        }
+        if (filter.department() != null && !filter.department().isBlank()) {
+            clauses.add("s.department = ?");
+            args.add(filter.department());
+        }
+        if (filter.from() != null) {
+            clauses.add("e.start_at >= ?");
+            args.add(Timestamp.valueOf(filter.from().atStartOfDay()));
+        }
+        if (filter.to() != null) {
+            clauses.add("e.start_at < ?");
+            args.add(Timestamp.valueOf(filter.to().plusDays(1).atStartOfDay()));
+        }
+        return clauses.isEmpty() ? "" : " WHERE " + String.join(" AND ", clauses);
+    }
+
+    private static PreparedStatement prepare(Connection con, String sql, List<Object> args) throws SQLException {
+        PreparedStatement ps = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        boolean mysql = con.getMetaData().getDatabaseProductName().toLowerCase().contains("mysql");
+        ps.setFetchSize(mysql ? Integer.MIN_VALUE : FETCH_SIZE);
+        for (int i = 0; i < args.size(); i++) ps.setObject(i + 1, args.get(i));
+        return ps;
+    }
+
+    private static void writeRow(Writer w, ResultSet rs) throws SQLException {
+        try {
+            w.write(Long.toString(rs.getLong(1)));
+            w.write(',');
+            writeField(w, rs.getString(2));
+            w.write(',');
+            Timestamp start = rs.getTimestamp(3);
+            if (start != null) w.write(start.toLocalDateTime().toString());
+            w.write(',');
+            writeField(w, rs.getString(4));
+            w.write(',');
+            w.write(Long.toString(rs.getLong(5)));
+            w.write(',');
+            writeField(w, rs.getString(6));
+            w.write(',');
+            writeField(w, rs.getString(7));
+            w.write(',');
+            writeField(w, rs.getString(8));
+            w.write(',');
+            boolean attendance = rs.getBoolean(9);
+            w.write(rs.wasNull() ? "unmarked" : attendance ? "present" : "absent");
+            w.write("\r\n");
+        } catch (IOException e) {
+            // Usually the client went away; abort the query instead of reading the rest of the cursor
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // RFC 4180 quoting; a leading =, +, - or @ is prefixed so spreadsheets do not evaluate it
+    private static void writeField(Writer w, String value) throws IOException {
+        if (value == null || value.isEmpty()) return;
+        if ("=+-@".indexOf(value.charAt(0)) >= 0) value = "'" + value;
+        boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!quote) {
+            w.write(value);
+            return;
+        }
+        w.write('"');
+        w.write(value.replace("\"", "\"\""));
+        w.write('"');
+    }
+}
@@ -0,0 +1,24 @@
+package com.act.backend.services;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs the nightly {@link AttendanceStatsService#rebuild()}. The counters
+ * live in the shared database, so one node is enough; set
+ * {@code app.analytics.rebuild-enabled=false} on the others.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.analytics.rebuild-enabled", havingValue = "true", matchIfMissing = true)
+public class AttendanceStatsRebuildJob {
+
+    private final AttendanceStatsService attendanceStats;
+
+    @Scheduled(cron = "${app.analytics.rebuild-cron:0 30 3 * * *}")
+    public void rebuild() {
+        attendanceStats.rebuild();
+    }
+}
@@ -0,0 +1,254 @@
+package com.act.backend.services;
+
+import com.act.backend.dto.AttendanceStatsDTO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Registration and attendance counters per (event, student department) in
+ * {@code event_attendance_stats}. The write side is called by the services
+ * that change {@code student_event}, inside their transaction, so the
+ * counters commit or roll back together with the registration. Reports read
+ * the counters instead of counting registrations.
+ *
+ * Hooks named "...ing" must run before the registration rows change: they
+ * lock those rows and read the old attendance to compute the delta.
+ *
+ * Every writer holds the event row lock while it applies a delta: takeSeat
+ * and the registration queue take it before calling {@link #registered},
+ * the other hooks take it themselves. {@link #rebuild()} recounts one event
+ * at a time under the same lock, so a recount and a delta never interleave.
+ * It runs nightly (AttendanceStatsRebuildJob) to repair any drift.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AttendanceStatsService {
+
+    private static final String UPSERT =
+            "INSERT INTO event_attendance_stats (event_id, department, registered, present, absent) " +
+            "VALUES (?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE registered = registered + ?, present = present + ?, absent = absent + ?";
+
+    private static final String RECOUNT =
+            "INSERT INTO event_attendance_stats (event_id, department, registered, present, absent) " +
+            "SELECT se.event_id, COALESCE(s.department, ''), COUNT(*), " +
+            "SUM(CASE WHEN se.attendance THEN 1 ELSE 0 END), SUM(CASE WHEN NOT se.attendance THEN 1 ELSE 0 END) " +
+            "FROM student_event se JOIN student s ON s.id = se.student_id WHERE se.event_id = ? " +
+            "GROUP BY se.event_id, COALESCE(s.department, '')";
+
+    private static final String EVENT_TOTALS =
+            "SELECT e.id, e.name, COALESCE(SUM(st.registered), 0), COALESCE(SUM(st.present), 0), " +
+            "COALESCE(SUM(st.absent), 0) FROM event e LEFT JOIN event_attendance_stats st ON st.event_id = e.id ";
+
+    private static final RowMapper<AttendanceStatsDTO> STATS_ROW = (rs, i) -> new AttendanceStatsDTO(
+            rs.getObject(1, Long.class), rs.getString(2), rs.getLong(3), rs.getLong(4), rs.getLong(5));
+
+    private record Delta(long eventId, String department, int registered, int present, int absent) {
+    }
+
+    private final JdbcTemplate jdbc;
+    private final NamedParameterJdbcTemplate namedJdbc;
+    private final TransactionTemplate transactionTemplate;
+
+    // ---------------- WRITE SIDE ----------------
+
+    // The caller holds the event row lock (takeSeat)
+    public void registered(long eventId, long studentId) {
+        apply(List.of(new Delta(eventId, departmentOf(studentId), 1, 0, 0)));
+    }
+
+    // One department lookup and one upsert per department for a batch of new registrations
+    public void registered(long eventId, Collection<Long> studentIds) {
+        if (studentIds.isEmpty()) return;
+        Map<String, Integer> byDepartment = new HashMap<>();
+        departmentsOf(studentIds).values().forEach(d -> byDepartment.merge(d, 1, Integer::sum));
+
+        List<Delta> deltas = new ArrayList<>();
+        byDepartment.forEach((department, n) -> deltas.add(new Delta(eventId, department, n, 0, 0)));
+        apply(deltas);
+    }
+
+    public void unregistering(long eventId, long studentId) {
+        lockEvents(List.of(eventId));
+        List<Boolean> rows = jdbc.query("SELECT attendance FROM student_event WHERE event_id = ? AND student_id = ? FOR UPDATE",
+                (rs, i) -> attendance(rs, 1), eventId, studentId);
+        if (rows.isEmpty()) return;
+        Boolean attendance = rows.get(0);
+        apply(List.of(new Delta(eventId, departmentOf(studentId), -1, -present(attendance), -absent(attendance))));
+    }
+
+    // Students in the map that are not registered for the event are ignored
+    public void attendanceChanging(long eventId, Map<Long, Boolean> attendance) {
+        if (attendance.isEmpty()) return;
+        lockEvents(List.of(eventId));
+
+        Map<Long, Boolean> current = new HashMap<>();
+        namedJdbc.query("SELECT student_id, attendance FROM student_event " +
+                        "WHERE event_id = :eventId AND student_id IN (:studentIds) FOR UPDATE",
+                Map.of("eventId", eventId, "studentIds", attendance.keySet()),
+                rs -> {
+                    current.put(rs.getLong(1), attendance(rs, 2));
+                });
+        if (current.isEmpty()) return;
+
+        Map<Long, String> departments = departmentsOf(current.keySet());
+        Map<String, int[]> byDepartment = new HashMap<>();
+        current.forEach((studentId, before) -> {
+            Boolean after = attendance.get(studentId);
+            if (Objects.equals(before, after)) return;
+            int[] delta = byDepartment.computeIfAbsent(departments.get(studentId), d -> new int[2]);
+            delta[0] += present(after) - present(before);
+            delta[1] += absent(after) - absent(before);
+        });
+
+        List<Delta> deltas = new ArrayList<>();
+        byDepartment.forEach((department, d) -> deltas.add(new Delta(eventId, department, 0, d[0], d[1])));
+        apply(deltas);
+    }
+
+    public void studentDeleting(long studentId) {
+        lockEventsOf(studentId);
+        String department = departmentOf(studentId);
+        apply(registrationsOf(studentId, department, -1));
+    }
+
+    // Moves the student's registrations to the counters of their new department
+    public void departmentChanging(long studentId, String oldDepartment, String newDepartment) {
+        if (key(oldDepartment).equals(key(newDepartment))) return;
+        lockEventsOf(studentId);
+        List<Delta> deltas = new ArrayList<>(registrationsOf(studentId, key(oldDepartment), -1));
+        deltas.addAll(registrationsOf(studentId, key(newDepartment), 1));
+        apply(deltas);
+    }
+
+    // Before the registrations are deleted, so a concurrent rebuild cannot recount them back in
+    public void eventDeleted(long eventId) {
+        lockEvents(List.of(eventId));
+        jdbc.update("DELETE FROM event_attendance_stats WHERE event_id = ?", eventId);
+    }
+
+    public void eventsDeleted(Collection<Long> eventIds) {
+        if (eventIds.isEmpty()) return;
+        lockEvents(eventIds);
+        namedJdbc.update("DELETE FROM event_attendance_stats WHERE event_id IN (:eventIds)", Map.of("eventIds", eventIds));
+    }
+
+    // One short transaction per event rather than one wiping the whole table: registrations for an event
+    // wait only while that event is recounted
+    public void rebuild() {
+        int rows = 0;
+        for (Long eventId : jdbc.queryForList("SELECT id FROM event ORDER BY id", Long.class)) {
+            rows += transactionTemplate.execute(status -> rebuild(eventId));
+        }
+        log.info("Rebuilt attendance statistics: {} event/department rows", rows);
+    }
+
+    private int rebuild(long eventId) {
+        if (lockEvents(List.of(eventId)) == 0) return 0; // deleted since the id was listed
+        jdbc.update("DELETE FROM event_attendance_stats WHERE event_id = ?", eventId);
+        return jdbc.update(RECOUNT, eventId);
+    }
+
+    // In id order, so writers locking several events cannot deadlock each other
+    private int lockEvents(Collection<Long> eventIds) {
+        return namedJdbc.queryForList("SELECT id FROM event WHERE id IN (:ids) ORDER BY id FOR UPDATE",
+                Map.of("ids", eventIds), Long.class).size();
+    }
+
+    private void lockEventsOf(long studentId) {
+        jdbc.queryForList("SELECT id FROM event WHERE id IN (SELECT event_id FROM student_event WHERE student_id = ?) " +
+                "ORDER BY id FOR UPDATE", Long.class, studentId);
+    }
+
+    private List<Delta> registrationsOf(long studentId, String department, int sign) {
+        return jdbc.query("SELECT event_id, attendance FROM student_event WHERE student_id = ? FOR UPDATE",
+                (rs, i) -> {
+                    Boolean attendance = attendance(rs, 2);
+                    return new Delta(rs.getLong(1), department, sign, sign * present(attendance), sign * absent(attendance));
+                }, studentId);
+    }
+
+    private void apply(List<Delta> deltas) {
+        if (deltas.isEmpty()) return;
+        jdbc.batchUpdate(UPSERT, deltas, deltas.size(), (ps, d) -> {
+            ps.setLong(1, d.eventId());
+            ps.setString(2, d.department());
+            ps.setInt(3, d.registered());
+            ps.setInt(4, d.present());
+            ps.setInt(5, d.absent());
+            ps.setInt(6, d.registered());
+            ps.setInt(7, d.present());
+            ps.setInt(8, d.absent());
+        });
+    }
+
+    private String departmentOf(long studentId) {
+        return departmentsOf(List.of(studentId)).getOrDefault(studentId, "");
+    }
+
+    private Map<Long, String> departmentsOf(Collection<Long> studentIds) {
+        Map<Long, String> departments = new HashMap<>();
+        namedJdbc.query("SELECT id, department FROM student WHERE id IN (:ids)", Map.of("ids", studentIds),
+                rs -> {
+                    departments.put(rs.getLong(1), key(rs.getString(2)));
+                });
+        return departments;
+    }
+
+    private static String key(String department) {
+        return department == null ? "" : department;
+    }
+
+    private static Boolean attendance(ResultSet rs, int column) throws SQLException {
+        boolean value = rs.getBoolean(column);
+        return rs.wasNull() ? null : value;
+    }
+
+    private static int present(Boolean attendance) {
+        return Boolean.TRUE.equals(attendance) ? 1 : 0;
+    }
+
+    private static int absent(Boolean attendance) {
+        return Boolean.FALSE.equals(attendance) ? 1 : 0;
+    }
+
+    // ---------------- READ SIDE ----------------
+
+    public AttendanceStatsDTO forEvent(long eventId) {
+        return jdbc.query(EVENT_TOTALS + "WHERE e.id = ? GROUP BY e.id, e.name", STATS_ROW, eventId).stream()
+                .findFirst()
+                .orElseThrow(() -> new RuntimeException("Event not found"));
+    }
+
+    public List<AttendanceStatsDTO> forFacultyEvents(long facultyId) {
+        return jdbc.query(EVENT_TOTALS + "WHERE e.faculty_id = ? GROUP BY e.id, e.name ORDER BY e.id", STATS_ROW, facultyId);
+    }
+
+    public List<AttendanceStatsDTO> byDepartment() {
+        return jdbc.query("SELECT NULL, NULLIF(department, ''), SUM(registered), SUM(present), SUM(absent) " +
+                "FROM event_attendance_stats GROUP BY department ORDER BY department", STATS_ROW);
+    }
+
+    public List<AttendanceStatsDTO> byFaculty() {
+        return jdbc.query("SELECT f.id, f.name, COALESCE(SUM(st.registered), 0), COALESCE(SUM(st.present), 0), " +
+                "COALESCE(SUM(st.absent), 0) FROM faculty f " +
+                "LEFT JOIN event e ON e.faculty_id = f.id " +
+                "LEFT JOIN event_attendance_stats st ON st.event_id = e.id " +
+                "GROUP BY f.id, f.name ORDER BY f.id", STATS_ROW);
+    }
+}
@@ -0,0 +1,180 @@
+package com.act.backend.services;
+
+import com.act.backend.models.EmailOutbox;
+import com.act.backend.repositories.EmailOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains the email outbox in batches. Each batch goes out through a single
+ * {@link JavaMailSender#send(MimeMessage...)} call, which reuses one SMTP
+ * connection for all messages. Failed messages are retried with exponential
+ * backoff and dead-lettered after {@code app.mail.outbox.max-attempts}.
+ *
+ * Only one node should run the dispatcher; set
+ * {@code app.mail.outbox.dispatcher-enabled=false} on the others.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.mail.outbox.dispatcher-enabled", havingValue = "true", matchIfMissing = true)
+public class EmailOutboxDispatcher {
+
+    private static final Duration MAX_BACKOFF = Duration.ofHours(1);
+
+    private final EmailOutboxRepository outboxRepo;
+    private final JavaMailSender mailSender;
+    private final String from;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration baseBackoff;
+
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong dead = new AtomicLong();
+    private final Timer sendTimer;
+    private final Timer deliveryLag;
+    private final Counter sentCounter;
+    private final Counter failedCounter;
+    private final Counter deadCounter;
+
+    public EmailOutboxDispatcher(EmailOutboxRepository outboxRepo,
+                                 JavaMailSender mailSender,
+                                 MeterRegistry registry,
+                                 @Value("${spring.mail.username:}") String from,
+                                 @Value("${app.mail.outbox.batch-size:50}") int batchSize,
+                                 @Value("${app.mail.outbox.max-attempts:5}") int maxAttempts,
+                                 @Value("${app.mail.outbox.base-backoff-ms:30000}") long baseBackoffMs) {
+        this.outboxRepo = outboxRepo;
+        this.mailSender = mailSender;
+        this.from = from;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.baseBackoff = Duration.ofMillis(baseBackoffMs);
+
+        Gauge.builder("email.outbox.depth", pending, AtomicLong::get)
+                .description("Outbox messages waiting to be sent").register(registry);
+        Gauge.builder("email.outbox.dead", dead, AtomicLong::get)
+                .description("Outbox messages that exhausted their retries").register(registry);
+        this.sendTimer = Timer.builder("email.outbox.send")
+                .description("Time to push one batch to the SMTP server")
+                .publishPercentileHistogram().register(registry);
+        this.deliveryLag = Timer.builder("email.outbox.delivery.lag")
+                .description("Time from queueing a message to handing it to the SMTP server")
+                .publishPercentileHistogram().register(registry);
+        this.sentCounter = Counter.builder("email.outbox.sent").register(registry);
+        this.failedCounter = Counter.builder("email.outbox.failed").register(registry);
+        this.deadCounter = Counter.builder("email.outbox.dead.letters").register(registry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.mail.outbox.poll-interval-ms:5000}",
+               initialDelayString = "${app.mail.outbox.poll-interval-ms:5000}")
+    public void dispatch() {
+        List<EmailOutbox> batch;
+        do {
+            batch = outboxRepo.findByStatusAndNextAttemptAtLessThanEqualOrderById(
+                    EmailOutbox.Status.PENDING, LocalDateTime.now(), Limit.of(batchSize));
+            if (!batch.isEmpty()) deliver(batch);
+        } while (batch.size() == batchSize);
+
+        pending.set(outboxRepo.countByStatus(EmailOutbox.Status.PENDING));
+        dead.set(outboxRepo.countByStatus(EmailOutbox.Status.DEAD));
+    }
+
+    private void deliver(List<EmailOutbox> batch) {
+        Map<MimeMessage, EmailOutbox> messages = new IdentityHashMap<>();
+        Map<EmailOutbox, Exception> failures = new IdentityHashMap<>();
+
+        for (EmailOutbox mail : batch) {
+            try {
+                messages.put(toMimeMessage(mail), mail);
+            } catch (MessagingException e) {
+                failures.put(mail, e);
+            }
+        }
+
+        // No DB connection is held while talking to SMTP: rows were read above and are saved below
+        if (!messages.isEmpty()) {
+            Timer.Sample sample = Timer.start();
+            try {
+                mailSender.send(messages.keySet().toArray(new MimeMessage[0]));
+            } catch (MailSendException e) {
+                e.getFailedMessages().forEach((msg, ex) -> {
+                    EmailOutbox mail = messages.get(msg);
+                    if (mail != null) failures.put(mail, ex);
+                });
+                if (e.getFailedMessages().isEmpty()) messages.values().forEach(mail -> failures.put(mail, e));
+            } catch (MailException e) {
+                messages.values().forEach(mail -> failures.put(mail, e));
+            } finally {
+                sample.stop(sendTimer);
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        for (EmailOutbox mail : batch) {
+            Exception failure = failures.get(mail);
+            if (failure == null) {
+                mail.setStatus(EmailOutbox.Status.SENT);
+                mail.setSentAt(now);
+                mail.setLastError(null);
+                sentCounter.increment();
+                if (mail.getCreatedAt() != null) deliveryLag.record(Duration.between(mail.getCreatedAt(), now));
+            } else {
+                markFailed(mail, failure, now);
+            }
+        }
+        outboxRepo.saveAll(batch);
+    }
+
+    private void markFailed(EmailOutbox mail, Exception failure, LocalDateTime now) {
+        mail.setAttempts(mail.getAttempts() + 1);
+        mail.setLastError(truncate(String.valueOf(failure.getMessage()), 1000));
+        failedCounter.increment();
+
+        if (mail.getAttempts() >= maxAttempts) {
+            mail.setStatus(EmailOutbox.Status.DEAD);
+            deadCounter.increment();
+            log.warn("Email {} to {} dead-lettered after {} attempts: {}",
+                    mail.getId(), mail.getRecipient(), mail.getAttempts(), mail.getLastError());
+            return;
+        }
+
+        Duration backoff = baseBackoff.multipliedBy(1L << Math.min(mail.getAttempts() - 1, 20));
+        if (backoff.compareTo(MAX_BACKOFF) > 0) backoff = MAX_BACKOFF;
+        mail.setNextAttemptAt(now.plus(backoff));
+    }
+
+    private MimeMessage toMimeMessage(EmailOutbox mail) throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, "UTF-8");
+        if (!from.isBlank()) helper.setFrom(from);
+        helper.setTo(mail.getRecipient());
+        helper.setSubject(mail.getSubject() == null ? "" : mail.getSubject());
+        helper.setText(mail.getBody() == null ? "" : mail.getBody());
+        return message;
+    }
+
+    private static String truncate(String s, int max) {
+        return s.length() <= max ? s : s.substring(0, max);
+    }
+}
@@ -1,20 +1,40 @@
 package com.act.backend.services;
 
+import com.act.backend.models.EmailOutbox;
+import com.act.backend.repositories.EmailOutboxRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.SimpleMailMessage;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 
+import java.sql.Timestamp;
+import java.util.List;
+
 @Service
 @RequiredArgsConstructor
 public class EmailService {
-    private final JavaMailSender mailSender;
+    private static final String INSERT =
+            "INSERT INTO email_outbox (recipient, subject, body, status, attempts, next_attempt_at, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private final EmailOutboxRepository outboxRepo;
+    private final JdbcTemplate jdbc;
 
+    // Queues the mail in the caller's transaction; EmailOutboxDispatcher delivers it once committed
     public void sendEmail(String to, String subject, String text) {
-        SimpleMailMessage msg = new SimpleMailMessage();
-        msg.setTo(to);
-        msg.setSubject(subject);
-        msg.setText(text);
-        mailSender.send(msg);
+        outboxRepo.save(EmailOutbox.pending(to, subject, text));
+    }
+
+    // Same as sendEmail for many mails, as one JDBC batch; identity ids keep Hibernate from batching saveAll
+    public void sendAll(List<EmailOutbox> mails) {
+        if (mails.isEmpty()) return;
+        jdbc.batchUpdate(INSERT, mails, mails.size(), (ps, mail) -> {
+            ps.setString(1, mail.getRecipient());
+            ps.setString(2, mail.getSubject());
+            ps.setString(3, mail.getBody());
+            ps.setString(4, mail.getStatus().name());
+            ps.setInt(5, mail.getAttempts());
+            ps.setTimestamp(6, Timestamp.valueOf(mail.getNextAttemptAt()));
+            ps.setTimestamp(7, Timestamp.valueOf(mail.getCreatedAt()));
+        });
     }
 }
@@ -0,0 +1,106 @@
+package com.act.backend.services;
+
+import com.act.backend.repositories.EventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Holds the event catalog (the EventDTO list served to students and admins)
+ * as one pre-serialized JSON snapshot. The cache is bounded to that single
+ * entry; it is rebuilt lazily after any admin write that changes events or
+ * the faculty shown on them calls {@link #invalidate()}.
+ *
+ * The ETag is a hash of the JSON bytes, so it is identical on every replica
+ * serving the same catalog and conditional GETs are answered with 304
+ * without a database round trip.
+ *
+ * {@link #invalidate()} only reaches this instance. A snapshot is therefore
+ * also reloaded once it is older than {@code app.catalog.ttl-ms}, so a
+ * write on another backend shows up here within that time. An unchanged
+ * catalog reloads to the same ETag and clients keep getting 304.
+ */
+@Component
+public class EventCatalogCache {
+
+    public record Snapshot(long version, String etag, byte[] json, long loadedAtNanos) {
+        public ResponseEntity<byte[]> toResponse() {
+            // Spring answers If-None-Match with 304 on its own once the ETag is set
+            return ResponseEntity.ok()
+                    .eTag(etag)
+                    .cacheControl(CacheControl.noCache().cachePrivate())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(json);
+        }
+    }
+
+    private final EventRepository eventRepo;
+    private final ObjectMapper objectMapper;
+    private final long ttlNanos;
+
+    private final AtomicLong version = new AtomicLong();
+    private volatile Snapshot snapshot;
+
+    public EventCatalogCache(EventRepository eventRepo,
+                             ObjectMapper objectMapper,
+                             @Value("${app.catalog.ttl-ms:5000}") long ttlMs) {
+        this.eventRepo = eventRepo;
+        this.objectMapper = objectMapper;
+        this.ttlNanos = Duration.ofMillis(ttlMs).toNanos();
+    }
+
+    public Snapshot current() {
+        Snapshot cached = snapshot;
+        if (cached != null && System.nanoTime() - cached.loadedAtNanos() < ttlNanos) return cached;
+
+        long loadingVersion = version.get();
+        Snapshot loaded = load(loadingVersion);
+        synchronized (this) {
+            // Don't publish a catalog that was read before a concurrent invalidation
+            if (version.get() == loadingVersion && (snapshot == null || snapshot == cached)) snapshot = loaded;
+        }
+        return loaded;
+    }
+
+    // Drops the snapshot now and, inside a transaction, again after commit so a
+    // reload that raced with the uncommitted write cannot survive
+    public void invalidate() {
+        evict();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict();
+                }
+            });
+        }
+    }
+
+    private synchronized void evict() {
+        version.incrementAndGet();
+        snapshot = null;
+    }
+
+    private Snapshot load(long loadingVersion) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(eventRepo.findCatalog());
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            String etag = "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+            return new Snapshot(loadingVersion, etag, json, System.nanoTime());
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Could not build event catalog", e);
+        }
+    }
+}
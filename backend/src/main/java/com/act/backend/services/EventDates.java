@@ -0,0 +1,48 @@
+package com.act.backend.services;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+// Parses the date strings admins have historically typed into events; also used by the V8 backfill migration
+public final class EventDates {
+
+    private static final List<DateTimeFormatter> DATE_FORMATS = List.of(
+            DateTimeFormatter.ISO_LOCAL_DATE,
+            DateTimeFormatter.ofPattern("dd-MM-yyyy"),
+            DateTimeFormatter.ofPattern("dd/MM/yyyy"),
+            DateTimeFormatter.ofPattern("d MMM yyyy", Locale.ENGLISH),
+            DateTimeFormatter.ofPattern("MMM d, yyyy", Locale.ENGLISH));
+
+    private EventDates() {
+    }
+
+    // A bare date means the event starts at midnight
+    public static Optional<LocalDateTime> parse(String value) {
+        if (value == null || value.isBlank()) return Optional.empty();
+        String text = value.trim();
+        try {
+            return Optional.of(LocalDateTime.parse(text));
+        } catch (DateTimeParseException ignored) {
+            // fall through to the date-only formats
+        }
+        for (DateTimeFormatter format : DATE_FORMATS) {
+            try {
+                return Optional.of(LocalDate.parse(text, format).atStartOfDay());
+            } catch (DateTimeParseException ignored) {
+                // try the next format
+            }
+        }
+        return Optional.empty();
+    }
+
+    // Events without an explicit end run to the end of their start day
+    public static LocalDateTime endOfDay(LocalDateTime start) {
+        return start.toLocalDate().atTime(LocalTime.of(23, 59, 59));
+    }
+}
@@ -1,27 +1,46 @@
 package com.act.backend.services;
 
+import com.act.backend.dto.AttendanceResultDTO;
 import com.act.backend.dto.EventDTO;
+import com.act.backend.dto.FacultyProfileDTO;
 import com.act.backend.dto.StudentAttendanceDTO;
 import com.act.backend.models.Event;
 import com.act.backend.models.Faculty;
 
+import org.springframework.data.domain.Page;
+
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 public interface FacultyService {
 
     String register(Faculty faculty);
 
-    Faculty login(String email, String password);
+    FacultyProfileDTO login(String email, String password);
+
+    FacultyProfileDTO getProfile(Long facultyId);
 
-    Faculty updateProfile(Faculty existing, Faculty updated);
+    FacultyProfileDTO updateProfile(Long facultyId, Faculty updated);
 
-    void updatePassword(Faculty faculty, String currentPassword, String newPassword);
+    void updatePassword(Long facultyId, String currentPassword, String newPassword);
 
     void setPassword(String email, String password);
 
-    List<EventDTO> getAssignedEvents(Faculty faculty);
+    List<EventDTO> getAssignedEvents(Long facultyId);
+
+    Page<EventDTO> getUpcomingEvents(Long facultyId, int page, int size);
+
+    Page<EventDTO> getPastEvents(Long facultyId, int page, int size);
+
+    Page<EventDTO> getEventsBetween(Long facultyId, LocalDate from, LocalDate to, int page, int size);
+
+    // Throws unless the event exists and is assigned to this faculty
+    Event getOwnedEvent(Long facultyId, Long eventId);
+
+    List<StudentAttendanceDTO> getStudentsByEvent(Long facultyId, Long eventId);
 
-    List<StudentAttendanceDTO> getStudentsByEvent(Faculty faculty, Long eventId);
+    void markAttendance(Long facultyId, Long eventId, Long studentId, Boolean present);
 
-    void markAttendance(Faculty faculty, Long eventId, Long studentId, Boolean present);
+    List<AttendanceResultDTO> markAttendanceBulk(Long facultyId, Long eventId, Map<Long, Boolean> attendance);
 }
@@ -1,6 +1,9 @@
 package com.act.backend.services;
 
+import com.act.backend.datasource.ReadOnlyTransaction;
+import com.act.backend.dto.AttendanceResultDTO;
 import com.act.backend.dto.EventDTO;
+import com.act.backend.dto.FacultyProfileDTO;
 import com.act.backend.dto.StudentAttendanceDTO;
 import com.act.backend.models.Event;
 import com.act.backend.models.Faculty;
@@ -11,12 +14,23 @@ import com.act.backend.repositories.FacultyRepository;
 import com.act.backend.repositories.StudentEventRepository;
 import com.act.backend.repositories.StudentRepository;
 import com.act.backend.services.FacultyService;
+import io.micrometer.core.instrument.Tags;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -26,6 +40,10 @@ public class FacultyServiceImpl implements FacultyService {
     private final EventRepository eventRepo;
     private final StudentRepository studentRepo;
     private final StudentEventRepository studentEventRepo;
+    private final AttendanceStatsService attendanceStats;
+    private final RosterBroadcaster roster;
+    private final EventCatalogCache catalogCache;
+    private final ServiceMetrics metrics;
 
     @Override
     public String register(Faculty faculty) {
@@ -36,28 +54,41 @@ public class FacultyServiceImpl implements FacultyService {
     }
 
     @Override
-    public Faculty login(String email, String password) {
-        Faculty faculty = facultyRepo.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("Invalid credentials"));
+    public FacultyProfileDTO login(String email, String password) {
+        return metrics.timed("auth.logins", Tags.of("role", "faculty"), () -> {
+            Faculty faculty = facultyRepo.findByEmail(email)
+                    .orElseThrow(() -> new RuntimeException("Invalid credentials"));
 
-        if (!faculty.isApproved()) throw new RuntimeException("Not approved yet");
-        if (faculty.getPassword() == null) throw new RuntimeException("Password not set yet");
-        if (!faculty.getPassword().equals(password)) throw new RuntimeException("Invalid credentials");
+            if (!faculty.isApproved()) throw new RuntimeException("Not approved yet");
+            if (faculty.getPassword() == null) throw new RuntimeException("Password not set yet");
+            if (!faculty.getPassword().equals(password)) throw new RuntimeException("Invalid credentials");
 
-        return faculty;
+            return new FacultyProfileDTO(faculty);
+        });
     }
 
+    // Mapped from the entity rather than a column query: a faculty is usually in the second-level cache
     @Override
-    public Faculty updateProfile(Faculty existing, Faculty updated) {
+    public FacultyProfileDTO getProfile(Long facultyId) {
+        return new FacultyProfileDTO(findFaculty(facultyId));
+    }
+
+    @Override
+    public FacultyProfileDTO updateProfile(Long facultyId, Faculty updated) {
+        Faculty existing = findFaculty(facultyId);
         existing.setName(updated.getName());
         existing.setPhone(updated.getPhone());
         existing.setDepartment(updated.getDepartment());
         existing.setGender(updated.getGender());
-        return facultyRepo.save(existing);
+        FacultyProfileDTO saved = new FacultyProfileDTO(facultyRepo.save(existing));
+        // The catalog shows the faculty's name and department
+        catalogCache.invalidate();
+        return saved;
     }
 
     @Override
-    public void updatePassword(Faculty faculty, String currentPassword, String newPassword) {
+    public void updatePassword(Long facultyId, String currentPassword, String newPassword) {
+        Faculty faculty = findFaculty(facultyId);
         if (faculty.getPassword() == null || !faculty.getPassword().equals(currentPassword))
             throw new RuntimeException("Current password incorrect");
 
@@ -73,29 +104,59 @@ public class FacultyServiceImpl implements FacultyService {
         facultyRepo.save(faculty);
     }
 
+    private Faculty findFaculty(Long facultyId) {
+        return facultyRepo.findById(facultyId)
+                .orElseThrow(() -> new RuntimeException("Faculty not found"));
+    }
+
     @Override
-    @Transactional
-    public List<EventDTO> getAssignedEvents(Faculty faculty) {
-        return faculty.getEventsAssigned().stream()
+    @ReadOnlyTransaction
+    public List<EventDTO> getAssignedEvents(Long facultyId) {
+        return eventRepo.findByFacultyId(facultyId).stream()
                 .map(e -> new EventDTO(
                         e.getId(),
                         e.getName(),
                         e.getDescription(),
                         e.getDate(),
                         e.getVenue(),
-                        faculty.getName(),
-                        faculty.getEmail(),
-                        faculty.getDepartment()
+                        e.getFaculty().getName(),
+                        e.getFaculty().getEmail(),
+                        e.getFaculty().getDepartment(),
+                        e.getCapacity(),
+                        e.getStartAt(),
+                        e.getEndAt()
                 )).toList();
     }
 
     @Override
-    public List<StudentAttendanceDTO> getStudentsByEvent(Faculty faculty, Long eventId) {
-        Event event = eventRepo.findById(eventId)
-                .orElseThrow(() -> new RuntimeException("Event not found"));
+    @ReadOnlyTransaction
+    public Page<EventDTO> getUpcomingEvents(Long facultyId, int page, int size) {
+        return eventRepo.findUpcomingForFaculty(facultyId, LocalDateTime.now(), eventPage(page, size));
+    }
 
-        if (!event.getFaculty().getId().equals(faculty.getId()))
-            throw new RuntimeException("Unauthorized access");
+    @Override
+    @ReadOnlyTransaction
+    public Page<EventDTO> getPastEvents(Long facultyId, int page, int size) {
+        return eventRepo.findPastForFaculty(facultyId, LocalDateTime.now(), eventPage(page, size));
+    }
+
+    // from and to are inclusive calendar days
+    @Override
+    @ReadOnlyTransaction
+    public Page<EventDTO> getEventsBetween(Long facultyId, LocalDate from, LocalDate to, int page, int size) {
+        if (from.isAfter(to)) throw new RuntimeException("'from' must not be after 'to'");
+        return eventRepo.findStartingBetweenForFaculty(facultyId, from.atStartOfDay(), to.plusDays(1).atStartOfDay(),
+                eventPage(page, size));
+    }
+
+    private static PageRequest eventPage(int page, int size) {
+        return PageRequest.of(Math.max(page, 0), Math.max(1, Math.min(size, 100)));
+    }
+
+    @Override
+    @ReadOnlyTransaction
+    public List<StudentAttendanceDTO> getStudentsByEvent(Long facultyId, Long eventId) {
+        Event event = ownedEvent(facultyId, eventId);
 
         return studentEventRepo.findByEvent(event).stream()
                 .map(se -> new StudentAttendanceDTO(
@@ -110,19 +171,72 @@ public class FacultyServiceImpl implements FacultyService {
 
     @Override
     @Transactional
-    public void markAttendance(Faculty faculty, Long eventId, Long studentId, Boolean present) {
-        Event event = eventRepo.findById(eventId)
-                .orElseThrow(() -> new RuntimeException("Event not found"));
+    public void markAttendance(Long facultyId, Long eventId, Long studentId, Boolean present) {
+        metrics.timed("attendance.updates", Tags.of("mode", "single"), () -> {
+            Event event = ownedEvent(facultyId, eventId);
 
-        if (!event.getFaculty().getId().equals(faculty.getId()))
-            throw new RuntimeException("Unauthorized access");
+            Student student = studentRepo.findById(studentId)
+                    .orElseThrow(() -> new RuntimeException("Student not found"));
+
+            Optional<StudentEvent> seOpt = studentEventRepo.findByStudentAndEvent(student, event);
+            if (seOpt.isEmpty()) throw new RuntimeException("Student not registered for this event");
+
+            attendanceStats.attendanceChanging(eventId, Collections.singletonMap(studentId, present));
+            studentEventRepo.updateAttendance(eventId, studentId, present);
+            roster.publish(eventId, "attendance", Collections.singletonMap(studentId, present));
+            metrics.count("attendance.marks", Tags.of("mode", "single", "status", present ? "present" : "absent"), 1);
+        });
+    }
 
-        Student student = studentRepo.findById(studentId)
-                .orElseThrow(() -> new RuntimeException("Student not found"));
+    @Override
+    @Transactional
+    public List<AttendanceResultDTO> markAttendanceBulk(Long facultyId, Long eventId, Map<Long, Boolean> attendance) {
+        return metrics.timed("attendance.updates", Tags.of("mode", "bulk"), () -> {
+            ownedEvent(facultyId, eventId);
+
+            if (attendance.isEmpty()) return List.of();
+
+            Set<Long> registered = new HashSet<>(studentEventRepo.findRegisteredStudentIds(eventId, attendance.keySet()));
+            List<Long> present = new ArrayList<>();
+            List<Long> absent = new ArrayList<>();
+            List<AttendanceResultDTO> results = new ArrayList<>();
+
+            attendance.forEach((studentId, isPresent) -> {
+                if (isPresent == null) {
+                    results.add(new AttendanceResultDTO(studentId, "INVALID"));
+                } else if (!registered.contains(studentId)) {
+                    results.add(new AttendanceResultDTO(studentId, "NOT_REGISTERED"));
+                } else {
+                    (isPresent ? present : absent).add(studentId);
+                    results.add(new AttendanceResultDTO(studentId, "UPDATED"));
+                }
+            });
+
+            Map<Long, Boolean> updates = new HashMap<>();
+            present.forEach(id -> updates.put(id, true));
+            absent.forEach(id -> updates.put(id, false));
+            attendanceStats.attendanceChanging(eventId, updates);
+
+            if (!present.isEmpty()) studentEventRepo.updateAttendanceForStudents(eventId, present, true);
+            if (!absent.isEmpty()) studentEventRepo.updateAttendanceForStudents(eventId, absent, false);
+            if (!updates.isEmpty()) roster.publish(eventId, "attendance", updates);
+            metrics.count("attendance.marks", Tags.of("mode", "bulk", "status", "present"), present.size());
+            metrics.count("attendance.marks", Tags.of("mode", "bulk", "status", "absent"), absent.size());
+            return results;
+        });
+    }
 
-        Optional<StudentEvent> seOpt = studentEventRepo.findByStudentAndEvent(student, event);
-        if (seOpt.isEmpty()) throw new RuntimeException("Student not registered for this event");
+    @Override
+    public Event getOwnedEvent(Long facultyId, Long eventId) {
+        return ownedEvent(facultyId, eventId);
+    }
 
-        studentEventRepo.updateAttendance(eventId, studentId, present);
+    private Event ownedEvent(Long facultyId, Long eventId) {
+        Event event = eventRepo.findById(eventId)
+                .orElseThrow(() -> new RuntimeException("Event not found"));
+
+        if (event.getFaculty() == null || !event.getFaculty().getId().equals(facultyId))
+            throw new RuntimeException("Unauthorized access");
+        return event;
     }
 }
@@ -0,0 +1,394 @@
+package com.act.backend.services;
+
+import com.act.backend.dto.RegistrationTicketDTO;
+import com.act.backend.dto.StudentAttendanceDTO;
+import com.act.backend.models.Event;
+import com.act.backend.repositories.EventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Queued registration intake, for registration-open spikes. Enabled with
+ * {@code app.registration.queue.enabled}; otherwise students register
+ * directly through {@link StudentService#registerEvent}.
+ *
+ * A request is accepted with a ticket as soon as it fits in its event's
+ * bounded queue ({@code app.registration.queue.capacity-per-event}). When
+ * the queue is full, {@link #submit} returns nothing and the caller answers
+ * 429, so the rush waits in clients instead of in the connection pool. A
+ * student's repeated request for the same event gets the ticket already in
+ * flight rather than another place in the queue.
+ *
+ * Queues exist only for events that exist, and only while they have
+ * requests: an idle queue is dropped once drained.
+ *
+ * Each event's queue is drained by a virtual thread while it has requests.
+ * Everything queued by then, up to {@code app.registration.queue.batch-size},
+ * is admitted in one transaction: the event row is locked once, seats are
+ * granted in queue order, and the registrations go in as one JDBC batch,
+ * which MySQL receives as a multi-row insert with rewriteBatchedStatements.
+ * At most {@code app.registration.queue.workers} batches hold a connection at
+ * a time. Outcomes are set on the tickets after commit; clients poll them or
+ * follow them over Server-Sent Events.
+ *
+ * Queues and tickets live in this instance only. Behind a load balancer,
+ * ticket lookups must reach the node that issued the ticket.
+ */
+@Slf4j
+@Component
+public class RegistrationQueue {
+
+    public enum Status { QUEUED, REGISTERED, REJECTED }
+
+    public static final String REGISTERED = "Event registered successfully";
+
+    private static final String INSERT = "INSERT INTO student_event (event_id, student_id) VALUES (?, ?)";
+
+    private record Request(long studentId, long eventId) {
+    }
+
+    public final class Ticket {
+        private final String id = UUID.randomUUID().toString();
+        private final long studentId;
+        private final long eventId;
+        private final List<SseEmitter> watchers = new ArrayList<>();
+        private Status status = Status.QUEUED;
+        private String message;
+        private Instant completedAt;
+
+        private Ticket(long studentId, long eventId) {
+            this.studentId = studentId;
+            this.eventId = eventId;
+        }
+
+        public String id() {
+            return id;
+        }
+
+        public synchronized RegistrationTicketDTO toDTO() {
+            return new RegistrationTicketDTO(id, eventId, status.name(), message);
+        }
+
+        private void complete(String outcome) {
+            inFlight.remove(new Request(studentId, eventId), this);
+            List<SseEmitter> notify;
+            RegistrationTicketDTO dto;
+            synchronized (this) {
+                status = REGISTERED.equals(outcome) ? Status.REGISTERED : Status.REJECTED;
+                message = outcome;
+                completedAt = Instant.now();
+                notify = List.copyOf(watchers);
+                watchers.clear();
+                dto = toDTO();
+            }
+            notify.forEach(emitter -> workers.execute(() -> sendOutcome(emitter, dto)));
+        }
+
+        private SseEmitter watch() {
+            SseEmitter emitter = new SseEmitter(streamTimeoutMs);
+            synchronized (this) {
+                if (status == Status.QUEUED) {
+                    watchers.add(emitter);
+                    emitter.onTimeout(() -> unwatch(emitter));
+                    emitter.onError(e -> unwatch(emitter));
+                    return emitter;
+                }
+            }
+            sendOutcome(emitter, toDTO());
+            return emitter;
+        }
+
+        private synchronized void unwatch(SseEmitter emitter) {
+            watchers.remove(emitter);
+        }
+
+        private synchronized boolean expiredBefore(Instant cutoff) {
+            return completedAt != null && completedAt.isBefore(cutoff);
+        }
+    }
+
+    private final class Intake {
+        final long eventId;
+        final BlockingQueue<Ticket> queue;
+        final AtomicBoolean draining = new AtomicBoolean();
+
+        // Linked rather than array-backed: a quiet event's queue costs nothing up front
+        Intake(long eventId) {
+            this.eventId = eventId;
+            this.queue = new LinkedBlockingQueue<>(capacityPerEvent);
+        }
+
+        boolean offer(Ticket ticket) {
+            depth.incrementAndGet();
+            if (!queue.offer(ticket)) {
+                depth.decrementAndGet();
+                return false;
+            }
+            if (draining.compareAndSet(false, true)) workers.execute(this::drain);
+            return true;
+        }
+
+        private void drain() {
+            do {
+                List<Ticket> batch = new ArrayList<>(batchSize);
+                while (queue.drainTo(batch, batchSize) > 0) {
+                    depth.addAndGet(-batch.size());
+                    process(eventId, batch);
+                    batch = new ArrayList<>(batchSize);
+                }
+                draining.set(false);
+                // A request offered after the last drainTo but before the flag was cleared would otherwise wait
+            } while (!queue.isEmpty() && draining.compareAndSet(false, true));
+            // Offers happen inside compute on the same key, so none can land between the check and the removal
+            intakes.computeIfPresent(eventId, (id, intake) ->
+                    intake == this && queue.isEmpty() && !draining.get() ? null : intake);
+        }
+    }
+
+    private final JdbcTemplate jdbc;
+    private final NamedParameterJdbcTemplate namedJdbc;
+    private final TransactionTemplate transactionTemplate;
+    private final AttendanceStatsService attendanceStats;
+    private final RosterBroadcaster roster;
+    private final StudentService studentService;
+    private final EventRepository eventRepo;
+    private final EntityManagerFactory entityManagerFactory;
+    private final ServiceMetrics metrics;
+    private final boolean enabled;
+    private final int capacityPerEvent;
+    private final int batchSize;
+    private final Duration ticketTtl;
+    private final long streamTimeoutMs;
+
+    private final Map<Long, Intake> intakes = new ConcurrentHashMap<>();
+    private final Map<String, Ticket> tickets = new ConcurrentHashMap<>();
+    private final Map<Request, Ticket> inFlight = new ConcurrentHashMap<>();
+    private final AtomicInteger depth = new AtomicInteger();
+    private final Semaphore batchPermits;
+    private final ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor();
+    private final Counter rejected;
+    private final DistributionSummary batchSizes;
+
+    public RegistrationQueue(JdbcTemplate jdbc,
+                             NamedParameterJdbcTemplate namedJdbc,
+                             TransactionTemplate transactionTemplate,
+                             AttendanceStatsService attendanceStats,
+                             RosterBroadcaster roster,
+                             StudentService studentService,
+                             EventRepository eventRepo,
+                             EntityManagerFactory entityManagerFactory,
+                             ServiceMetrics metrics,
+                             MeterRegistry registry,
+                             @Value("${app.registration.queue.enabled:false}") boolean enabled,
+                             @Value("${app.registration.queue.capacity-per-event:2000}") int capacityPerEvent,
+                             @Value("${app.registration.queue.batch-size:200}") int batchSize,
+                             @Value("${app.registration.queue.workers:4}") int workers,
+                             @Value("${app.registration.queue.ticket-ttl-ms:600000}") long ticketTtlMs,
+                             @Value("${app.registration.queue.stream-timeout-ms:60000}") long streamTimeoutMs) {
+        this.jdbc = jdbc;
+        this.namedJdbc = namedJdbc;
+        this.transactionTemplate = transactionTemplate;
+        this.attendanceStats = attendanceStats;
+        this.roster = roster;
+        this.studentService = studentService;
+        this.eventRepo = eventRepo;
+        this.entityManagerFactory = entityManagerFactory;
+        this.metrics = metrics;
+        this.enabled = enabled;
+        this.capacityPerEvent = capacityPerEvent;
+        this.batchSize = batchSize;
+        this.ticketTtl = Duration.ofMillis(ticketTtlMs);
+        this.streamTimeoutMs = streamTimeoutMs;
+        this.batchPermits = new Semaphore(workers);
+
+        Gauge.builder("registration.queue.depth", depth, AtomicInteger::get)
+                .description("Registration requests accepted but not yet admitted").register(registry);
+        Gauge.builder("registration.queue.events", intakes, Map::size)
+                .description("Events with a registration queue in memory").register(registry);
+        this.rejected = Counter.builder("registration.queue.rejected")
+                .description("Registration requests turned away with 429 because their event's queue was full")
+                .register(registry);
+        this.batchSizes = DistributionSummary.builder("registration.queue.batch.size")
+                .description("Registration requests admitted per transaction").register(registry);
+    }
+
+    public boolean enabled() {
+        return enabled;
+    }
+
+    // Empty when the event's queue is full; NoSuchElementException for an unknown event and
+    // RejectedExecutionException once the application is shutting down. The event lookup is served
+    // by the second-level cache during a rush
+    public Optional<Ticket> submit(long studentId, long eventId) {
+        if (workers.isShutdown()) throw new RejectedExecutionException("Registration queue is shutting down");
+        if (eventRepo.findById(eventId).isEmpty()) throw new NoSuchElementException("Event not found");
+
+        Ticket ticket = new Ticket(studentId, eventId);
+        Request request = new Request(studentId, eventId);
+        Ticket pending = inFlight.putIfAbsent(request, ticket);
+        if (pending != null) return Optional.of(pending);
+
+        tickets.put(ticket.id(), ticket);
+        boolean[] accepted = new boolean[1];
+        intakes.compute(eventId, (id, intake) -> {
+            Intake target = intake != null ? intake : new Intake(id);
+            accepted[0] = target.offer(ticket);
+            return target;
+        });
+        if (!accepted[0]) {
+            tickets.remove(ticket.id());
+            inFlight.remove(request, ticket);
+            rejected.increment();
+            return Optional.empty();
+        }
+        return Optional.of(ticket);
+    }
+
+    // Only the student who queued the request can see its ticket
+    public Optional<Ticket> ticket(String id, long studentId) {
+        return Optional.ofNullable(tickets.get(id)).filter(t -> t.studentId == studentId);
+    }
+
+    // Sends one "outcome" event, at once if the ticket is already decided, and completes
+    public SseEmitter watch(Ticket ticket) {
+        return ticket.watch();
+    }
+
+    private void process(long eventId, List<Ticket> batch) {
+        batchSizes.record(batch.size());
+        Map<Ticket, String> outcomes;
+        try {
+            batchPermits.acquireUninterruptibly();
+            try {
+                outcomes = metrics.timed("registration.queue.batches", Tags.empty(),
+                        () -> transactionTemplate.execute(status -> admit(eventId, batch)));
+            } finally {
+                batchPermits.release();
+            }
+            entityManagerFactory.getCache().evict(Event.class, eventId);
+        } catch (RuntimeException e) {
+            // Typically a registration committed elsewhere after the duplicate check; the direct path sorts it out
+            log.warn("Queued registration batch for event {} failed, retrying one by one: {}", eventId, e.toString());
+            outcomes = new LinkedHashMap<>();
+            for (Ticket ticket : batch) outcomes.put(ticket, registerDirectly(ticket));
+        }
+        outcomes.forEach((ticket, outcome) -> {
+            metrics.count("registration.queue.outcomes", Tags.of("outcome", ServiceMetrics.outcome(outcome)), 1);
+            ticket.complete(outcome);
+        });
+    }
+
+    private Map<Ticket, String> admit(long eventId, List<Ticket> batch) {
+        Map<Ticket, String> outcomes = new LinkedHashMap<>();
+        List<int[]> seats = jdbc.query("SELECT capacity, seats_taken FROM event WHERE id = ? FOR UPDATE",
+                (rs, i) -> {
+                    int capacity = rs.getInt(1);
+                    return new int[] {rs.wasNull() ? Integer.MAX_VALUE : capacity, rs.getInt(2)};
+                }, eventId);
+        if (seats.isEmpty()) {
+            batch.forEach(t -> outcomes.put(t, "Event not found"));
+            return outcomes;
+        }
+        int free = Math.max(0, seats.get(0)[0] - seats.get(0)[1]);
+
+        Map<String, Object> params = Map.of("eventId", eventId,
+                "ids", batch.stream().map(t -> t.studentId).distinct().toList());
+        Set<Long> registered = new HashSet<>(namedJdbc.queryForList(
+                "SELECT student_id FROM student_event WHERE event_id = :eventId AND student_id IN (:ids)", params, Long.class));
+        Map<Long, StudentAttendanceDTO> students = new HashMap<>();
+        namedJdbc.query("SELECT id, name, email, phone, department FROM student WHERE id IN (:ids)", params, rs -> {
+            students.put(rs.getLong(1), new StudentAttendanceDTO(rs.getLong(1), rs.getString(2), rs.getString(3),
+                    rs.getString(4), rs.getString(5), null));
+        });
+
+        // Same checks, in the same order, as the direct path; a repeat within the batch counts as registered
+        List<Long> admitted = new ArrayList<>();
+        for (Ticket ticket : batch) {
+            String outcome;
+            if (admitted.size() == free) outcome = "Event is full";
+            else if (!students.containsKey(ticket.studentId)) outcome = "Student not found";
+            else if (!registered.add(ticket.studentId)) outcome = "Already registered";
+            else {
+                admitted.add(ticket.studentId);
+                outcome = REGISTERED;
+            }
+            outcomes.put(ticket, outcome);
+        }
+        if (admitted.isEmpty()) return outcomes;
+
+        jdbc.update("UPDATE event SET seats_taken = seats_taken + ? WHERE id = ?", admitted.size(), eventId);
+        jdbc.batchUpdate(INSERT, admitted, admitted.size(), (ps, studentId) -> {
+            ps.setLong(1, eventId);
+            ps.setLong(2, studentId);
+        });
+        attendanceStats.registered(eventId, admitted);
+        if (roster.hasSubscribers(eventId)) admitted.forEach(id -> roster.publish(eventId, "registered", students.get(id)));
+        return outcomes;
+    }
+
+    private String registerDirectly(Ticket ticket) {
+        try {
+            return studentService.registerEvent(ticket.studentId, ticket.eventId);
+        } catch (RuntimeException e) {
+            return e.getClass() == RuntimeException.class ? e.getMessage() : "Registration failed";
+        }
+    }
+
+    private static void sendOutcome(SseEmitter emitter, RegistrationTicketDTO ticket) {
+        try {
+            emitter.send(SseEmitter.event().name("outcome").data(ticket, MediaType.APPLICATION_JSON));
+            emitter.complete();
+        } catch (IOException | IllegalStateException e) {
+            // Client went away or the emitter timed out
+        }
+    }
+
+    // Decided tickets are kept for polling for app.registration.queue.ticket-ttl-ms
+    @Scheduled(fixedDelayString = "${app.registration.queue.ticket-sweep-ms:60000}")
+    public void expireTickets() {
+        Instant cutoff = Instant.now().minus(ticketTtl);
+        tickets.values().removeIf(t -> t.expiredBefore(cutoff));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        workers.shutdown();
+    }
+}
@@ -0,0 +1,195 @@
+package com.act.backend.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Live roster deltas for an event over Server-Sent Events. Writers publish
+ * "registered", "unregistered" and "attendance" changes; they are delivered
+ * after the transaction commits, so a rolled-back registration is never seen.
+ *
+ * Each payload is serialized once and queued for every subscriber of the
+ * event. A subscriber has a bounded queue drained by a virtual thread only
+ * while there is something to send, so an idle connection holds no thread,
+ * and a client that falls {@code app.sse.queue-capacity} messages behind is
+ * disconnected instead of buffering without limit. Browsers reconnect on
+ * their own and receive a fresh "connected" event to trigger a re-fetch.
+ */
+@Slf4j
+@Component
+public class RosterBroadcaster {
+
+    private record Message(String id, String name, String data) {
+    }
+
+    private final class Subscriber {
+        final long eventId;
+        final SseEmitter emitter;
+        final Queue<Message> queue;
+        final AtomicBoolean draining = new AtomicBoolean();
+        final AtomicBoolean closed = new AtomicBoolean();
+
+        Subscriber(long eventId, SseEmitter emitter) {
+            this.eventId = eventId;
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        }
+
+        void offer(Message message) {
+            if (closed.get()) return;
+            if (!queue.offer(message)) {
+                log.debug("Dropping slow roster subscriber for event {}", eventId);
+                close();
+                emitter.complete();
+                return;
+            }
+            if (draining.compareAndSet(false, true)) senders.execute(this::drain);
+        }
+
+        private void drain() {
+            do {
+                Message message;
+                while ((message = queue.poll()) != null) {
+                    if (closed.get()) return;
+                    try {
+                        SseEmitter.SseEventBuilder event = message.name() == null
+                                ? SseEmitter.event().comment(message.data())
+                                : SseEmitter.event().id(message.id()).name(message.name()).data(message.data());
+                        emitter.send(event);
+                    } catch (IOException | IllegalStateException e) {
+                        // Client went away or the emitter already completed
+                        close();
+                        return;
+                    }
+                }
+                draining.set(false);
+                // A message offered after the poll above but before the flag was cleared would otherwise wait
+            } while (!queue.isEmpty() && draining.compareAndSet(false, true));
+        }
+
+        void close() {
+            if (!closed.compareAndSet(false, true)) return;
+            subscriberCount.decrementAndGet();
+            subscribers.computeIfPresent(eventId, (id, set) -> {
+                set.remove(this);
+                return set.isEmpty() ? null : set;
+            });
+        }
+    }
+
+    private final ObjectMapper objectMapper;
+    private final long timeoutMs;
+    private final int queueCapacity;
+    private final int maxSubscribers;
+
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final AtomicLong sequence = new AtomicLong();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+
+    public RosterBroadcaster(ObjectMapper objectMapper,
+                             @Value("${app.sse.timeout-ms:1800000}") long timeoutMs,
+                             @Value("${app.sse.queue-capacity:256}") int queueCapacity,
+                             @Value("${app.sse.max-subscribers:5000}") int maxSubscribers) {
+        this.objectMapper = objectMapper;
+        this.timeoutMs = timeoutMs;
+        this.queueCapacity = queueCapacity;
+        this.maxSubscribers = maxSubscribers;
+    }
+
+    public SseEmitter subscribe(long eventId) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new RuntimeException("Too many live connections");
+        }
+        SseEmitter emitter = newEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(eventId, emitter);
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(e -> subscriber.close());
+        // Added under the map's per-key lock so a concurrent close() cannot drop the set in between;
+        // a subscriber already closed by its emitter is not added at all
+        subscribers.compute(eventId, (id, set) -> {
+            if (set == null) set = ConcurrentHashMap.newKeySet();
+            if (!subscriber.closed.get()) set.add(subscriber);
+            return set.isEmpty() ? null : set;
+        });
+
+        subscriber.offer(new Message(Long.toString(sequence.incrementAndGet()), "connected", "{}"));
+        return emitter;
+    }
+
+    // Package-private so tests can stand in a client that never reads
+    SseEmitter newEmitter(long timeoutMs) {
+        return new SseEmitter(timeoutMs);
+    }
+
+    // Lets writers skip building a payload nobody is listening for
+    public boolean hasSubscribers(long eventId) {
+        return subscribers.containsKey(eventId);
+    }
+
+    public int subscriberCount() {
+        return subscriberCount.get();
+    }
+
+    public void publish(long eventId, String name, Object payload) {
+        if (!hasSubscribers(eventId)) return;
+        String data;
+        try {
+            data = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize roster update", e);
+        }
+        Message message = new Message(Long.toString(sequence.incrementAndGet()), name, data);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    deliver(eventId, message);
+                }
+            });
+        } else {
+            deliver(eventId, message);
+        }
+    }
+
+    private void deliver(long eventId, Message message) {
+        Set<Subscriber> targets = subscribers.get(eventId);
+        if (targets != null) targets.forEach(s -> s.offer(message));
+    }
+
+    // Keeps proxies from closing quiet streams and finds connections that died without a FIN
+    @Scheduled(fixedDelayString = "${app.sse.heartbeat-ms:25000}")
+    public void heartbeat() {
+        Message ping = new Message(null, null, "ping");
+        subscribers.values().forEach(set -> set.forEach(s -> s.offer(ping)));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        subscribers.values().forEach(set -> set.forEach(s -> s.emitter.complete()));
+        senders.shutdownNow();
+    }
+}
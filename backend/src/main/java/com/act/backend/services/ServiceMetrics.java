@@ -0,0 +1,71 @@
+package com.act.backend.services;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Timers for business operations, tagged with an {@code outcome}: "success",
+ * the rejection reason for a service's own {@code RuntimeException} (its
+ * message as a tag value, e.g. "event_is_full"), or "error" for anything
+ * else. Services only throw constant messages, which keeps the tag values
+ * bounded. Every timer publishes a histogram so dashboards can chart p99.
+ */
+@Component
+public class ServiceMetrics {
+
+    private static final String SUCCESS = "success";
+
+    private final MeterRegistry registry;
+
+    public ServiceMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    public <T> T timed(String name, Tags tags, Supplier<T> operation) {
+        return timed(name, tags, operation, result -> SUCCESS);
+    }
+
+    public void timed(String name, Tags tags, Runnable operation) {
+        timed(name, tags, () -> {
+            operation.run();
+            return null;
+        });
+    }
+
+    // For operations that report failure through their result rather than by throwing
+    public <T> T timed(String name, Tags tags, Supplier<T> operation, Function<T, String> outcome) {
+        Timer.Sample sample = Timer.start(registry);
+        String result = "error";
+        try {
+            T value = operation.get();
+            result = outcome.apply(value);
+            return value;
+        } catch (RuntimeException e) {
+            result = outcome(e);
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(name).tags(tags).tag("outcome", result)
+                    .publishPercentileHistogram().register(registry));
+        }
+    }
+
+    public void count(String name, Tags tags, long amount) {
+        if (amount > 0) registry.counter(name, tags).increment(amount);
+    }
+
+    private static String outcome(RuntimeException e) {
+        if (e.getClass() != RuntimeException.class || e.getMessage() == null) return "error";
+        return outcome(e.getMessage());
+    }
+
+    // The tag value for a rejection message, for callers that count outcomes themselves
+    static String outcome(String message) {
+        return message.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]+", "_").replaceAll("^_|_$", "");
+    }
+}
@@ -0,0 +1,168 @@
+package com.act.backend.services;
+
+import com.act.backend.dto.ImportReportDTO;
+import com.act.backend.dto.StudentImportRow;
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Bulk student onboarding. The upload is parsed one record at a time and
+ * handled in chunks: each chunk costs one set-based email lookup and one
+ * JDBC batch insert, instead of a findByEmail and an IDENTITY insert per
+ * student. Bad rows are reported individually and never stop the import.
+ */
+@Service
+@RequiredArgsConstructor
+public class StudentImportService {
+
+    public enum Format { CSV, JSON_LINES }
+
+    private static final int CHUNK_SIZE = 1000;
+    private static final int MAX_REPORTED_ERRORS = 1000;
+    private static final Pattern EMAIL = Pattern.compile("^[^@\\s]+@[^@\\s]+\\.[^@\\s]+$");
+
+    private static final String INSERT =
+            "INSERT INTO student (name, email, phone, gender, department, password) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final ObjectReader CSV_READER = new CsvMapper()
+            .enable(CsvParser.Feature.TRIM_SPACES)
+            .enable(CsvParser.Feature.SKIP_EMPTY_LINES)
+            .readerFor(StudentImportRow.class)
+            .with(CsvSchema.emptySchema().withHeader());
+
+    private record Pending(long row, String email, StudentImportRow data) {
+    }
+
+    private final JdbcTemplate jdbc;
+    private final NamedParameterJdbcTemplate namedJdbc;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    public ImportReportDTO importStudents(InputStream in, Format format) {
+        ImportReportDTO report = new ImportReportDTO();
+        Map<String, Long> firstRowByEmail = new HashMap<>();
+        List<Pending> chunk = new ArrayList<>(CHUNK_SIZE);
+        ObjectReader reader = format == Format.CSV ? CSV_READER : objectMapper.readerFor(StudentImportRow.class);
+
+        try (MappingIterator<StudentImportRow> rows = reader.readValues(in)) {
+            long rowNo = 0;
+            while (true) {
+                StudentImportRow row;
+                JsonLocation before = rows.getCurrentLocation();
+                try {
+                    if (!rows.hasNextValue()) break;
+                    rowNo++;
+                    row = rows.nextValue();
+                } catch (IOException | RuntimeException e) {
+                    fail(report, rowNo, null, "Unreadable row: " + e.getMessage());
+                    // Stop if the parser cannot get past the broken input
+                    if (before != null && before.equals(rows.getCurrentLocation())) break;
+                    continue;
+                }
+
+                String email = row.getEmail() == null ? "" : row.getEmail().trim().toLowerCase(Locale.ROOT);
+                String error = validate(row, email);
+                if (error == null) {
+                    Long first = firstRowByEmail.putIfAbsent(email, rowNo);
+                    if (first != null) error = "Duplicate email in upload (first on row " + first + ")";
+                }
+                if (error != null) {
+                    fail(report, rowNo, email, error);
+                    continue;
+                }
+
+                chunk.add(new Pending(rowNo, email, row));
+                if (chunk.size() == CHUNK_SIZE) {
+                    flush(chunk, report);
+                    chunk.clear();
+                }
+            }
+            report.setTotalRows(rowNo);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        flush(chunk, report);
+        return report;
+    }
+
+    private static String validate(StudentImportRow row, String email) {
+        if (row.getName() == null || row.getName().isBlank()) return "Name is required";
+        if (!EMAIL.matcher(email).matches()) return "Invalid email";
+        if (row.getPassword() == null || row.getPassword().isBlank()) return "Password is required";
+        return null;
+    }
+
+    private void flush(List<Pending> chunk, ImportReportDTO report) {
+        if (chunk.isEmpty()) return;
+
+        List<String> emails = chunk.stream().map(Pending::email).toList();
+        Set<String> existing = new HashSet<>();
+        namedJdbc.queryForList("SELECT email FROM student WHERE email IN (:emails)", Map.of("emails", emails), String.class)
+                .forEach(e -> existing.add(e.toLowerCase(Locale.ROOT)));
+
+        List<Pending> fresh = new ArrayList<>(chunk.size());
+        for (Pending p : chunk) {
+            if (existing.contains(p.email())) fail(report, p.row(), p.email(), "Email already registered");
+            else fresh.add(p);
+        }
+        if (fresh.isEmpty()) return;
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbc.batchUpdate(INSERT, fresh, fresh.size(),
+                    StudentImportService::bind));
+            report.setImported(report.getImported() + fresh.size());
+        } catch (DuplicateKeyException e) {
+            // Someone signed up with one of these emails after the lookup; retry row by row to find out who
+            for (Pending p : fresh) {
+                try {
+                    jdbc.update(INSERT, ps -> bind(ps, p));
+                    report.setImported(report.getImported() + 1);
+                } catch (DuplicateKeyException dup) {
+                    fail(report, p.row(), p.email(), "Email already registered");
+                }
+            }
+        }
+    }
+
+    private static void bind(PreparedStatement ps, Pending p) throws SQLException {
+        StudentImportRow d = p.data();
+        ps.setString(1, d.getName().trim());
+        ps.setString(2, p.email());
+        ps.setString(3, d.getPhone());
+        ps.setString(4, d.getGender());
+        ps.setString(5, d.getDepartment());
+        ps.setString(6, d.getPassword());
+    }
+
+    private static void fail(ImportReportDTO report, long row, String email, String error) {
+        report.setFailed(report.getFailed() + 1);
+        if (report.getErrors().size() < MAX_REPORTED_ERRORS) {
+            report.getErrors().add(new ImportReportDTO.RowError(row, email, error));
+        }
+    }
+}
@@ -1,32 +1,36 @@
 package com.act.backend.services;
 
 import com.act.backend.dto.EventDTO;
+import com.act.backend.dto.StudentEventCountDTO;
+import com.act.backend.dto.StudentProfileDTO;
 import com.act.backend.models.Student;
-import jakarta.servlet.http.HttpSession;
+import org.springframework.data.domain.Page;
 
+import java.time.LocalDate;
 import java.util.List;
-import java.util.Map;
 
 public interface StudentService {
 
     // Authentication
     String signup(Student student);
-    String login(String email, String password, HttpSession session);
-    void logout(HttpSession session);
+    Student login(String email, String password);
 
     // Profile
-    Student updateOwnProfile(HttpSession session, Student updatedStudent);
-    String updatePassword(HttpSession session, String oldPassword, String newPassword);
-    Student getProfile(HttpSession session);
+    StudentProfileDTO updateOwnProfile(Long studentId, Student updatedStudent);
+    String updatePassword(Long studentId, String oldPassword, String newPassword);
+    StudentProfileDTO getProfile(Long studentId);
 
     // Event registration
-    String registerEvent(HttpSession session, Long eventId);
-    String unregisterEvent(HttpSession session, Long eventId);
+    String registerEvent(Long studentId, Long eventId);
+    String unregisterEvent(Long studentId, Long eventId);
     List<EventDTO> getAllEvents();
-    List<EventDTO> getRegisteredEvents(HttpSession session);
-    Boolean getAttendance(HttpSession session, Long eventId);
+    Page<EventDTO> getUpcomingEvents(int page, int size);
+    Page<EventDTO> getPastEvents(int page, int size);
+    Page<EventDTO> getEventsBetween(LocalDate from, LocalDate to, int page, int size);
+    List<EventDTO> getRegisteredEvents(Long studentId);
+    Boolean getAttendance(Long studentId, Long eventId);
 
     // Admin utilities
-    Student updateStudent(Long id, Student updatedStudent);
-    List<Map<String, Object>> getAllStudentsWithEventCount();
+    StudentProfileDTO updateStudent(Long id, Student updatedStudent);
+    Page<StudentEventCountDTO> getStudentsWithEventCount(int page, int size, boolean mostActiveFirst);
 }
@@ -1,6 +1,10 @@
 package com.act.backend.services;
 
+import com.act.backend.datasource.ReadOnlyTransaction;
 import com.act.backend.dto.EventDTO;
+import com.act.backend.dto.StudentAttendanceDTO;
+import com.act.backend.dto.StudentEventCountDTO;
+import com.act.backend.dto.StudentProfileDTO;
 import com.act.backend.models.Event;
 import com.act.backend.models.Student;
 import com.act.backend.models.StudentEvent;
@@ -8,10 +12,20 @@ import com.act.backend.repositories.EventRepository;
 import com.act.backend.repositories.StudentRepository;
 import com.act.backend.repositories.StudentEventRepository;
 import com.act.backend.services.StudentService;
-import jakarta.servlet.http.HttpSession;
+import io.micrometer.core.instrument.Tags;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.*;
 
 @Service
@@ -21,6 +35,10 @@ public class StudentServiceImpl implements StudentService {
     private final StudentRepository studentRepo;
     private final EventRepository eventRepo;
     private final StudentEventRepository studentEventRepo;
+    private final AttendanceStatsService attendanceStats;
+    private final RosterBroadcaster roster;
+    private final ServiceMetrics metrics;
+    private final EntityManagerFactory entityManagerFactory;
 
     // ---------------- AUTH ----------------
 
@@ -33,55 +51,44 @@ public class StudentServiceImpl implements StudentService {
     }
 
     @Override
-    public String login(String email, String password, HttpSession session) {
-        Student student = studentRepo.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("Invalid credentials"));
+    public Student login(String email, String password) {
+        return metrics.timed("auth.logins", Tags.of("role", "student"), () -> {
+            Student student = studentRepo.findByEmail(email)
+                    .orElseThrow(() -> new RuntimeException("Invalid credentials"));
 
-        if (!student.getPassword().equals(password))
-            throw new RuntimeException("Invalid credentials");
+            if (!student.getPassword().equals(password))
+                throw new RuntimeException("Invalid credentials");
 
-        session.setAttribute("student", student);
-        return "Login successful";
-    }
-
-    @Override
-    public void logout(HttpSession session) {
-        session.invalidate();
+            return student;
+        });
     }
 
     // ---------------- PROFILE ----------------
 
     @Override
-    public Student getProfile(HttpSession session) {
-        Student s = (Student) session.getAttribute("student");
-        if (s == null) throw new RuntimeException("Unauthorized");
-        return s;
+    public StudentProfileDTO getProfile(Long studentId) {
+        return studentRepo.findProfileById(studentId)
+                .orElseThrow(() -> new RuntimeException("Student not found"));
     }
 
     @Override
-    public Student updateOwnProfile(HttpSession session, Student updatedStudent) {
-        Student s = (Student) session.getAttribute("student");
-        if (s == null) throw new RuntimeException("Unauthorized");
-
-        Student student = studentRepo.findById(s.getId())
+    @Transactional
+    public StudentProfileDTO updateOwnProfile(Long studentId, Student updatedStudent) {
+        Student student = studentRepo.findById(studentId)
                 .orElseThrow(() -> new RuntimeException("Student not found"));
+        attendanceStats.departmentChanging(studentId, student.getDepartment(), updatedStudent.getDepartment());
 
         student.setName(updatedStudent.getName());
         student.setPhone(updatedStudent.getPhone());
         student.setDepartment(updatedStudent.getDepartment());
         student.setGender(updatedStudent.getGender());
 
-        Student saved = studentRepo.save(student);
-        session.setAttribute("student", saved);
-        return saved;
+        return new StudentProfileDTO(studentRepo.save(student));
     }
 
     @Override
-    public String updatePassword(HttpSession session, String oldPassword, String newPassword) {
-        Student s = (Student) session.getAttribute("student");
-        if (s == null) throw new RuntimeException("Unauthorized");
-
-        Student student = studentRepo.findById(s.getId())
+    public String updatePassword(Long studentId, String oldPassword, String newPassword) {
+        Student student = studentRepo.findById(studentId)
                 .orElseThrow(() -> new RuntimeException("Student not found"));
 
         if (!student.getPassword().equals(oldPassword))
@@ -89,68 +96,112 @@ public class StudentServiceImpl implements StudentService {
 
         student.setPassword(newPassword);
         studentRepo.save(student);
-        session.setAttribute("student", student);
         return "Password updated successfully";
     }
 
     // ---------------- EVENT ----------------
 
+    // Seat and duplicate checks are enforced by the database, not by check-then-insert:
+    // the conditional seat update fails when the event is full and uk_student_event
+    // rejects a second registration. Either failure rolls the whole transaction back.
     @Override
-    public String registerEvent(HttpSession session, Long eventId) {
-        Student s = (Student) session.getAttribute("student");
-        if (s == null) throw new RuntimeException("Unauthorized");
-
-        Event e = eventRepo.findById(eventId)
-                .orElseThrow(() -> new RuntimeException("Event not found"));
-
-        if (studentEventRepo.existsByStudentAndEvent(s, e))
-            throw new RuntimeException("Already registered");
-
-        StudentEvent se = new StudentEvent();
-        se.setStudent(s);
-        se.setEvent(e);
-        se.setAttendance(null);
-        studentEventRepo.save(se);
+    @Transactional
+    public String registerEvent(Long studentId, Long eventId) {
+        return metrics.timed("event.registrations", Tags.empty(), () -> {
+            if (eventRepo.takeSeat(eventId) == 0) {
+                if (!eventRepo.existsById(eventId)) throw new RuntimeException("Event not found");
+                throw new RuntimeException("Event is full");
+            }
+            evictSeatsAfterCommit(eventId);
+
+            StudentEvent se = new StudentEvent();
+            se.setStudent(studentRepo.getReferenceById(studentId));
+            se.setEvent(eventRepo.getReferenceById(eventId));
+            se.setAttendance(null);
+            try {
+                studentEventRepo.save(se);
+            } catch (DataIntegrityViolationException ex) {
+                if (isDuplicateRegistration(ex)) throw new RuntimeException("Already registered");
+                throw ex;
+            }
+            attendanceStats.registered(eventId, studentId);
+            if (roster.hasSubscribers(eventId)) {
+                Student s = studentRepo.getReferenceById(studentId);
+                roster.publish(eventId, "registered", new StudentAttendanceDTO(
+                        s.getId(), s.getName(), s.getEmail(), s.getPhone(), s.getDepartment(), null));
+            }
+
+            return "Event registered successfully";
+        });
+    }
 
-        return "Event registered successfully";
+    // Only uk_student_event means a second registration; a missing student or event is a different failure
+    private static boolean isDuplicateRegistration(DataIntegrityViolationException ex) {
+        for (Throwable t = ex; t != null; t = t.getCause()) {
+            if (t instanceof ConstraintViolationException violation && violation.getConstraintName() != null
+                    && violation.getConstraintName().toLowerCase(Locale.ROOT).contains("uk_student_event")) return true;
+        }
+        return false;
     }
 
     @Override
-    public String unregisterEvent(HttpSession session, Long eventId) {
-        Student s = (Student) session.getAttribute("student");
-        if (s == null) throw new RuntimeException("Unauthorized");
+    @Transactional
+    public String unregisterEvent(Long studentId, Long eventId) {
+        return metrics.timed("event.unregistrations", Tags.empty(), () -> {
+            attendanceStats.unregistering(eventId, studentId);
+            if (studentEventRepo.deleteByStudentIdAndEventId(studentId, eventId) == 0)
+                throw new RuntimeException("Not registered for this event");
+
+            eventRepo.releaseSeat(eventId);
+            evictSeatsAfterCommit(eventId);
+            roster.publish(eventId, "unregistered", Map.of("studentId", studentId));
+            return "Unregistered from event";
+        });
+    }
 
-        Event e = eventRepo.findById(eventId)
-                .orElseThrow(() -> new RuntimeException("Event not found"));
+    // The seat counter updates bypass the entity cache; drop the event's cached copy once the new count is visible
+    private void evictSeatsAfterCommit(Long eventId) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                entityManagerFactory.getCache().evict(Event.class, eventId);
+            }
+        });
+    }
 
-        StudentEvent se = studentEventRepo.findByStudentAndEvent(s, e)
-                .orElseThrow(() -> new RuntimeException("Not registered for this event"));
+    @Override
+    public List<EventDTO> getAllEvents() {
+        return eventRepo.findCatalog();
+    }
 
-        studentEventRepo.delete(se);
-        return "Unregistered from event";
+    @Override
+    @ReadOnlyTransaction
+    public Page<EventDTO> getUpcomingEvents(int page, int size) {
+        return eventRepo.findUpcoming(LocalDateTime.now(), eventPage(page, size));
     }
 
     @Override
-    public List<EventDTO> getAllEvents() {
-        return eventRepo.findAll().stream()
-                .map(e -> new EventDTO(
-                        e.getId(),
-                        e.getName(),
-                        e.getDescription(),
-                        e.getDate(),
-                        e.getVenue(),
-                        e.getFaculty() != null ? e.getFaculty().getName() : "Unassigned",
-                        e.getFaculty() != null ? e.getFaculty().getEmail() : null,
-                        e.getFaculty() != null ? e.getFaculty().getDepartment() : null
-                )).toList();
+    @ReadOnlyTransaction
+    public Page<EventDTO> getPastEvents(int page, int size) {
+        return eventRepo.findPast(LocalDateTime.now(), eventPage(page, size));
     }
 
+    // from and to are inclusive calendar days
     @Override
-    public List<EventDTO> getRegisteredEvents(HttpSession session) {
-        Student s = (Student) session.getAttribute("student");
-        if (s == null) throw new RuntimeException("Unauthorized");
+    @ReadOnlyTransaction
+    public Page<EventDTO> getEventsBetween(LocalDate from, LocalDate to, int page, int size) {
+        if (from.isAfter(to)) throw new RuntimeException("'from' must not be after 'to'");
+        return eventRepo.findStartingBetween(from.atStartOfDay(), to.plusDays(1).atStartOfDay(), eventPage(page, size));
+    }
 
-        List<StudentEvent> regs = studentEventRepo.findByStudent(s);
+    private static PageRequest eventPage(int page, int size) {
+        return PageRequest.of(Math.max(page, 0), Math.max(1, Math.min(size, 100)));
+    }
+
+    @Override
+    @ReadOnlyTransaction
+    public List<EventDTO> getRegisteredEvents(Long studentId) {
+        List<StudentEvent> regs = studentEventRepo.findByStudentId(studentId);
         List<EventDTO> events = new ArrayList<>();
 
         for (StudentEvent se : regs) {
@@ -163,7 +214,10 @@ public class StudentServiceImpl implements StudentService {
                     e.getVenue(),
                     e.getFaculty() != null ? e.getFaculty().getName() : "Unassigned",
                     e.getFaculty() != null ? e.getFaculty().getEmail() : null,
-                    e.getFaculty() != null ? e.getFaculty().getDepartment() : null
+                    e.getFaculty() != null ? e.getFaculty().getDepartment() : null,
+                    e.getCapacity(),
+                    e.getStartAt(),
+                    e.getEndAt()
             ));
         }
 
@@ -171,19 +225,19 @@ public class StudentServiceImpl implements StudentService {
     }
 
     @Override
-    public Boolean getAttendance(HttpSession session, Long eventId) {
-        Student s = (Student) session.getAttribute("student");
-        if (s == null) throw new RuntimeException("Unauthorized");
-
-        return studentEventRepo.findAttendance(eventId, s.getId());
+    @ReadOnlyTransaction
+    public Boolean getAttendance(Long studentId, Long eventId) {
+        return studentEventRepo.findAttendance(eventId, studentId);
     }
 
     // ---------------- ADMIN ----------------
 
     @Override
-    public Student updateStudent(Long id, Student updatedStudent) {
+    @Transactional
+    public StudentProfileDTO updateStudent(Long id, Student updatedStudent) {
         Student student = studentRepo.findById(id)
                 .orElseThrow(() -> new RuntimeException("Student not found"));
+        attendanceStats.departmentChanging(id, student.getDepartment(), updatedStudent.getDepartment());
 
         student.setName(updatedStudent.getName());
         student.setEmail(updatedStudent.getEmail());
@@ -191,26 +245,15 @@ public class StudentServiceImpl implements StudentService {
         student.setDepartment(updatedStudent.getDepartment());
         student.setGender(updatedStudent.getGender());
 
-        return studentRepo.save(student);
+        return new StudentProfileDTO(studentRepo.save(student));
     }
 
     @Override
-    public List<Map<String, Object>> getAllStudentsWithEventCount() {
-        List<Student> students = studentRepo.findAll();
-        List<Map<String, Object>> result = new ArrayList<>();
-
-        for (Student s : students) {
-            Map<String, Object> map = new HashMap<>();
-            map.put("id", s.getId());
-            map.put("name", s.getName());
-            map.put("email", s.getEmail());
-            map.put("phone", s.getPhone());
-            map.put("gender", s.getGender());
-            map.put("department", s.getDepartment());
-            map.put("eventCount", studentEventRepo.findByStudent(s).size());
-            result.add(map);
-        }
-
-        return result;
+    @ReadOnlyTransaction
+    public Page<StudentEventCountDTO> getStudentsWithEventCount(int page, int size, boolean mostActiveFirst) {
+        PageRequest pageable = PageRequest.of(Math.max(page, 0), Math.max(1, Math.min(size, 200)));
+        return mostActiveFirst
+                ? studentRepo.findEventCountsMostActiveFirst(pageable)
+                : studentRepo.findEventCounts(pageable);
     }
 }
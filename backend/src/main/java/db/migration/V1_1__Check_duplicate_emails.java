@@ -0,0 +1,43 @@
+package db.migration;
+
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs ahead of V2, which puts unique indexes on the account emails. A
+ * pre-Flyway database baselined at V1 may hold the same email twice, and
+ * the bare index failure doesn't say which rows are at fault; this lists
+ * every duplicate so they can be merged or corrected by hand first.
+ * Accounts are never merged automatically since events and registrations
+ * hang off them.
+ */
+public class V1_1__Check_duplicate_emails extends BaseJavaMigration {
+
+    private static final List<String> ACCOUNT_TABLES = List.of("student", "faculty", "admin");
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        List<String> duplicates = new ArrayList<>();
+        try (Statement statement = context.getConnection().createStatement()) {
+            for (String table : ACCOUNT_TABLES) {
+                // Grouping uses the column collation, so this matches what the unique index rejects
+                try (ResultSet rows = statement.executeQuery("SELECT email, COUNT(*) FROM " + table +
+                        " WHERE email IS NOT NULL GROUP BY email HAVING COUNT(*) > 1 ORDER BY email")) {
+                    while (rows.next()) {
+                        duplicates.add(table + ": " + rows.getString(1) + " (" + rows.getLong(2) + " rows)");
+                    }
+                }
+            }
+        }
+        if (!duplicates.isEmpty()) {
+            throw new FlywayException("Cannot add unique email indexes until these duplicate emails are resolved:\n  "
+                    + String.join("\n  ", duplicates));
+        }
+    }
+}
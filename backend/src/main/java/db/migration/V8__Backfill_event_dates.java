@@ -0,0 +1,50 @@
+package db.migration;
+
+import com.act.backend.services.EventDates;
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * One-off conversion of the legacy free-form {@code date} strings into the
+ * typed start/end columns added by V5, run once per database by Flyway.
+ * Rows whose text cannot be parsed are left alone and logged; they still
+ * appear in the full catalog but not in the date-sliced views.
+ */
+@Slf4j
+public class V8__Backfill_event_dates extends BaseJavaMigration {
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        int converted = 0;
+        int unparsed = 0;
+        try (Statement select = context.getConnection().createStatement();
+             ResultSet rows = select.executeQuery("SELECT id, date FROM event WHERE start_at IS NULL AND date IS NOT NULL");
+             PreparedStatement update = context.getConnection().prepareStatement(
+                     "UPDATE event SET start_at = ?, end_at = ? WHERE id = ?")) {
+            while (rows.next()) {
+                Optional<LocalDateTime> start = EventDates.parse(rows.getString(2));
+                if (start.isEmpty()) {
+                    unparsed++;
+                    continue;
+                }
+                update.setTimestamp(1, Timestamp.valueOf(start.get()));
+                update.setTimestamp(2, Timestamp.valueOf(EventDates.endOfDay(start.get())));
+                update.setLong(3, rows.getLong(1));
+                update.addBatch();
+                converted++;
+            }
+            if (converted > 0) update.executeBatch();
+        }
+        if (converted + unparsed > 0) {
+            log.info("Converted {} legacy event dates; {} could not be parsed", converted, unparsed);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+-- Schema as previously generated by hibernate.ddl-auto=update.
+-- Existing databases are baselined at this version instead of running it.
+
+CREATE TABLE admin (
+    id       BIGINT NOT NULL AUTO_INCREMENT,
+    email    VARCHAR(255),
+    password VARCHAR(255),
+    username VARCHAR(255),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE faculty (
+    id         BIGINT NOT NULL AUTO_INCREMENT,
+    approved   BIT NOT NULL,
+    department VARCHAR(255),
+    email      VARCHAR(255),
+    gender     VARCHAR(255),
+    name       VARCHAR(255),
+    password   VARCHAR(255),
+    phone      VARCHAR(255),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE student (
+    id         BIGINT NOT NULL AUTO_INCREMENT,
+    department VARCHAR(255),
+    email      VARCHAR(255),
+    gender     VARCHAR(255),
+    name       VARCHAR(255),
+    password   VARCHAR(255),
+    phone      VARCHAR(255),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE event (
+    id          BIGINT NOT NULL AUTO_INCREMENT,
+    date        VARCHAR(255),
+    description VARCHAR(255),
+    name        VARCHAR(255),
+    venue       VARCHAR(255),
+    faculty_id  BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_event_faculty FOREIGN KEY (faculty_id) REFERENCES faculty (id)
+);
+
+CREATE TABLE student_event (
+    id         BIGINT NOT NULL AUTO_INCREMENT,
+    attendance BIT,
+    event_id   BIGINT,
+    student_id BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_student_event_event FOREIGN KEY (event_id) REFERENCES event (id),
+    CONSTRAINT fk_student_event_student FOREIGN KEY (student_id) REFERENCES student (id)
+);
+
+CREATE TABLE student_events (
+    student_id BIGINT NOT NULL,
+    event_id   BIGINT NOT NULL,
+    PRIMARY KEY (student_id, event_id),
+    CONSTRAINT fk_student_events_student FOREIGN KEY (student_id) REFERENCES student (id),
+    CONSTRAINT fk_student_events_event FOREIGN KEY (event_id) REFERENCES event (id)
+);
@@ -0,0 +1,16 @@
+-- Login and signup look accounts up by email
+CREATE UNIQUE INDEX uk_student_email ON student (email);
+CREATE UNIQUE INDEX uk_faculty_email ON faculty (email);
+CREATE UNIQUE INDEX uk_admin_email ON admin (email);
+
+CREATE INDEX idx_faculty_approved ON faculty (approved);
+CREATE INDEX idx_event_faculty ON event (faculty_id);
+
+-- Keep the earliest row of any duplicate registration before enforcing uniqueness
+DELETE FROM student_event
+WHERE id NOT IN (SELECT keep_id FROM (
+    SELECT MIN(id) AS keep_id FROM student_event GROUP BY student_id, event_id
+) AS keepers);
+
+ALTER TABLE student_event ADD CONSTRAINT uk_student_event UNIQUE (student_id, event_id);
+CREATE INDEX idx_student_event_event ON student_event (event_id);
@@ -0,0 +1,15 @@
+CREATE TABLE email_outbox (
+    id              BIGINT NOT NULL AUTO_INCREMENT,
+    recipient       VARCHAR(255) NOT NULL,
+    subject         VARCHAR(255),
+    body            VARCHAR(10000),
+    status          VARCHAR(16) NOT NULL,
+    attempts        INT NOT NULL,
+    next_attempt_at DATETIME(6),
+    created_at      DATETIME(6),
+    sent_at         DATETIME(6),
+    last_error      VARCHAR(1000),
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_email_outbox_due ON email_outbox (status, next_attempt_at);
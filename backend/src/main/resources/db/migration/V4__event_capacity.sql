@@ -0,0 +1,4 @@
+ALTER TABLE event ADD COLUMN capacity INT;
+ALTER TABLE event ADD COLUMN seats_taken INT DEFAULT 0 NOT NULL;
+
+UPDATE event SET seats_taken = (SELECT COUNT(*) FROM student_event se WHERE se.event_id = event.id);
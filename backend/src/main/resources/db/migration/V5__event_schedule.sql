@@ -0,0 +1,6 @@
+-- Filled from the legacy date text by EventDateBackfill on startup
+ALTER TABLE event ADD COLUMN start_at DATETIME(6);
+ALTER TABLE event ADD COLUMN end_at DATETIME(6);
+
+CREATE INDEX idx_event_start_at ON event (start_at);
+CREATE INDEX idx_event_end_at ON event (end_at);
@@ -0,0 +1,12 @@
+-- student_events (the old Student.registeredEvents join table) is folded into student_event,
+-- which becomes the only registration table
+INSERT INTO student_event (student_id, event_id, attendance)
+SELECT old.student_id, old.event_id, NULL
+FROM student_events old
+WHERE NOT EXISTS (
+    SELECT 1 FROM student_event se WHERE se.student_id = old.student_id AND se.event_id = old.event_id
+);
+
+UPDATE event SET seats_taken = (SELECT COUNT(*) FROM student_event se WHERE se.event_id = event.id);
+
+DROP TABLE student_events;
@@ -0,0 +1,21 @@
+-- Registration/attendance counters per event and student department, kept up to date by the
+-- services that change student_event. Department '' stands for students without one.
+CREATE TABLE event_attendance_stats (
+    event_id BIGINT NOT NULL,
+    department VARCHAR(255) NOT NULL,
+    registered INT DEFAULT 0 NOT NULL,
+    present INT DEFAULT 0 NOT NULL,
+    absent INT DEFAULT 0 NOT NULL,
+    PRIMARY KEY (event_id, department),
+    CONSTRAINT fk_attendance_stats_event FOREIGN KEY (event_id) REFERENCES event (id)
+);
+
+CREATE INDEX idx_attendance_stats_department ON event_attendance_stats (department);
+
+INSERT INTO event_attendance_stats (event_id, department, registered, present, absent)
+SELECT se.event_id, COALESCE(s.department, ''), COUNT(*),
+       SUM(CASE WHEN se.attendance THEN 1 ELSE 0 END),
+       SUM(CASE WHEN NOT se.attendance THEN 1 ELSE 0 END)
+FROM student_event se
+JOIN student s ON s.id = se.student_id
+GROUP BY se.event_id, COALESCE(s.department, '');
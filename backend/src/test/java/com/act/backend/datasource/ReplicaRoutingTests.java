@@ -0,0 +1,186 @@
+package com.act.backend.datasource;
+
+import com.act.backend.models.Event;
+import com.act.backend.models.Faculty;
+import com.act.backend.models.Student;
+import com.act.backend.repositories.EventRepository;
+import com.act.backend.repositories.FacultyRepository;
+import com.act.backend.repositories.StudentRepository;
+import com.act.backend.security.AuthRole;
+import com.act.backend.security.TokenService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Two in-memory databases stand in for a primary and its replica. The replica
+ * gets the same migrations but is never replicated to, so whichever copy of
+ * a row comes back shows where a read went.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing-primary;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "app.datasource.replica-urls=" + ReplicaRoutingTests.REPLICA_URL,
+        "app.datasource.replica-lag-query=SELECT seconds FROM replica_lag",
+        "app.datasource.replica-lag-check-ms=3600000"})
+@AutoConfigureMockMvc
+@DirtiesContext
+class ReplicaRoutingTests {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:routing-replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    private static JdbcTemplate replica;
+
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private TokenService tokenService;
+    @Autowired
+    private ReplicaLagMonitor lagMonitor;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private MeterRegistry registry;
+    @Autowired
+    private EventRepository eventRepo;
+    @Autowired
+    private FacultyRepository facultyRepo;
+    @Autowired
+    private StudentRepository studentRepo;
+
+    @BeforeAll
+    static void replicaSchema() {
+        Flyway.configure().dataSource(REPLICA_URL, "sa", "").load().migrate();
+        replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+        replica.execute("CREATE TABLE replica_lag (seconds DOUBLE)");
+        replica.update("INSERT INTO replica_lag VALUES (0)");
+    }
+
+    @BeforeEach
+    void replicaInSync() {
+        setReplicaLag(0);
+    }
+
+    @Test
+    void readOnlyServiceMethodsReadTheReplica() throws Exception {
+        Event event = upcomingEvent("Primary copy", null);
+        replica.update("INSERT INTO event (id, name, start_at, end_at) VALUES (?, 'Replica copy', ?, ?)",
+                event.getId(), event.getStartAt(), event.getEndAt());
+        entityManagerFactory.getCache().evictAll();
+        double replicaReads = registry.counter("datasource.read.routes", "target", "replica-1", "reason", "balanced").count();
+
+        asStudent(get("/api/students/events/upcoming"), 900L)
+                .andExpect(jsonPath("$.content[?(@.id == " + event.getId() + ")].name").value(contains("Replica copy")));
+        asAdmin(get("/api/admin/events/" + event.getId() + "/students"));
+
+        // The catalog snapshot and plain repository reads stay on the primary, and the replica
+        // reads above did not leave their copy of the event in the second-level cache
+        asStudent(get("/api/students/events"), 900L)
+                .andExpect(jsonPath("$[?(@.id == " + event.getId() + ")].name").value(contains("Primary copy")));
+        assertThat(eventRepo.findById(event.getId()).orElseThrow().getName()).isEqualTo("Primary copy");
+        assertThat(registry.counter("datasource.read.routes", "target", "replica-1", "reason", "balanced").count())
+                .isEqualTo(replicaReads + 2);
+    }
+
+    @Test
+    void callersReadTheirOwnWritesFromThePrimary() throws Exception {
+        Faculty faculty = new Faculty();
+        faculty.setName("Routing Faculty");
+        faculty.setEmail("routing.faculty@x.edu");
+        faculty.setApproved(true);
+        facultyRepo.save(faculty);
+        Event event = upcomingEvent("Routed", faculty);
+        Student writer = student("routing.writer@x.edu");
+        Student other = student("routing.other@x.edu");
+
+        asStudent(post("/api/students/register-event/" + event.getId()), writer.getId());
+        asStudent(post("/api/students/register-event/" + event.getId()), other.getId());
+        asFaculty(post("/api/faculty/events/" + event.getId() + "/attendance")
+                .param("studentId", writer.getId().toString()).param("present", "true"), faculty.getId());
+        assertThat(replica.queryForObject("SELECT COUNT(*) FROM student_event", Long.class)).isZero();
+
+        asStudent(get("/api/students/registered-events"), writer.getId())
+                .andExpect(jsonPath("$[*].name").value(contains("Routed")));
+        asFaculty(get("/api/faculty/events/" + event.getId() + "/students"), faculty.getId())
+                .andExpect(jsonPath("$[?(@.studentId == " + writer.getId() + ")].attendance").value(contains(true)));
+
+        // A different principal with no recent writes of their own reads the replica, which has none of this
+        asStudent(get("/api/students/registered-events"), 901L)
+                .andExpect(jsonPath("$", empty()));
+    }
+
+    @Test
+    void laggingReplicaIsTakenOutOfRotation() throws Exception {
+        Event event = upcomingEvent("Primary only", null);
+
+        setReplicaLag(30);
+        asStudent(get("/api/students/events/upcoming"), 902L)
+                .andExpect(jsonPath("$.content[?(@.id == " + event.getId() + ")].name").value(contains("Primary only")));
+        assertThat(registry.get("datasource.replica.lag").tag("replica", "replica-1").gauge().value()).isEqualTo(30);
+
+        setReplicaLag(0);
+        asStudent(get("/api/students/events/upcoming"), 902L)
+                .andExpect(jsonPath("$.content[?(@.id == " + event.getId() + ")]").value(empty()));
+    }
+
+    private void setReplicaLag(double seconds) {
+        replica.update("UPDATE replica_lag SET seconds = ?", seconds);
+        lagMonitor.check();
+    }
+
+    private Event upcomingEvent(String name, Faculty faculty) {
+        Event event = new Event();
+        event.setName(name);
+        event.setFaculty(faculty);
+        event.setStartAt(LocalDateTime.now().plusDays(7).withNano(0));
+        event.setEndAt(event.getStartAt().plusHours(2));
+        return eventRepo.save(event);
+    }
+
+    private Student student(String email) {
+        Student s = new Student();
+        s.setName(email);
+        s.setEmail(email);
+        s.setPassword("pw");
+        return studentRepo.save(s);
+    }
+
+    private ResultActions asStudent(MockHttpServletRequestBuilder request, Long id) throws Exception {
+        return as(request, AuthRole.STUDENT, id);
+    }
+
+    private ResultActions asFaculty(MockHttpServletRequestBuilder request, Long id) throws Exception {
+        return as(request, AuthRole.FACULTY, id);
+    }
+
+    private ResultActions asAdmin(MockHttpServletRequestBuilder request) throws Exception {
+        return as(request, AuthRole.ADMIN, 1L);
+    }
+
+    private ResultActions as(MockHttpServletRequestBuilder request, AuthRole role, Long id) throws Exception {
+        return mvc.perform(request.header(HttpHeaders.AUTHORIZATION, "Bearer " + tokenService.issue(role, id)))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,81 @@
+package com.act.backend.load;
+
+import com.act.backend.services.AttendanceExportService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Exports a synthetic students x events attendance table (a million rows by
+ * default) through the streaming cursor and writes rows, bytes and rows/s to
+ * target/export-report.txt. Only the row and line counts are asserted.
+ *
+ * Tagged "load" and excluded from the default build; run it with
+ * {@code mvn test -Pload}, sized with -Dload.export.students and
+ * -Dload.export.events.
+ */
+@Tag("load")
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:export-load;MODE=MySQL;DATABASE_TO_LOWER=TRUE")
+@DirtiesContext
+class AttendanceExportLoadTest {
+
+    @Autowired
+    private AttendanceExportService exportService;
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Value("${load.export.students:1000}")
+    private int students;
+    @Value("${load.export.events:1000}")
+    private int events;
+
+    @Test
+    void fullExportStreamsFromTheCursor() throws Exception {
+        // SYSTEM_RANGE's column is upper-case "X", which has to be quoted under DATABASE_TO_LOWER
+        jdbc.update("INSERT INTO student (name, email, department, password) " +
+                "SELECT CONCAT('Bulk ', \"X\"), CONCAT('bulk', \"X\", '@x.edu'), CONCAT('DEPT', MOD(\"X\", 10)), 'pw' " +
+                "FROM SYSTEM_RANGE(1, ?)", students);
+        jdbc.update("INSERT INTO event (name, seats_taken, start_at) " +
+                "SELECT CONCAT('Bulk event ', \"X\"), ?, TIMESTAMP '2026-01-05 09:00:00' FROM SYSTEM_RANGE(1, ?)", students, events);
+        jdbc.update("INSERT INTO student_event (student_id, event_id, attendance) " +
+                "SELECT s.id, e.id, MOD(s.id + e.id, 3) = 0 FROM student s CROSS JOIN event e");
+
+        CountingOutputStream out = new CountingOutputStream();
+        long started = System.nanoTime();
+        long rows = exportService.writeCsv(new AttendanceExportService.Filter(null, null, null, null, null), out);
+        double seconds = (System.nanoTime() - started) / 1e9;
+
+        Files.writeString(Path.of("target", "export-report.txt"), String.format(
+                "Exported %,d rows (%,d bytes) in %.2fs: %,.0f rows/s%n", rows, out.bytes, seconds, rows / seconds));
+
+        assertThat(rows).isEqualTo((long) students * events);
+        assertThat(out.lines).isEqualTo(rows + 1);
+    }
+
+    private static class CountingOutputStream extends OutputStream {
+        long bytes;
+        long lines;
+
+        @Override
+        public void write(int b) {
+            bytes++;
+            if (b == '\n') lines++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            bytes += len;
+            for (int i = off; i < off + len; i++) if (b[i] == '\n') lines++;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.act.backend.load;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Latency and outcome samples per endpoint, summarised as p50/p99/max latency,
+ * throughput and error rate. Throughput is measured over the span between an
+ * endpoint's first request starting and its last one finishing, so endpoints
+ * hit in different phases are not averaged over each other's wall time.
+ */
+final class LoadReport {
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    void record(String endpoint, long startNanos, long endNanos, boolean ok) {
+        endpoints.computeIfAbsent(endpoint, e -> new Endpoint()).record(startNanos, endNanos, ok);
+    }
+
+    Map<String, Summary> summaries() {
+        Map<String, Summary> result = new TreeMap<>();
+        endpoints.forEach((name, e) -> result.put(name, e.summary()));
+        return result;
+    }
+
+    String format() {
+        StringBuilder out = new StringBuilder(String.format("%-52s %9s %7s %7s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "err %", "p50 ms", "p99 ms", "max ms", "req/s"));
+        summaries().forEach((name, s) -> out.append(String.format("%-52s %9d %7d %7.2f %9.2f %9.2f %9.2f %9.1f%n",
+                name, s.requests(), s.errors(), s.errorRate() * 100, s.p50Ms(), s.p99Ms(), s.maxMs(), s.throughput())));
+        return out.toString();
+    }
+
+    record Summary(long requests, long errors, double p50Ms, double p99Ms, double maxMs, double throughput) {
+        double errorRate() {
+            return requests == 0 ? 0 : (double) errors / requests;
+        }
+    }
+
+    private static final class Endpoint {
+        private final List<Long> latencies = new ArrayList<>();
+        private long errors;
+        private long firstStart = Long.MAX_VALUE;
+        private long lastEnd = Long.MIN_VALUE;
+
+        synchronized void record(long startNanos, long endNanos, boolean ok) {
+            latencies.add(endNanos - startNanos);
+            if (!ok) errors++;
+            firstStart = Math.min(firstStart, startNanos);
+            lastEnd = Math.max(lastEnd, endNanos);
+        }
+
+        synchronized Summary summary() {
+            long[] sorted = latencies.stream().mapToLong(Long::longValue).toArray();
+            Arrays.sort(sorted);
+            double seconds = (lastEnd - firstStart) / 1e9;
+            return new Summary(sorted.length, errors, percentile(sorted, 0.50), percentile(sorted, 0.99),
+                    sorted[sorted.length - 1] / 1e6, seconds > 0 ? sorted.length / seconds : 0);
+        }
+
+        // Nearest-rank percentile, in milliseconds
+        private static double percentile(long[] sorted, double p) {
+            int rank = (int) Math.ceil(p * sorted.length);
+            return sorted[Math.max(rank - 1, 0)] / 1e6;
+        }
+    }
+}
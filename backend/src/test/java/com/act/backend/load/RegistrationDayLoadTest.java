@@ -0,0 +1,222 @@
+package com.act.backend.load;
+
+import com.act.backend.models.Admin;
+import com.act.backend.models.Event;
+import com.act.backend.models.Faculty;
+import com.act.backend.repositories.AdminRepository;
+import com.act.backend.repositories.EventRepository;
+import com.act.backend.repositories.FacultyRepository;
+import com.act.backend.repositories.StudentEventRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Replays registration day against a real HTTP server on an embedded H2
+ * database in MySQL mode: every student logs in, lists the catalog, registers
+ * for an event and checks their registrations, all at once. Faculty then check
+ * in their rosters and admins page through the listings. Prints p50/p99
+ * latency, throughput and error rate per endpoint and writes the same table
+ * to target/load-report.txt.
+ *
+ * Tagged "load" and excluded from the default build; run it with
+ * {@code mvn test -Pload}, sized with -Dload.students, -Dload.events,
+ * -Dload.concurrency and -Dload.admin-requests.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.datasource.url=jdbc:h2:mem:load;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000")
+@DirtiesContext
+class RegistrationDayLoadTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Value("${load.students:2000}")
+    private int students;
+    @Value("${load.events:10}")
+    private int events;
+    @Value("${load.concurrency:200}")
+    private int concurrency;
+    @Value("${load.admin-requests:300}")
+    private int adminRequests;
+    @Value("${load.max-error-rate:0}")
+    private double maxErrorRate;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+    @Autowired
+    private AdminRepository adminRepo;
+    @Autowired
+    private FacultyRepository facultyRepo;
+    @Autowired
+    private EventRepository eventRepo;
+    @Autowired
+    private StudentEventRepository studentEventRepo;
+
+    private final HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+    private final LoadReport report = new LoadReport();
+
+    @Test
+    void registrationDay() throws Exception {
+        List<Event> catalog = seed();
+
+        // Registration opens: everyone at once, bounded by the number of concurrent clients
+        run(students, i -> {
+            String cookie = login("/api/students/login", "student" + i + "@load.edu", "pw" + i);
+            if (cookie == null) return;
+            call("GET /api/students/events", "GET", "/api/students/events", cookie);
+            Event event = catalog.get(ThreadLocalRandom.current().nextInt(catalog.size()));
+            call("POST /api/students/register-event/{id}", "POST", "/api/students/register-event/" + event.getId(), cookie);
+            call("GET /api/students/registered-events", "GET", "/api/students/registered-events", cookie);
+        });
+
+        // Check-in: each event's faculty marks everyone on its roster
+        List<long[]> checkIns = jdbc.query("SELECT event_id, student_id FROM student_event",
+                (rs, n) -> new long[]{rs.getLong(1), rs.getLong(2)});
+        // One faculty member per event, so their login cookie is keyed by the event
+        Map<Long, String> facultyCookies = new HashMap<>();
+        for (Event e : catalog) {
+            facultyCookies.put(e.getId(), login("/api/faculty/login", e.getFaculty().getEmail(), "pw"));
+            call("GET /api/faculty/events/{id}/students", "GET", "/api/faculty/events/" + e.getId() + "/students",
+                    facultyCookies.get(e.getId()));
+        }
+        run(checkIns.size(), i -> {
+            long[] row = checkIns.get(i);
+            call("POST /api/faculty/events/{id}/attendance", "POST", "/api/faculty/events/" + row[0]
+                    + "/attendance?studentId=" + row[1] + "&present=" + (i % 5 != 0), facultyCookies.get(row[0]));
+        });
+
+        // Admin dashboards polling the listings while the day winds down
+        String admin = login("/api/admin/login", "admin@load.edu", "pw");
+        run(adminRequests, i -> {
+            switch (i % 3) {
+                case 0 -> call("GET /api/admin/students", "GET", "/api/admin/students?size=50", admin);
+                case 1 -> call("GET /api/admin/events", "GET", "/api/admin/events", admin);
+                default -> call("GET /api/admin/analytics/departments", "GET", "/api/admin/analytics/departments", admin);
+            }
+        });
+
+        String table = report.format();
+        System.out.println("\nRegistration day: " + students + " students, " + events + " events, "
+                + concurrency + " concurrent clients\n" + table);
+        Files.writeString(Path.of("target", "load-report.txt"), table);
+
+        assertThat(report.summaries()).allSatisfy((endpoint, s) ->
+                assertThat(s.errorRate()).as(endpoint + " error rate").isLessThanOrEqualTo(maxErrorRate));
+        if (maxErrorRate == 0) assertThat(studentEventRepo.count()).isEqualTo(students);
+    }
+
+    private List<Event> seed() {
+        Admin admin = new Admin();
+        admin.setUsername("load");
+        admin.setEmail("admin@load.edu");
+        admin.setPassword("pw");
+        adminRepo.save(admin);
+
+        List<Event> catalog = new ArrayList<>();
+        for (int i = 0; i < events; i++) {
+            Faculty f = new Faculty();
+            f.setName("Load Faculty " + i);
+            f.setEmail("faculty" + i + "@load.edu");
+            f.setPassword("pw");
+            f.setDepartment("CSE");
+            f.setApproved(true);
+            facultyRepo.save(f);
+            Event e = new Event();
+            e.setName("Load Event " + i);
+            e.setVenue("Hall " + i);
+            e.setFaculty(f);
+            catalog.add(eventRepo.save(e));
+        }
+
+        String[] departments = {"CSE", "ECE", "EEE", "MECH", "CIVIL", "IT"};
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < students; i++) {
+            rows.add(new Object[]{"Student " + i, "student" + i + "@load.edu", "pw" + i, departments[i % departments.length]});
+        }
+        jdbc.batchUpdate("INSERT INTO student (name, email, password, department) VALUES (?, ?, ?, ?)", rows);
+        return catalog;
+    }
+
+    private interface Task {
+        void run(int i) throws Exception;
+    }
+
+    // Runs task(0..count-1) on virtual threads with at most `concurrency` in flight
+    private void run(int count, Task task) throws InterruptedException {
+        Semaphore inFlight = new Semaphore(concurrency);
+        try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < count; i++) {
+                int n = i;
+                inFlight.acquire();
+                pool.submit(() -> {
+                    try {
+                        task.run(n);
+                    } catch (Exception e) {
+                        report.record("client errors", System.nanoTime(), System.nanoTime(), false);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+        }
+    }
+
+    // Returns the auth cookie, or null if the login failed
+    private String login(String path, String email, String password) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"email\":\"" + email + "\",\"password\":\"" + password + "\"}"))
+                .build();
+        HttpResponse<Void> response = send("POST " + path, request);
+        if (response == null) return null;
+        return response.headers().firstValue("Set-Cookie").map(c -> c.substring(0, c.indexOf(';'))).orElse(null);
+    }
+
+    private void call(String endpoint, String method, String path, String cookie) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .method(method, HttpRequest.BodyPublishers.noBody());
+        if (cookie != null) builder.header("Cookie", cookie);
+        send(endpoint, builder.build());
+    }
+
+    // Records the outcome; returns the response if it was a 2xx
+    private HttpResponse<Void> send(String endpoint, HttpRequest request) {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+            boolean ok = response.statusCode() / 100 == 2;
+            report.record(endpoint, start, System.nanoTime(), ok);
+            return ok ? response : null;
+        } catch (IOException | InterruptedException e) {
+            if (e instanceof InterruptedException) Thread.currentThread().interrupt();
+            report.record(endpoint, start, System.nanoTime(), false);
+            return null;
+        }
+    }
+}
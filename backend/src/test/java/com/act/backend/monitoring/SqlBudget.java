@@ -0,0 +1,25 @@
+package com.act.backend.monitoring;
+
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * MockMvc expectation that a request ran at most a given number of SQL
+ * statements, as counted by {@link SqlStatementFilter}. Seed more rows than
+ * the budget so an N+1 cannot hide under it.
+ */
+public final class SqlBudget {
+
+    private SqlBudget() {
+    }
+
+    public static ResultMatcher atMost(int statements) {
+        return result -> {
+            Object count = result.getRequest().getAttribute(SqlStatementFilter.ATTRIBUTE);
+            String request = result.getRequest().getMethod() + " " + result.getRequest().getRequestURI();
+            assertThat(count).as("SQL statement count for %s", request).isNotNull();
+            assertThat((int) count).as("SQL statements run by %s", request).isLessThanOrEqualTo(statements);
+        };
+    }
+}
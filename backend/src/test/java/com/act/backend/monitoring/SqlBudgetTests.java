@@ -0,0 +1,275 @@
+package com.act.backend.monitoring;
+
+import com.act.backend.dto.FacultyDecisionRequest;
+import com.act.backend.models.Admin;
+import com.act.backend.models.Event;
+import com.act.backend.models.Faculty;
+import com.act.backend.models.Student;
+import com.act.backend.repositories.AdminRepository;
+import com.act.backend.repositories.EventRepository;
+import com.act.backend.repositories.FacultyRepository;
+import com.act.backend.repositories.StudentEventRepository;
+import com.act.backend.repositories.StudentRepository;
+import com.act.backend.security.AuthRole;
+import com.act.backend.security.TokenService;
+import com.act.backend.services.FacultyService;
+import com.act.backend.services.StudentService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Budgets are per request and must not grow with the seeded data
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class SqlBudgetTests {
+
+    private static final int STUDENTS = 30;
+    private static final int EVENTS = 6;
+
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private TokenService tokenService;
+    @Autowired
+    private StudentService studentService;
+    @Autowired
+    private FacultyService facultyService;
+    @Autowired
+    private StudentRepository studentRepo;
+    @Autowired
+    private FacultyRepository facultyRepo;
+    @Autowired
+    private EventRepository eventRepo;
+    @Autowired
+    private AdminRepository adminRepo;
+    @Autowired
+    private StudentEventRepository studentEventRepo;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final List<Faculty> pending = new ArrayList<>();
+    private final List<Student> students = new ArrayList<>();
+    private Admin admin;
+    private Faculty faculty;
+    private Event event;
+    private Student student;
+
+    @BeforeAll
+    void seed() {
+        List<Faculty> faculties = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Faculty f = new Faculty();
+            f.setName("Budget Faculty " + i);
+            f.setEmail("budget.faculty" + i + "@x.edu");
+            f.setApproved(true);
+            faculties.add(facultyRepo.save(f));
+        }
+        // Pending faculties with events of their own, which the approval list must not load
+        for (int i = 0; i < 4; i++) {
+            Faculty f = new Faculty();
+            f.setName("Budget Pending " + i);
+            f.setEmail("budget.pending" + i + "@x.edu");
+            f.setPassword("secret");
+            pending.add(facultyRepo.save(f));
+            for (int j = 0; j < 2; j++) {
+                Event e = new Event();
+                e.setName("Budget Pending Event " + i + "-" + j);
+                e.setFaculty(f);
+                eventRepo.save(e);
+            }
+        }
+        List<Event> events = new ArrayList<>();
+        for (int i = 0; i < EVENTS; i++) {
+            Event e = new Event();
+            e.setName("Budget Event " + i);
+            e.setFaculty(faculties.get(i % faculties.size()));
+            events.add(eventRepo.save(e));
+        }
+        for (int i = 0; i < STUDENTS; i++) {
+            Student s = new Student();
+            s.setName("Budget Student " + i);
+            s.setEmail("budget.student" + i + "@x.edu");
+            s.setPassword("pw");
+            students.add(studentRepo.save(s));
+        }
+        for (int i = 0; i < STUDENTS; i++) {
+            for (int j = 0; j < 3; j++) {
+                studentService.registerEvent(students.get(i).getId(), events.get((i + j) % EVENTS).getId());
+            }
+        }
+        admin = new Admin();
+        admin.setUsername("budget.admin");
+        admin.setEmail("budget.admin@x.edu");
+        admin.setPassword("pw");
+        adminRepo.save(admin);
+        faculty = faculties.get(0);
+        event = events.get(0);
+        student = students.get(0);
+        facultyService.markAttendance(faculty.getId(), event.getId(), student.getId(), true);
+    }
+
+    // Other tests act on every pending faculty in the shared database
+    @AfterAll
+    void removePending() {
+        eventRepo.deleteAllByIdInBatch(eventRepo.findIdsByFacultyIdIn(pending.stream().map(Faculty::getId).toList()));
+        facultyRepo.deleteAll(pending);
+    }
+
+    @Test
+    void adminListings() throws Exception {
+        admin("/api/admin/students?size=" + STUDENTS).andExpect(SqlBudget.atMost(2));
+        admin("/api/admin/students/event-counts?size=" + STUDENTS).andExpect(SqlBudget.atMost(2));
+        admin("/api/admin/students/event-counts?size=" + STUDENTS + "&sort=eventCount").andExpect(SqlBudget.atMost(2));
+        admin("/api/admin/faculties").andExpect(SqlBudget.atMost(1));
+        admin("/api/admin/unapproved-faculties").andExpect(SqlBudget.atMost(1))
+                .andExpect(jsonPath("$[*].eventsAssigned").isEmpty())
+                .andExpect(jsonPath("$[*].password").isEmpty());
+        admin("/api/admin/events/" + event.getId() + "/students").andExpect(SqlBudget.atMost(2));
+    }
+
+    @Test
+    void facultyRoster() throws Exception {
+        faculty("/api/faculty/events").andExpect(SqlBudget.atMost(1));
+        faculty("/api/faculty/events/" + event.getId() + "/students").andExpect(SqlBudget.atMost(2));
+    }
+
+    @Test
+    void studentRegistrations() throws Exception {
+        mvc.perform(get("/api/students/registered-events")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + tokenService.issue(AuthRole.STUDENT, student.getId())))
+                .andExpect(status().isOk())
+                .andExpect(SqlBudget.atMost(1));
+    }
+
+    // Profiles are projections: no password, no assigned events, one statement at most
+    @Test
+    void profiles() throws Exception {
+        mvc.perform(get("/api/students/profile")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + tokenService.issue(AuthRole.STUDENT, student.getId())))
+                .andExpect(status().isOk())
+                .andExpect(SqlBudget.atMost(1))
+                .andExpect(jsonPath("$.email").value(student.getEmail()))
+                .andExpect(jsonPath("$.password").doesNotExist());
+        faculty("/api/faculty/me").andExpect(SqlBudget.atMost(1))
+                .andExpect(jsonPath("$.email").value(faculty.getEmail()))
+                .andExpect(jsonPath("$.eventsAssigned").doesNotExist())
+                .andExpect(jsonPath("$.password").doesNotExist());
+        admin("/api/admin/me").andExpect(SqlBudget.atMost(1))
+                .andExpect(jsonPath("$.username").value("budget.admin"))
+                .andExpect(jsonPath("$.password").doesNotExist());
+    }
+
+    @Test
+    void adminDeletesDoNotGrowWithTheData() throws Exception {
+        Faculty replacement = newFaculty("budget.replacement");
+        Faculty small = newFaculty("budget.leaving.small");
+        Faculty large = newFaculty("budget.leaving.large");
+        for (int i = 0; i < 2; i++) newEvent("Small Faculty Event " + i, small);
+        for (int i = 0; i < 40; i++) newEvent("Large Faculty Event " + i, large);
+
+        int fewEvents = statements(delete("/api/admin/faculties/" + small.getId())
+                .param("replacementFacultyId", replacement.getId().toString()));
+        int manyEvents = statements(delete("/api/admin/faculties/" + large.getId())
+                .param("replacementFacultyId", replacement.getId().toString()));
+        assertThat(manyEvents).isEqualTo(fewEvents);
+        assertThat(facultyRepo.existsById(large.getId())).isFalse();
+        assertThat(eventRepo.findByFacultyId(replacement.getId())).hasSize(42);
+
+        Event smallRoster = newEvent("Small Roster", replacement);
+        Event largeRoster = newEvent("Large Roster", replacement);
+        for (int i = 0; i < 2; i++) studentService.registerEvent(students.get(i).getId(), smallRoster.getId());
+        for (int i = 0; i < STUDENTS; i++) studentService.registerEvent(students.get(i).getId(), largeRoster.getId());
+
+        int fewRegistrations = statements(delete("/api/admin/events/" + smallRoster.getId()));
+        int manyRegistrations = statements(delete("/api/admin/events/" + largeRoster.getId()));
+        assertThat(manyRegistrations).isEqualTo(fewRegistrations);
+        assertThat(eventRepo.existsById(largeRoster.getId())).isFalse();
+        assertThat(studentEventRepo.findByStudentId(students.get(2).getId())).hasSize(3);
+    }
+
+    @Test
+    void batchModerationDoesNotGrowWithTheBatch() throws Exception {
+        int few = statements(moderation(2));
+        int many = statements(moderation(40));
+        assertThat(many).isEqualTo(few);
+    }
+
+    // Approves half of a fresh batch of pending faculties and rejects the other half
+    private MockHttpServletRequestBuilder moderation(int size) throws Exception {
+        List<FacultyDecisionRequest> decisions = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            Faculty f = newFaculty("budget.moderated" + size + "." + i);
+            f.setApproved(false);
+            facultyRepo.save(f);
+            newEvent("Budget Moderated Event " + size + "." + i, f);
+            decisions.add(i % 2 == 0
+                    ? new FacultyDecisionRequest(f.getId(), "APPROVE", null)
+                    : new FacultyDecisionRequest(f.getId(), "REJECT", "duplicate"));
+        }
+        return put("/api/admin/moderate-faculties")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(decisions));
+    }
+
+    @Test
+    void countIsReturnedAsAHeader() throws Exception {
+        // Not an event or faculty lookup: those may be answered by the second-level cache
+        mvc.perform(get("/api/students/registered-events")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + tokenService.issue(AuthRole.STUDENT, student.getId())))
+                .andExpect(header().string(SqlStatementFilter.HEADER, "1"));
+    }
+
+    private ResultActions admin(String path) throws Exception {
+        return mvc.perform(get(path).header(HttpHeaders.AUTHORIZATION, "Bearer " + tokenService.issue(AuthRole.ADMIN, admin.getId())))
+                .andExpect(status().isOk());
+    }
+
+    private int statements(MockHttpServletRequestBuilder request) throws Exception {
+        Object count = mvc.perform(request.header(HttpHeaders.AUTHORIZATION, "Bearer " + tokenService.issue(AuthRole.ADMIN, admin.getId())))
+                .andExpect(status().isOk())
+                .andReturn().getRequest().getAttribute(SqlStatementFilter.ATTRIBUTE);
+        return (int) count;
+    }
+
+    private Faculty newFaculty(String name) {
+        Faculty f = new Faculty();
+        f.setName(name);
+        f.setEmail(name + "@x.edu");
+        f.setApproved(true);
+        return facultyRepo.save(f);
+    }
+
+    private Event newEvent(String name, Faculty faculty) {
+        Event e = new Event();
+        e.setName(name);
+        e.setFaculty(faculty);
+        return eventRepo.save(e);
+    }
+
+    private ResultActions faculty(String path) throws Exception {
+        return mvc.perform(get(path).header(HttpHeaders.AUTHORIZATION, "Bearer " + tokenService.issue(AuthRole.FACULTY, faculty.getId())))
+                .andExpect(status().isOk());
+    }
+}
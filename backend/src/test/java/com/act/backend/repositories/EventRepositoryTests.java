@@ -0,0 +1,73 @@
+package com.act.backend.repositories;
+
+import com.act.backend.dto.EventDTO;
+import com.act.backend.models.Event;
+import com.act.backend.models.Faculty;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.groups.Tuple.tuple;
+
+@DataJpaTest
+class EventRepositoryTests {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 3, 10, 12, 0);
+
+    @Autowired
+    private EventRepository eventRepo;
+    @Autowired
+    private FacultyRepository facultyRepo;
+
+    @Test
+    void upcomingPastAndRangeSlicesUseTheTypedSchedule() {
+        Faculty mine = new Faculty();
+        mine.setName("mine");
+        mine.setEmail("mine@x.edu");
+        facultyRepo.save(mine);
+
+        eventRepo.save(event("Last month", NOW.minusMonths(1), mine));
+        eventRepo.save(event("Running now", NOW.minusHours(2), null));
+        eventRepo.save(event("Tomorrow", NOW.plusDays(1), mine));
+        eventRepo.save(event("Next week", NOW.plusWeeks(1), null));
+        Event legacy = new Event();
+        legacy.setName("Free text");
+        legacy.setDate("sometime soon");
+        eventRepo.save(legacy);
+
+        assertThat(eventRepo.findUpcoming(NOW, PageRequest.of(0, 10)))
+                .extracting(EventDTO::getName)
+                .containsExactly("Running now", "Tomorrow", "Next week");
+        assertThat(eventRepo.findPast(NOW, PageRequest.of(0, 10)))
+                .extracting(EventDTO::getName)
+                .containsExactly("Last month");
+
+        Page<EventDTO> firstPage = eventRepo.findUpcoming(NOW, PageRequest.of(0, 2));
+        assertThat(firstPage.getTotalElements()).isEqualTo(3);
+        assertThat(firstPage.getContent()).hasSize(2);
+
+        assertThat(eventRepo.findStartingBetween(NOW.toLocalDate().atStartOfDay(),
+                        NOW.toLocalDate().plusDays(2).atStartOfDay(), PageRequest.of(0, 10)))
+                .extracting(EventDTO::getName)
+                .containsExactly("Running now", "Tomorrow");
+
+        assertThat(eventRepo.findUpcomingForFaculty(mine.getId(), NOW, PageRequest.of(0, 10)))
+                .extracting(EventDTO::getName, EventDTO::getFacultyName)
+                .containsExactly(tuple("Tomorrow", "mine"));
+    }
+
+    private Event event(String name, LocalDateTime start, Faculty faculty) {
+        Event e = new Event();
+        e.setName(name);
+        e.setDate(start.toLocalDate().toString());
+        e.setStartAt(start);
+        e.setEndAt(start.plusHours(3));
+        e.setFaculty(faculty);
+        return e;
+    }
+}
@@ -0,0 +1,51 @@
+package com.act.backend.repositories;
+
+import com.act.backend.dto.FacultyDTO;
+import com.act.backend.dto.FacultyProfileDTO;
+import com.act.backend.models.Event;
+import com.act.backend.models.Faculty;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.groups.Tuple.tuple;
+
+@DataJpaTest
+class FacultyRepositoryTests {
+
+    @Autowired
+    private FacultyRepository facultyRepo;
+    @Autowired
+    private EventRepository eventRepo;
+
+    @Test
+    void eventCountsAndUnapprovedListComeFromTheDatabase() {
+        Faculty busy = facultyRepo.save(faculty("busy", true));
+        facultyRepo.save(faculty("idle", true));
+        facultyRepo.save(faculty("pending", false));
+        for (int i = 0; i < 3; i++) {
+            Event e = new Event();
+            e.setName("Event " + i);
+            e.setFaculty(busy);
+            eventRepo.save(e);
+        }
+
+        assertThat(facultyRepo.findAllWithEventCounts())
+                .extracting(FacultyDTO::getName, FacultyDTO::getAssignedEventsCount)
+                .containsExactly(
+                        tuple("busy", 3L),
+                        tuple("idle", 0L),
+                        tuple("pending", 0L));
+        assertThat(eventRepo.countByFacultyId(busy.getId())).isEqualTo(3);
+        assertThat(facultyRepo.findByApprovedFalse()).extracting(FacultyProfileDTO::getName).containsExactly("pending");
+    }
+
+    private Faculty faculty(String name, boolean approved) {
+        Faculty f = new Faculty();
+        f.setName(name);
+        f.setEmail(name + "@x.edu");
+        f.setApproved(approved);
+        return f;
+    }
+}
@@ -0,0 +1,168 @@
+package com.act.backend.repositories;
+
+import com.act.backend.models.Event;
+import com.act.backend.models.Student;
+import jakarta.transaction.Transactional;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.FlywayException;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.ParameterMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs EXPLAIN for every statement the login and registration repository
+ * methods generate and fails if any of them would scan a whole table.
+ * The plans come from H2 against the Flyway schema, so a missing index in
+ * the migrations shows up here.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.act.backend.repositories.QueryPlanTests$RecordingInspector")
+@Transactional
+class QueryPlanTests {
+
+    public static class RecordingInspector implements StatementInspector {
+        static final List<String> STATEMENTS = new ArrayList<>();
+        static volatile boolean recording;
+
+        @Override
+        public String inspect(String sql) {
+            if (recording) {
+                synchronized (STATEMENTS) {
+                    STATEMENTS.add(sql);
+                }
+            }
+            return sql;
+        }
+    }
+
+    // H2 prints "/* table.tableScan */" for a table scan and "/* index */" with no condition for a full index scan
+    private static final Pattern FULL_SCAN = Pattern.compile("/\\* [\\w.]+ \\*/");
+
+    @Autowired
+    private StudentRepository studentRepo;
+    @Autowired
+    private FacultyRepository facultyRepo;
+    @Autowired
+    private AdminRepository adminRepo;
+    @Autowired
+    private EventRepository eventRepo;
+    @Autowired
+    private StudentEventRepository studentEventRepo;
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Test
+    void loginAndRegistrationQueriesUseIndexes() {
+        Student student = new Student();
+        student.setName("Plan");
+        student.setEmail("plan@x.edu");
+        studentRepo.save(student);
+        Event event = new Event();
+        event.setName("Plan Event");
+        eventRepo.save(event);
+        LocalDateTime now = LocalDateTime.now();
+
+        List<String> statements = record(() -> {
+            // login / signup
+            studentRepo.findByEmail("plan@x.edu");
+            facultyRepo.findByEmail("plan@x.edu");
+            adminRepo.findByEmail("plan@x.edu");
+
+            // register / unregister / my events
+            eventRepo.takeSeat(event.getId());
+            eventRepo.existsById(event.getId());
+            studentEventRepo.deleteByStudentIdAndEventId(student.getId(), event.getId());
+            eventRepo.releaseSeat(event.getId());
+            studentEventRepo.findByStudentId(student.getId());
+            studentEventRepo.findEventIdsByStudentId(student.getId());
+            studentEventRepo.findAttendance(event.getId(), student.getId());
+
+            // faculty rosters and attendance
+            eventRepo.findByFacultyId(1L);
+            eventRepo.countByFacultyId(1L);
+            studentEventRepo.findByEvent(event);
+            studentEventRepo.findByStudentAndEvent(student, event);
+            studentEventRepo.updateAttendance(event.getId(), student.getId(), true);
+            studentEventRepo.findRegisteredStudentIds(event.getId(), Set.of(student.getId()));
+
+            // date slices
+            eventRepo.findUpcoming(now, PageRequest.of(0, 20));
+            eventRepo.findStartingBetween(now, now.plusDays(7), PageRequest.of(0, 20));
+            eventRepo.findUpcomingForFaculty(1L, now, PageRequest.of(0, 20));
+        });
+
+        assertThat(statements).isNotEmpty();
+        List<String> fullScans = statements.stream()
+                .filter(sql -> !sql.trim().toLowerCase().startsWith("insert"))
+                .map(this::explain)
+                .filter(plan -> FULL_SCAN.matcher(plan).find())
+                .toList();
+        assertThat(fullScans).isEmpty();
+    }
+
+    @Test
+    void duplicateEmailsStopTheMigrationWithTheirAddresses() {
+        DriverManagerDataSource legacy = new DriverManagerDataSource(
+                "jdbc:h2:mem:legacy-emails;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+        Flyway.configure().dataSource(legacy).target("1").load().migrate();
+        new JdbcTemplate(legacy).update("INSERT INTO student (name, email) VALUES ('A', 'twin@x.edu'), ('B', 'twin@x.edu'), ('C', 'solo@x.edu')");
+
+        assertThatThrownBy(() -> Flyway.configure().dataSource(legacy).load().migrate())
+                .hasStackTraceContaining("student: twin@x.edu (2 rows)")
+                .isInstanceOf(FlywayException.class);
+        assertThat(new JdbcTemplate(legacy).queryForObject("SELECT COUNT(*) FROM student", Integer.class)).isEqualTo(3);
+    }
+
+    private List<String> record(Runnable work) {
+        synchronized (RecordingInspector.STATEMENTS) {
+            RecordingInspector.STATEMENTS.clear();
+        }
+        RecordingInspector.recording = true;
+        try {
+            work.run();
+        } finally {
+            RecordingInspector.recording = false;
+        }
+        synchronized (RecordingInspector.STATEMENTS) {
+            return new ArrayList<>(RecordingInspector.STATEMENTS);
+        }
+    }
+
+    // Binds a placeholder of the right type to each parameter; H2 plans do not depend on the values
+    private String explain(String sql) {
+        return jdbc.execute("EXPLAIN " + sql, (PreparedStatement ps) -> {
+            ParameterMetaData meta = ps.getParameterMetaData();
+            for (int i = 1; i <= meta.getParameterCount(); i++) {
+                switch (meta.getParameterType(i)) {
+                    case Types.BIGINT, Types.INTEGER, Types.SMALLINT, Types.TINYINT -> ps.setLong(i, 1L);
+                    case Types.BOOLEAN, Types.BIT -> ps.setBoolean(i, true);
+                    case Types.TIMESTAMP -> ps.setTimestamp(i, Timestamp.valueOf(LocalDateTime.now()));
+                    default -> ps.setString(i, "1");
+                }
+            }
+            StringBuilder plan = new StringBuilder();
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) plan.append(rs.getString(1)).append('\n');
+            }
+            return plan.toString();
+        });
+    }
+}
@@ -0,0 +1,158 @@
+package com.act.backend.repositories;
+
+import com.act.backend.models.Event;
+import com.act.backend.models.Faculty;
+import com.act.backend.models.Student;
+import com.act.backend.services.AdminService;
+import com.act.backend.services.FacultyService;
+import com.act.backend.services.StudentService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class SecondLevelCacheTests {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private EventRepository eventRepo;
+    @Autowired
+    private FacultyRepository facultyRepo;
+    @Autowired
+    private StudentRepository studentRepo;
+    @Autowired
+    private AdminService adminService;
+    @Autowired
+    private StudentService studentService;
+    @Autowired
+    private FacultyService facultyService;
+
+    private Statistics stats;
+
+    @BeforeEach
+    void statistics() {
+        stats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void repeatedLookupsRunNoSql() {
+        Faculty faculty = faculty("cached.faculty@x.edu");
+        Event event = event("Cached", faculty);
+        warm(faculty, event);
+
+        stats.clear();
+        assertThat(eventRepo.findById(event.getId())).get().extracting(Event::getName).isEqualTo("Cached");
+        assertThat(facultyRepo.findById(faculty.getId())).isPresent();
+        assertThat(facultyRepo.findByEmail("cached.faculty@x.edu")).isPresent();
+        assertThat(eventRepo.findByFacultyId(faculty.getId())).extracting(Event::getId).containsExactly(event.getId());
+
+        assertThat(stats.getPrepareStatementCount()).isZero();
+        assertThat(stats.getSecondLevelCacheHitCount()).isPositive();
+        assertThat(stats.getQueryCacheHitCount()).isEqualTo(2);
+    }
+
+    @Test
+    void adminWritesAreVisibleToCachedReads() {
+        Faculty owner = faculty("cached.owner@x.edu");
+        Faculty other = faculty("cached.other@x.edu");
+        Faculty pending = faculty("cached.pending@x.edu");
+        pending.setApproved(false);
+        facultyRepo.save(pending);
+        Event event = event("Before", owner);
+        warm(owner, event);
+        facultyRepo.findByEmail("cached.pending@x.edu");
+
+        adminService.updateEvent(event.getId(), Map.of("name", "After"));
+        assertThat(eventRepo.findById(event.getId()).orElseThrow().getName()).isEqualTo("After");
+
+        adminService.reassignEvent(event.getId(), other.getId());
+        assertThat(eventRepo.findById(event.getId()).orElseThrow().getFaculty().getId()).isEqualTo(other.getId());
+        assertThat(eventRepo.findByFacultyId(owner.getId())).isEmpty();
+        assertThat(eventRepo.findByFacultyId(other.getId())).extracting(Event::getId).containsExactly(event.getId());
+
+        adminService.approveFaculty(pending.getId());
+        assertThat(facultyRepo.findByEmail("cached.pending@x.edu").orElseThrow().isApproved()).isTrue();
+
+        adminService.deleteEvent(event.getId());
+        assertThat(eventRepo.findById(event.getId())).isEmpty();
+    }
+
+    @Test
+    void seatAndAttendanceUpdatesDoNotFlushTheRegions() {
+        Faculty faculty = faculty("cached.seats@x.edu");
+        Event event = event("Seats", faculty);
+        Event neighbour = event("Neighbour", faculty);
+        Student student = new Student();
+        student.setName("Seat Taker");
+        student.setEmail("cached.seats.student@x.edu");
+        student.setPassword("pw");
+        studentRepo.save(student);
+        warm(faculty, event);
+        eventRepo.findById(neighbour.getId());
+
+        studentService.registerEvent(student.getId(), event.getId());
+        assertThat(eventRepo.findById(event.getId()).orElseThrow().getSeatsTaken()).isEqualTo(1);
+
+        facultyService.markAttendance(faculty.getId(), event.getId(), student.getId(), true);
+        stats.clear();
+        eventRepo.findById(neighbour.getId());
+        eventRepo.findById(event.getId());
+        facultyRepo.findById(faculty.getId());
+        assertThat(stats.getPrepareStatementCount()).isZero();
+
+        studentService.unregisterEvent(student.getId(), event.getId());
+        assertThat(eventRepo.findById(event.getId()).orElseThrow().getSeatsTaken()).isZero();
+    }
+
+    @Test
+    void deletingAStudentEvictsOnlyTheirEvents() {
+        Faculty faculty = faculty("cached.leaver@x.edu");
+        Event event = event("Left", faculty);
+        Event neighbour = event("Untouched", faculty);
+        Student student = new Student();
+        student.setName("Leaver");
+        student.setEmail("cached.leaver.student@x.edu");
+        student.setPassword("pw");
+        studentRepo.save(student);
+        studentService.registerEvent(student.getId(), event.getId());
+        warm(faculty, event);
+        eventRepo.findById(neighbour.getId());
+
+        adminService.deleteStudent(student.getId());
+
+        assertThat(entityManagerFactory.getCache().contains(Event.class, event.getId())).isFalse();
+        assertThat(entityManagerFactory.getCache().contains(Event.class, neighbour.getId())).isTrue();
+        assertThat(eventRepo.findById(event.getId()).orElseThrow().getSeatsTaken()).isZero();
+    }
+
+    private void warm(Faculty faculty, Event event) {
+        eventRepo.findById(event.getId());
+        facultyRepo.findById(faculty.getId());
+        facultyRepo.findByEmail(faculty.getEmail());
+        eventRepo.findByFacultyId(faculty.getId());
+    }
+
+    private Faculty faculty(String email) {
+        Faculty f = new Faculty();
+        f.setName(email);
+        f.setEmail(email);
+        f.setApproved(true);
+        return facultyRepo.save(f);
+    }
+
+    private Event event(String name, Faculty faculty) {
+        Event e = new Event();
+        e.setName(name);
+        e.setFaculty(faculty);
+        return eventRepo.save(e);
+    }
+}
@@ -0,0 +1,112 @@
+package com.act.backend.repositories;
+
+import com.act.backend.dto.StudentEventCountDTO;
+import com.act.backend.dto.StudentWithEventsDTO;
+import com.act.backend.models.Event;
+import com.act.backend.models.Student;
+import com.act.backend.models.StudentEvent;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {"spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.session.events.log=false"})
+class StudentRepositoryTests {
+
+    @Autowired
+    private StudentRepository studentRepo;
+    @Autowired
+    private EventRepository eventRepo;
+    @Autowired
+    private StudentEventRepository studentEventRepo;
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private List<Student> students;
+
+    @BeforeEach
+    void seed() {
+        students = studentRepo.saveAll(List.of(student("a"), student("b"), student("c")));
+        Event e1 = eventRepo.save(event("Hackathon"));
+        Event e2 = eventRepo.save(event("Quiz"));
+        register(students.get(1), e1);
+        register(students.get(1), e2);
+        register(students.get(2), e2);
+    }
+
+    @Test
+    void rosterPageFollowsIdCursor() {
+        List<StudentWithEventsDTO> first = studentRepo.findRosterPage(0L, Limit.of(2));
+        assertThat(first).extracting(StudentWithEventsDTO::getEmail).containsExactly("a@x.edu", "b@x.edu");
+
+        List<StudentWithEventsDTO> next = studentRepo.findRosterPage(first.get(1).getId(), Limit.of(2));
+        assertThat(next).extracting(StudentWithEventsDTO::getEmail).containsExactly("c@x.edu");
+    }
+
+    @Test
+    void eventNamesAreFetchedForTheWholePage() {
+        var rows = studentEventRepo.findEventNamesByStudentIds(students.stream().map(Student::getId).toList());
+        assertThat(rows).extracting(StudentEventRepository.StudentEventName::getEventName)
+                .containsExactly("Hackathon", "Quiz", "Quiz");
+    }
+
+    @Test
+    void eventCountsIncludeStudentsWithoutRegistrations() {
+        var page = studentRepo.findEventCountsMostActiveFirst(PageRequest.of(0, 10));
+        assertThat(page.getTotalElements()).isEqualTo(3);
+        assertThat(page.getContent()).extracting(StudentEventCountDTO::getEventCount).containsExactly(2L, 1L, 0L);
+
+        var byId = studentRepo.findEventCounts(PageRequest.of(0, 2));
+        assertThat(byId.getContent()).extracting(StudentEventCountDTO::getEmail).containsExactly("a@x.edu", "b@x.edu");
+        assertThat(byId.getTotalPages()).isEqualTo(2);
+    }
+
+    @Test
+    void loadingAStudentReadsOnlyTheStudentRow() {
+        entityManager.flush();
+        entityManager.clear();
+        Statistics stats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+
+        studentRepo.findByEmail("b@x.edu").orElseThrow();
+        studentRepo.findById(students.get(2).getId()).orElseThrow();
+
+        assertThat(stats.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(stats.getCollectionLoadCount()).isZero();
+    }
+
+    private Student student(String name) {
+        Student s = new Student();
+        s.setName(name);
+        s.setEmail(name + "@x.edu");
+        s.setDepartment("CSE");
+        s.setPassword("pw");
+        return s;
+    }
+
+    private Event event(String name) {
+        Event e = new Event();
+        e.setName(name);
+        return e;
+    }
+
+    private void register(Student s, Event e) {
+        StudentEvent se = new StudentEvent();
+        se.setStudent(s);
+        se.setEvent(e);
+        studentEventRepo.save(se);
+    }
+}
@@ -0,0 +1,76 @@
+package com.act.backend.security;
+
+import com.act.backend.models.Student;
+import com.act.backend.repositories.StudentRepository;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class AuthTokenFilterTests {
+
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private TokenService tokenService;
+    @Autowired
+    private StudentRepository studentRepo;
+
+    @Test
+    void loginIssuesACookieThatAuthenticatesWithoutASession() throws Exception {
+        Student s = new Student();
+        s.setName("Token");
+        s.setEmail("token@x.edu");
+        s.setPassword("secret");
+        studentRepo.save(s);
+
+        MvcResult login = mvc.perform(post("/api/students/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"token@x.edu\",\"password\":\"secret\"}"))
+                .andExpect(status().isOk())
+                .andReturn();
+        Cookie cookie = login.getResponse().getCookie(AuthRole.STUDENT.cookieName());
+        assertThat(cookie).isNotNull();
+        assertThat(cookie.isHttpOnly()).isTrue();
+        assertThat(login.getRequest().getSession(false)).isNull();
+
+        mvc.perform(get("/api/students/profile").cookie(cookie))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.email").value("token@x.edu"));
+    }
+
+    @Test
+    void protectedEndpointsRejectMissingForgedOrWrongRoleTokens() throws Exception {
+        mvc.perform(get("/api/students/events")).andExpect(status().isUnauthorized());
+
+        String studentToken = tokenService.issue(AuthRole.STUDENT, 1L);
+        mvc.perform(get("/api/admin/events").header("Authorization", "Bearer " + studentToken))
+                .andExpect(status().isUnauthorized());
+
+        String forged = studentToken.substring(0, studentToken.length() - 2) + "xx";
+        mvc.perform(get("/api/students/events").header("Authorization", "Bearer " + forged))
+                .andExpect(status().isUnauthorized());
+
+        mvc.perform(get("/api/students/events").header("Authorization", "Bearer " + studentToken))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void tokensRoundTripRoleAndId() {
+        assertThat(tokenService.verify(tokenService.issue(AuthRole.FACULTY, 42L)))
+                .contains(new AuthPrincipal(AuthRole.FACULTY, 42L));
+        assertThat(tokenService.verify("garbage")).isEmpty();
+    }
+}
@@ -0,0 +1,110 @@
+package com.act.backend.services;
+
+import com.act.backend.models.Event;
+import com.act.backend.models.Faculty;
+import com.act.backend.models.Student;
+import com.act.backend.monitoring.SqlBudget;
+import com.act.backend.repositories.EventRepository;
+import com.act.backend.repositories.FacultyRepository;
+import com.act.backend.repositories.StudentEventRepository;
+import com.act.backend.repositories.StudentRepository;
+import com.act.backend.security.AuthRole;
+import com.act.backend.security.TokenService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class AttendanceBulkTests {
+
+    private static final int REGISTERED = 40;
+
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private TokenService tokenService;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private StudentService studentService;
+    @Autowired
+    private StudentRepository studentRepo;
+    @Autowired
+    private FacultyRepository facultyRepo;
+    @Autowired
+    private EventRepository eventRepo;
+    @Autowired
+    private StudentEventRepository studentEventRepo;
+
+    @Test
+    void eachIdGetsAStatusAndTheRosterIsUpdatedInAFixedNumberOfStatements() throws Exception {
+        Faculty faculty = new Faculty();
+        faculty.setName("Bulk Faculty");
+        faculty.setEmail("bulk.faculty@x.edu");
+        faculty.setApproved(true);
+        facultyRepo.save(faculty);
+        Event event = new Event();
+        event.setName("Bulk Attendance");
+        event.setFaculty(faculty);
+        eventRepo.save(event);
+
+        List<Long> registered = new ArrayList<>();
+        for (int i = 0; i < REGISTERED; i++) {
+            Long id = studentRepo.save(student("bulk" + i)).getId();
+            studentService.registerEvent(id, event.getId());
+            registered.add(id);
+        }
+        Long stranger = studentRepo.save(student("bulk.stranger")).getId();
+
+        // Even ids present, odd ids absent, the first one left unset
+        Map<Long, Boolean> attendance = new LinkedHashMap<>();
+        for (int i = 0; i < REGISTERED; i++) attendance.put(registered.get(i), i == 0 ? null : i % 2 == 0);
+        attendance.put(stranger, true);
+
+        // The owned event, one roster lookup, one UPDATE for the present and one for the absent
+        String body = mvc.perform(post("/api/faculty/events/" + event.getId() + "/attendance/bulk")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + tokenService.issue(AuthRole.FACULTY, faculty.getId()))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(attendance)))
+                .andExpect(status().isOk())
+                .andExpect(SqlBudget.atMost(4))
+                .andReturn().getResponse().getContentAsString();
+
+        Map<Long, String> statuses = new HashMap<>();
+        for (JsonNode result : objectMapper.readTree(body)) statuses.put(result.get("studentId").asLong(), result.get("status").asText());
+        assertThat(statuses).hasSize(REGISTERED + 1);
+        assertThat(statuses.get(registered.get(0))).isEqualTo("INVALID");
+        assertThat(statuses.get(stranger)).isEqualTo("NOT_REGISTERED");
+        for (int i = 1; i < REGISTERED; i++) {
+            assertThat(statuses.get(registered.get(i))).isEqualTo("UPDATED");
+            assertThat(studentEventRepo.findAttendance(event.getId(), registered.get(i))).isEqualTo(i % 2 == 0);
+        }
+        assertThat(studentEventRepo.findAttendance(event.getId(), registered.get(0))).isNull();
+        assertThat(studentEventRepo.findAttendance(event.getId(), stranger)).isNull();
+    }
+
+    private static Student student(String name) {
+        Student s = new Student();
+        s.setName(name);
+        s.setEmail(name + "@x.edu");
+        s.setPassword("pw");
+        return s;
+    }
+}
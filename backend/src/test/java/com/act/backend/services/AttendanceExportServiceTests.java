@@ -0,0 +1,147 @@
+package com.act.backend.services;
+
+import com.act.backend.models.Event;
+import com.act.backend.models.Faculty;
+import com.act.backend.models.Student;
+import com.act.backend.models.StudentEvent;
+import com.act.backend.repositories.EventRepository;
+import com.act.backend.repositories.FacultyRepository;
+import com.act.backend.repositories.StudentEventRepository;
+import com.act.backend.repositories.StudentRepository;
+import com.act.backend.security.AuthRole;
+import com.act.backend.security.TokenService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Own database so whole-table exports see only this class's rows
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:exports;MODE=MySQL;DATABASE_TO_LOWER=TRUE")
+@AutoConfigureMockMvc
+@DirtiesContext
+class AttendanceExportServiceTests {
+
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private TokenService tokenService;
+    @Autowired
+    private AttendanceExportService exportService;
+    @Autowired
+    private StudentRepository studentRepo;
+    @Autowired
+    private FacultyRepository facultyRepo;
+    @Autowired
+    private EventRepository eventRepo;
+    @Autowired
+    private StudentEventRepository studentEventRepo;
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Test
+    void exportsStreamCsvAndFacultySeeOnlyTheirEvents() throws Exception {
+        Faculty owner = facultyRepo.save(faculty("owner"));
+        Faculty other = facultyRepo.save(faculty("other"));
+        Event mine = eventRepo.save(event("Debate, \"finals\"", owner));
+        Event theirs = eventRepo.save(event("Chess", other));
+        Student ann = studentRepo.save(student("ann", "=SUM(A1)"));
+        Student bob = studentRepo.save(student("bob", "ECE"));
+        register(ann, mine, true);
+        register(bob, mine, null);
+        register(bob, theirs, false);
+
+        MvcResult pending = mvc.perform(get("/api/admin/exports/attendance")
+                        .param("eventId", mine.getId().toString())
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + tokenService.issue(AuthRole.ADMIN, 1L)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String csv = mvc.perform(asyncDispatch(pending))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"attendance.csv\""))
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(csv.split("\r\n")).containsExactly(
+                AttendanceExportService.HEADER,
+                mine.getId() + ",\"Debate, \"\"finals\"\"\",2026-05-04T10:00,owner," + ann.getId() + ",ann,ann@x.edu,'=SUM(A1),present",
+                mine.getId() + ",\"Debate, \"\"finals\"\"\",2026-05-04T10:00,owner," + bob.getId() + ",bob,bob@x.edu,ECE,unmarked");
+
+        pending = mvc.perform(get("/api/faculty/exports/attendance")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + tokenService.issue(AuthRole.FACULTY, other.getId())))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        csv = mvc.perform(asyncDispatch(pending)).andReturn().getResponse().getContentAsString();
+        assertThat(csv.split("\r\n")).hasSize(2);
+        assertThat(csv).contains(",Chess,").doesNotContain("Debate");
+    }
+
+    // The million-row run is AttendanceExportLoadTest in the load profile
+    @Test
+    void wholeTableExportStreamsEveryRow() {
+        // SYSTEM_RANGE's column is upper-case "X", which has to be quoted under DATABASE_TO_LOWER
+        jdbc.update("INSERT INTO student (name, email, department, password) " +
+                "SELECT CONCAT('Bulk ', \"X\"), CONCAT('bulk', \"X\", '@x.edu'), CONCAT('DEPT', MOD(\"X\", 10)), 'pw' " +
+                "FROM SYSTEM_RANGE(1, 50)");
+        jdbc.update("INSERT INTO event (name, seats_taken, start_at) " +
+                "SELECT CONCAT('Bulk event ', \"X\"), 50, TIMESTAMP '2026-01-05 09:00:00' FROM SYSTEM_RANGE(1, 40)");
+        jdbc.update("INSERT INTO student_event (student_id, event_id, attendance) " +
+                "SELECT s.id, e.id, MOD(s.id + e.id, 3) = 0 FROM student s CROSS JOIN event e " +
+                "WHERE s.email LIKE 'bulk%' AND e.name LIKE 'Bulk event %'");
+        long expected = studentEventRepo.count();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long rows = exportService.writeCsv(new AttendanceExportService.Filter(null, null, null, null, null), out);
+
+        assertThat(rows).isEqualTo(expected).isGreaterThanOrEqualTo(2000);
+        assertThat(out.toString(StandardCharsets.UTF_8).split("\r\n")).hasSize((int) rows + 1);
+    }
+
+    private static Faculty faculty(String name) {
+        Faculty f = new Faculty();
+        f.setName(name);
+        f.setEmail(name + "@faculty.x.edu");
+        f.setApproved(true);
+        return f;
+    }
+
+    private static Event event(String name, Faculty faculty) {
+        Event e = new Event();
+        e.setName(name);
+        e.setFaculty(faculty);
+        e.setStartAt(LocalDateTime.of(2026, 5, 4, 10, 0));
+        e.setEndAt(LocalDateTime.of(2026, 5, 4, 12, 0));
+        return e;
+    }
+
+    private static Student student(String name, String department) {
+        Student s = new Student();
+        s.setName(name);
+        s.setEmail(name + "@x.edu");
+        s.setDepartment(department);
+        s.setPassword("pw");
+        return s;
+    }
+
+    private void register(Student s, Event e, Boolean attendance) {
+        StudentEvent se = new StudentEvent();
+        se.setStudent(s);
+        se.setEvent(e);
+        se.setAttendance(attendance);
+        studentEventRepo.save(se);
+    }
+}
@@ -0,0 +1,208 @@
+package com.act.backend.services;
+
+import com.act.backend.dto.AttendanceStatsDTO;
+import com.act.backend.models.Event;
+import com.act.backend.models.Faculty;
+import com.act.backend.models.Student;
+import com.act.backend.repositories.EventRepository;
+import com.act.backend.repositories.FacultyRepository;
+import com.act.backend.repositories.StudentRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.groups.Tuple.tuple;
+
+@SpringBootTest
+class AttendanceStatsServiceTests {
+
+    @Autowired
+    private AttendanceStatsService attendanceStats;
+    @Autowired
+    private StudentService studentService;
+    @Autowired
+    private FacultyService facultyService;
+    @Autowired
+    private AdminService adminService;
+    @Autowired
+    private StudentRepository studentRepo;
+    @Autowired
+    private FacultyRepository facultyRepo;
+    @Autowired
+    private EventRepository eventRepo;
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Test
+    void countersFollowEveryRegistrationChangeAndMatchARebuild() {
+        Faculty faculty = new Faculty();
+        faculty.setName("Stats Faculty");
+        faculty.setEmail("stats.faculty@x.edu");
+        faculty.setApproved(true);
+        facultyRepo.save(faculty);
+        Event event = new Event();
+        event.setName("Stats Event");
+        event.setFaculty(faculty);
+        eventRepo.save(event);
+        long eventId = event.getId();
+
+        Student ann = student("stats.ann", "CSE");
+        Student bob = student("stats.bob", "CSE");
+        Student cat = student("stats.cat", "ECE");
+        Student dan = student("stats.dan", null);
+        for (Student s : List.of(ann, bob, cat, dan)) studentService.registerEvent(s.getId(), eventId);
+        assertThatThrownBy(() -> studentService.registerEvent(ann.getId(), eventId)).hasMessage("Already registered");
+
+        facultyService.markAttendance(faculty.getId(), eventId, ann.getId(), true);
+        Map<Long, Boolean> bulk = new HashMap<>();
+        bulk.put(bob.getId(), false);
+        bulk.put(cat.getId(), true);
+        bulk.put(-1L, true);
+        facultyService.markAttendanceBulk(faculty.getId(), eventId, bulk);
+        facultyService.markAttendance(faculty.getId(), eventId, ann.getId(), false);
+
+        assertThat(buckets(eventId)).containsExactly(
+                Map.entry("", List.of(1, 0, 0)),
+                Map.entry("CSE", List.of(2, 0, 2)),
+                Map.entry("ECE", List.of(1, 1, 0)));
+
+        Student moved = new Student();
+        moved.setName(cat.getName());
+        moved.setEmail(cat.getEmail());
+        moved.setDepartment("CSE");
+        adminService.updateStudent(cat.getId(), moved);
+        studentService.unregisterEvent(dan.getId(), eventId);
+        adminService.deleteStudent(bob.getId());
+
+        assertThat(buckets(eventId)).containsExactly(
+                Map.entry("", List.of(0, 0, 0)),
+                Map.entry("CSE", List.of(2, 1, 1)),
+                Map.entry("ECE", List.of(0, 0, 0)));
+
+        AttendanceStatsDTO totals = attendanceStats.forEvent(eventId);
+        assertThat(totals.getRegistered()).isEqualTo(2);
+        assertThat(totals.getUnmarked()).isZero();
+        assertThat(totals.getAttendanceRate()).isEqualTo(0.5);
+        assertThat(attendanceStats.forFacultyEvents(faculty.getId()))
+                .extracting(AttendanceStatsDTO::getId, AttendanceStatsDTO::getPresent)
+                .containsExactly(tuple(eventId, 1L));
+
+        // The rebuild drops the empty buckets but must agree on every count
+        attendanceStats.rebuild();
+        assertThat(buckets(eventId)).containsExactly(Map.entry("CSE", List.of(2, 1, 1)));
+
+        adminService.deleteEvent(eventId);
+        assertThat(buckets(eventId)).isEmpty();
+    }
+
+    @Test
+    void rejectingAFacultyRemovesItsRegisteredEventsAndTheirStats() {
+        Faculty pending = new Faculty();
+        pending.setName("Rejected Faculty");
+        pending.setEmail("stats.rejected@x.edu");
+        facultyRepo.save(pending);
+        Event event = new Event();
+        event.setName("Rejected Event");
+        event.setFaculty(pending);
+        eventRepo.save(event);
+        Student eve = student("stats.eve", "CSE");
+        studentService.registerEvent(eve.getId(), event.getId());
+        assertThat(buckets(event.getId())).isNotEmpty();
+
+        adminService.rejectFaculty(pending.getId(), "duplicate");
+
+        assertThat(facultyRepo.existsById(pending.getId())).isFalse();
+        assertThat(eventRepo.existsById(event.getId())).isFalse();
+        assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM student_event WHERE event_id = ?", Integer.class, event.getId())).isZero();
+        assertThat(buckets(event.getId())).isEmpty();
+        assertThat(studentRepo.existsById(eve.getId())).isTrue();
+    }
+
+    @Test
+    void rebuildRunningAlongsideRegistrationsLeavesNoDrift() throws Exception {
+        Faculty faculty = new Faculty();
+        faculty.setName("Drift Faculty");
+        faculty.setEmail("drift.faculty@x.edu");
+        faculty.setApproved(true);
+        facultyRepo.save(faculty);
+        List<Long> events = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Event event = new Event();
+            event.setName("Drift Event " + i);
+            event.setFaculty(faculty);
+            events.add(eventRepo.save(event).getId());
+        }
+        List<Student> students = new ArrayList<>();
+        for (int i = 0; i < 60; i++) students.add(student("drift" + i, "DEPT" + i % 3));
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Future<?>> writes = new ArrayList<>();
+        for (int i = 0; i < students.size(); i++) {
+            long studentId = students.get(i).getId();
+            int n = i;
+            writes.add(pool.submit(() -> {
+                for (Long eventId : events) studentService.registerEvent(studentId, eventId);
+                facultyService.markAttendance(faculty.getId(), events.get(n % 3), studentId, n % 2 == 0);
+                if (n % 5 == 0) studentService.unregisterEvent(studentId, events.get((n + 1) % 3));
+                return null;
+            }));
+        }
+        // Keep recounting until every write has gone through
+        Future<Integer> rebuilds = pool.submit(() -> {
+            int runs = 0;
+            while (runs == 0 || !writes.stream().allMatch(Future::isDone)) {
+                attendanceStats.rebuild();
+                runs++;
+            }
+            return runs;
+        });
+        for (Future<?> write : writes) write.get(60, TimeUnit.SECONDS);
+        assertThat(rebuilds.get(60, TimeUnit.SECONDS)).isPositive();
+        pool.shutdown();
+
+        for (Long eventId : events) {
+            Map<String, List<Integer>> counted = new TreeMap<>();
+            jdbc.query("SELECT s.department, COUNT(*), SUM(CASE WHEN se.attendance THEN 1 ELSE 0 END), " +
+                            "SUM(CASE WHEN NOT se.attendance THEN 1 ELSE 0 END) FROM student_event se " +
+                            "JOIN student s ON s.id = se.student_id WHERE se.event_id = ? GROUP BY s.department",
+                    rs -> {
+                        counted.put(rs.getString(1), List.of(rs.getInt(2), rs.getInt(3), rs.getInt(4)));
+                    }, eventId);
+            Map<String, List<Integer>> stored = buckets(eventId);
+            stored.values().removeIf(counts -> counts.equals(List.of(0, 0, 0)));
+            assertThat(stored).as("event %d", eventId).isEqualTo(counted);
+        }
+    }
+
+    private Student student(String name, String department) {
+        Student s = new Student();
+        s.setName(name);
+        s.setEmail(name + "@x.edu");
+        s.setDepartment(department);
+        s.setPassword("pw");
+        return studentRepo.save(s);
+    }
+
+    // department -> [registered, present, absent]
+    private Map<String, List<Integer>> buckets(long eventId) {
+        Map<String, List<Integer>> buckets = new TreeMap<>();
+        jdbc.query("SELECT department, registered, present, absent FROM event_attendance_stats WHERE event_id = ?",
+                rs -> {
+                    buckets.put(rs.getString(1), List.of(rs.getInt(2), rs.getInt(3), rs.getInt(4)));
+                }, eventId);
+        return buckets;
+    }
+}
@@ -0,0 +1,135 @@
+package com.act.backend.services;
+
+import com.act.backend.dto.FacultyDecisionRequest;
+import com.act.backend.dto.ModerationReportDTO;
+import com.act.backend.models.EmailOutbox;
+import com.act.backend.models.Faculty;
+import com.act.backend.repositories.EmailOutboxRepository;
+import com.act.backend.repositories.FacultyRepository;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class EmailOutboxDispatcherTests {
+
+    // In-process SMTP stand-in on localhost:3025 (see src/test/resources/application.properties)
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @Autowired
+    private AdminService adminService;
+    @Autowired
+    private EmailOutboxDispatcher dispatcher;
+    @Autowired
+    private EmailOutboxRepository outboxRepo;
+    @Autowired
+    private FacultyRepository facultyRepo;
+
+    @BeforeEach
+    void clean() {
+        outboxRepo.deleteAll();
+    }
+
+    @Test
+    void approvalIsQueuedThenDeliveredByTheDispatcher() throws Exception {
+        Faculty f = pendingFaculty("approve-me@x.edu");
+
+        adminService.approveFaculty(f.getId());
+        assertThat(greenMail.getReceivedMessages()).isEmpty();
+        assertThat(outboxRepo.countByStatus(EmailOutbox.Status.PENDING)).isEqualTo(1);
+
+        dispatcher.dispatch();
+
+        assertThat(greenMail.getReceivedMessages()).hasSize(1);
+        assertThat(greenMail.getReceivedMessages()[0].getSubject()).isEqualTo("Faculty Approval");
+        EmailOutbox sent = outboxRepo.findAll().get(0);
+        assertThat(sent.getStatus()).isEqualTo(EmailOutbox.Status.SENT);
+        assertThat(sent.getSentAt()).isNotNull();
+    }
+
+    @Test
+    void batchGoesOutTogether() {
+        for (int i = 0; i < 5; i++) pendingFaculty("batch" + i + "@x.edu");
+        facultyRepo.findByApprovedFalse().forEach(f -> adminService.rejectFaculty(f.getId(), "duplicate"));
+
+        dispatcher.dispatch();
+
+        assertThat(greenMail.getReceivedMessages()).hasSize(5);
+        assertThat(outboxRepo.countByStatus(EmailOutbox.Status.SENT)).isEqualTo(5);
+    }
+
+    @Test
+    void unreachableServerBacksOffThenDeadLetters() {
+        Faculty f = pendingFaculty("retry@x.edu");
+        adminService.rejectFaculty(f.getId(), "incomplete profile");
+        greenMail.stop();
+
+        dispatcher.dispatch();
+        EmailOutbox retried = outboxRepo.findAll().get(0);
+        assertThat(retried.getStatus()).isEqualTo(EmailOutbox.Status.PENDING);
+        assertThat(retried.getAttempts()).isEqualTo(1);
+        assertThat(retried.getNextAttemptAt()).isAfter(LocalDateTime.now());
+        assertThat(retried.getLastError()).isNotBlank();
+
+        // Not due yet: a second pass must leave it alone
+        dispatcher.dispatch();
+        assertThat(outboxRepo.findAll().get(0).getAttempts()).isEqualTo(1);
+
+        retried.setNextAttemptAt(LocalDateTime.now().minusSeconds(1));
+        outboxRepo.save(retried);
+        dispatcher.dispatch();
+        assertThat(outboxRepo.findAll().get(0).getStatus()).isEqualTo(EmailOutbox.Status.DEAD);
+    }
+
+    @Test
+    void batchModerationAppliesEveryDecisionAndQueuesTheMailsTogether() {
+        Faculty approve = pendingFaculty("moderate-approve@x.edu");
+        Faculty reject = pendingFaculty("moderate-reject@x.edu");
+        Faculty late = pendingFaculty("moderate-late@x.edu");
+        Faculty active = pendingFaculty("moderate-active@x.edu");
+        adminService.approveFaculty(active.getId());
+        outboxRepo.deleteAll();
+
+        ModerationReportDTO report = adminService.moderateFaculties(List.of(
+                new FacultyDecisionRequest(approve.getId(), "APPROVE", null),
+                new FacultyDecisionRequest(reject.getId(), "reject", "duplicate"),
+                new FacultyDecisionRequest(late.getId(), "REJECT", " "),
+                new FacultyDecisionRequest(approve.getId(), "REJECT", "changed my mind"),
+                new FacultyDecisionRequest(active.getId(), "APPROVE", null),
+                new FacultyDecisionRequest(-1L, "APPROVE", null),
+                new FacultyDecisionRequest(late.getId(), "REJECT", "incomplete profile")));
+
+        assertThat(report.getResults()).extracting(ModerationReportDTO.Result::getMessage).containsExactly(
+                "Faculty approved and email queued", "Faculty rejected and email queued", "Reason is required to reject",
+                "Duplicate decision", "Faculty already approved", "Faculty not found", "Faculty rejected and email queued");
+        assertThat(report.getApproved()).isEqualTo(1);
+        assertThat(report.getRejected()).isEqualTo(2);
+        assertThat(report.getSkipped()).isEqualTo(4);
+        assertThat(facultyRepo.findById(approve.getId()).orElseThrow().isApproved()).isTrue();
+        assertThat(facultyRepo.existsById(reject.getId())).isFalse();
+        assertThat(facultyRepo.existsById(late.getId())).isFalse();
+        assertThat(outboxRepo.countByStatus(EmailOutbox.Status.PENDING)).isEqualTo(3);
+
+        dispatcher.dispatch();
+
+        assertThat(greenMail.getReceivedMessages()).hasSize(3);
+        assertThat(outboxRepo.countByStatus(EmailOutbox.Status.SENT)).isEqualTo(3);
+    }
+
+    private Faculty pendingFaculty(String email) {
+        Faculty f = new Faculty();
+        f.setName("Pending");
+        f.setEmail(email);
+        return facultyRepo.save(f);
+    }
+}
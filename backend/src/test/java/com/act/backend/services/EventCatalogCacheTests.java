@@ -0,0 +1,122 @@
+package com.act.backend.services;
+
+import com.act.backend.models.Event;
+import com.act.backend.models.Faculty;
+import com.act.backend.repositories.EventRepository;
+import com.act.backend.repositories.FacultyRepository;
+import com.act.backend.security.AuthRole;
+import com.act.backend.security.TokenService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "app.catalog.ttl-ms=500")
+@AutoConfigureMockMvc
+class EventCatalogCacheTests {
+
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private TokenService tokenService;
+    @Autowired
+    private AdminService adminService;
+    @Autowired
+    private EventCatalogCache catalogCache;
+    @Autowired
+    private FacultyService facultyService;
+    @Autowired
+    private FacultyRepository facultyRepo;
+    @Autowired
+    private EventRepository eventRepo;
+
+    @Test
+    void unchangedCatalogIsServedFromTheSnapshotAndRevalidatesWith304() throws Exception {
+        adminService.addEvent(Map.of("name", "Catalog Fair", "venue", "Hall", "date", "2026-03-01"));
+        String bearer = "Bearer " + tokenService.issue(AuthRole.STUDENT, 1L);
+
+        String etag = mvc.perform(get("/api/students/events").header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.name == 'Catalog Fair')]").exists())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).isNotBlank();
+        assertThat(catalogCache.current().etag()).isEqualTo(etag);
+
+        mvc.perform(get("/api/students/events").header(HttpHeaders.AUTHORIZATION, bearer)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        // Admins share the same snapshot and therefore the same ETag
+        mvc.perform(get("/api/admin/events")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + tokenService.issue(AuthRole.ADMIN, 1L))
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void adminWritesInvalidateTheSnapshot() throws Exception {
+        String bearer = "Bearer " + tokenService.issue(AuthRole.STUDENT, 1L);
+        String before = catalogCache.current().etag();
+
+        Long id = adminService.addEvent(Map.of("name", "Invalidation Talk", "venue", "Lab", "date", "2026-04-01")).getId();
+        String afterAdd = catalogCache.current().etag();
+        assertThat(afterAdd).isNotEqualTo(before);
+
+        mvc.perform(get("/api/students/events").header(HttpHeaders.AUTHORIZATION, bearer)
+                        .header(HttpHeaders.IF_NONE_MATCH, before))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.name == 'Invalidation Talk')]").exists());
+
+        adminService.updateEvent(id, Map.of("venue", "Auditorium"));
+        assertThat(catalogCache.current().etag()).isNotEqualTo(afterAdd);
+
+        adminService.deleteEvent(id);
+        mvc.perform(get("/api/students/events").header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.name == 'Invalidation Talk')]").doesNotExist());
+    }
+
+    @Test
+    void writesFromAnotherInstanceShowUpOnceTheSnapshotExpires() {
+        String before = catalogCache.current().etag();
+
+        // Saved straight through the repository, as another backend would, so nothing here invalidates
+        Event event = new Event();
+        event.setName("Elsewhere Talk");
+        eventRepo.save(event);
+
+        await().atMost(Duration.ofSeconds(5))
+                .until(() -> new String(catalogCache.current().json()).contains("Elsewhere Talk"));
+        assertThat(catalogCache.current().etag()).isNotEqualTo(before);
+    }
+
+    @Test
+    void facultyProfileEditsInvalidateTheSnapshot() {
+        Faculty faculty = new Faculty();
+        faculty.setName("Catalog Host");
+        faculty.setEmail("catalog.host@x.edu");
+        faculty.setApproved(true);
+        facultyRepo.save(faculty);
+        adminService.addEvent(Map.of("name", "Hosted Talk", "date", "2026-04-02", "facultyId", faculty.getId()));
+        String before = catalogCache.current().etag();
+
+        Faculty renamed = new Faculty();
+        renamed.setName("Catalog Host, PhD");
+        renamed.setDepartment("Physics");
+        facultyService.updateProfile(faculty.getId(), renamed);
+
+        assertThat(catalogCache.current().etag()).isNotEqualTo(before);
+        assertThat(new String(catalogCache.current().json())).contains("Catalog Host, PhD");
+    }
+}
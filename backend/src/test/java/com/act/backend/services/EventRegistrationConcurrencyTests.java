@@ -0,0 +1,161 @@
+package com.act.backend.services;
+
+import com.act.backend.models.Event;
+import com.act.backend.models.Student;
+import com.act.backend.repositories.EventRepository;
+import com.act.backend.repositories.StudentEventRepository;
+import com.act.backend.repositories.StudentRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class EventRegistrationConcurrencyTests {
+
+    private static final int THREADS = 64;
+
+    @Autowired
+    private StudentService studentService;
+    @Autowired
+    private AdminService adminService;
+    @Autowired
+    private StudentRepository studentRepo;
+    @Autowired
+    private EventRepository eventRepo;
+    @Autowired
+    private StudentEventRepository studentEventRepo;
+
+    @Test
+    void concurrentRegistrationsNeverOverbook() throws Exception {
+        Event event = event("Registration Day", 50);
+        List<Student> students = new ArrayList<>();
+        for (int i = 0; i < 300; i++) students.add(student("rush" + i));
+        studentRepo.saveAll(students);
+
+        Map<String, Integer> outcomes = registerConcurrently(students, event.getId());
+
+        assertThat(outcomes.get("Event registered successfully")).isEqualTo(50);
+        assertThat(outcomes.get("Event is full")).isEqualTo(250);
+        assertThat(studentEventRepo.findByEvent(event)).hasSize(50);
+        assertThat(eventRepo.findById(event.getId()).orElseThrow().getSeatsTaken()).isEqualTo(50);
+    }
+
+    @Test
+    void concurrentDuplicatesCreateOneRegistration() throws Exception {
+        Event event = event("Double Click", null);
+        Student student = studentRepo.save(student("impatient"));
+        List<Student> sameStudent = new ArrayList<>();
+        for (int i = 0; i < 100; i++) sameStudent.add(student);
+
+        Map<String, Integer> outcomes = registerConcurrently(sameStudent, event.getId());
+
+        assertThat(outcomes.get("Event registered successfully")).isEqualTo(1);
+        assertThat(outcomes.get("Already registered")).isEqualTo(99);
+        assertThat(studentEventRepo.findByEvent(event)).hasSize(1);
+        assertThat(eventRepo.findById(event.getId()).orElseThrow().getSeatsTaken()).isEqualTo(1);
+    }
+
+    @Test
+    void unknownStudentIsNotReportedAsADuplicate() {
+        Event event = event("Ghost Talk", 5);
+
+        assertThat(outcome(() -> studentService.registerEvent(-1L, event.getId())))
+                .isNotEqualTo("Already registered")
+                .isNotEqualTo("Event registered successfully");
+        assertThat(eventRepo.findById(event.getId()).orElseThrow().getSeatsTaken()).isZero();
+    }
+
+    @Test
+    void unregisterFreesTheSeat() {
+        Event event = event("Tiny", 1);
+        Long first = studentRepo.save(student("first")).getId();
+        Long second = studentRepo.save(student("second")).getId();
+
+        studentService.registerEvent(first, event.getId());
+        assertThat(outcome(() -> studentService.registerEvent(second, event.getId()))).isEqualTo("Event is full");
+
+        studentService.unregisterEvent(first, event.getId());
+        assertThat(studentService.registerEvent(second, event.getId())).isEqualTo("Event registered successfully");
+        assertThat(eventRepo.findById(event.getId()).orElseThrow().getSeatsTaken()).isEqualTo(1);
+    }
+
+    @Test
+    void capacityCannotDropBelowTheSeatsTaken() {
+        Event event = event("Shrinking", 5);
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 4; i++) ids.add(studentRepo.save(student("shrink" + i)).getId());
+        for (int i = 0; i < 3; i++) studentService.registerEvent(ids.get(i), event.getId());
+
+        assertThat(outcome(() -> adminService.updateEvent(event.getId(), Map.of("capacity", 2)).getName()))
+                .isEqualTo("Capacity cannot be lower than the seats already taken");
+        assertThat(eventRepo.findById(event.getId()).orElseThrow().getCapacity()).isEqualTo(5);
+
+        adminService.updateEvent(event.getId(), Map.of("capacity", 3));
+        assertThat(eventRepo.findById(event.getId()).orElseThrow().getCapacity()).isEqualTo(3);
+        assertThat(outcome(() -> studentService.registerEvent(ids.get(3), event.getId()))).isEqualTo("Event is full");
+    }
+
+    @Test
+    void deletingAStudentReleasesTheirSeats() {
+        Event event = event("Leaving", 5);
+        Long leaver = studentRepo.save(student("leaver")).getId();
+        Long stayer = studentRepo.save(student("stayer")).getId();
+        studentService.registerEvent(leaver, event.getId());
+        studentService.registerEvent(stayer, event.getId());
+
+        adminService.deleteStudent(leaver);
+
+        assertThat(studentRepo.existsById(leaver)).isFalse();
+        assertThat(studentEventRepo.findByStudentId(leaver)).isEmpty();
+        assertThat(studentEventRepo.findByStudentId(stayer)).hasSize(1);
+        assertThat(eventRepo.findById(event.getId()).orElseThrow().getSeatsTaken()).isEqualTo(1);
+    }
+
+    private Map<String, Integer> registerConcurrently(List<Student> students, Long eventId) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<String>> results = new ArrayList<>();
+        for (Student s : students) {
+            results.add(pool.submit(() -> {
+                start.await();
+                return outcome(() -> studentService.registerEvent(s.getId(), eventId));
+            }));
+        }
+        start.countDown();
+
+        Map<String, Integer> outcomes = new ConcurrentHashMap<>();
+        for (Future<String> f : results) outcomes.merge(f.get(60, TimeUnit.SECONDS), 1, Integer::sum);
+        pool.shutdown();
+        return outcomes;
+    }
+
+    private static String outcome(Callable<String> call) {
+        try {
+            return call.call();
+        } catch (Exception e) {
+            return e.getMessage();
+        }
+    }
+
+    private Event event(String name, Integer capacity) {
+        Event e = new Event();
+        e.setName(name);
+        e.setCapacity(capacity);
+        return eventRepo.save(e);
+    }
+
+    private static Student student(String name) {
+        Student s = new Student();
+        s.setName(name);
+        s.setEmail(name + "@x.edu");
+        s.setPassword("pw");
+        return s;
+    }
+}
@@ -0,0 +1,78 @@
+package com.act.backend.services;
+
+import com.act.backend.models.Event;
+import db.migration.V8__Backfill_event_dates;
+import org.flywaydb.core.api.configuration.Configuration;
+import org.flywaydb.core.api.migration.Context;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class EventScheduleTests {
+
+    @Autowired
+    private AdminService adminService;
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Test
+    void movingTheStartKeepsAnExplicitEnd() {
+        Long id = adminService.addEvent(Map.of("name", "Hackathon",
+                "startAt", "2026-05-01T09:00", "endAt", "2026-05-02T18:00")).getId();
+
+        Event moved = adminService.updateEvent(id, Map.of("startAt", "2026-05-01T10:00"));
+
+        assertThat(moved.getStartAt()).isEqualTo(LocalDateTime.parse("2026-05-01T10:00"));
+        assertThat(moved.getEndAt()).isEqualTo(LocalDateTime.parse("2026-05-02T18:00"));
+        assertThat(moved.getDate()).isEqualTo("2026-05-01");
+    }
+
+    @Test
+    void anEndThatNoLongerFitsOrWasDerivedFollowsTheStart() {
+        Long explicit = adminService.addEvent(Map.of("name", "Seminar",
+                "startAt", "2026-06-01T09:00", "endAt", "2026-06-01T11:00")).getId();
+        assertThat(adminService.updateEvent(explicit, Map.of("startAt", "2026-06-03T09:00")).getEndAt())
+                .isEqualTo(LocalDateTime.parse("2026-06-03T23:59:59"));
+
+        Long derived = adminService.addEvent(Map.of("name", "Open Day", "startAt", "2026-07-10T09:00")).getId();
+        assertThat(adminService.updateEvent(derived, Map.of("startAt", "2026-07-08T09:00")).getEndAt())
+                .isEqualTo(LocalDateTime.parse("2026-07-08T23:59:59"));
+    }
+
+    @Test
+    void theBackfillMigrationConvertsLegacyDateText() throws Exception {
+        jdbc.update("INSERT INTO event (name, date, seats_taken) VALUES ('Legacy Fair', '05/03/2024', 0), ('Legacy Someday', 'next spring', 0)");
+
+        try (Connection connection = dataSource.getConnection()) {
+            new V8__Backfill_event_dates().migrate(new Context() {
+                @Override
+                public Configuration getConfiguration() {
+                    return null;
+                }
+
+                @Override
+                public Connection getConnection() {
+                    return connection;
+                }
+            });
+        }
+
+        assertThat(jdbc.queryForMap("SELECT start_at, end_at FROM event WHERE name = 'Legacy Fair'"))
+                .containsEntry("start_at", Timestamp.valueOf("2024-03-05 00:00:00"))
+                .containsEntry("end_at", Timestamp.valueOf("2024-03-05 23:59:59"));
+        assertThat(jdbc.queryForObject("SELECT start_at FROM event WHERE name = 'Legacy Someday'", LocalDateTime.class)).isNull();
+        jdbc.update("DELETE FROM event WHERE name LIKE 'Legacy %'");
+    }
+}
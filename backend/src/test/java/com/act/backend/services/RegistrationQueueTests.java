@@ -0,0 +1,203 @@
+package com.act.backend.services;
+
+import com.act.backend.models.Event;
+import com.act.backend.models.Student;
+import com.act.backend.repositories.EventRepository;
+import com.act.backend.repositories.StudentEventRepository;
+import com.act.backend.repositories.StudentRepository;
+import com.act.backend.security.AuthRole;
+import com.act.backend.security.TokenService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.awaitility.Awaitility.await;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "app.registration.queue.enabled=true",
+        "app.registration.queue.capacity-per-event=50"})
+@AutoConfigureMockMvc
+class RegistrationQueueTests {
+
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private TokenService tokenService;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private RegistrationQueue queue;
+    @Autowired
+    private MeterRegistry registry;
+    @Autowired
+    private JdbcTemplate jdbc;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private StudentRepository studentRepo;
+    @Autowired
+    private EventRepository eventRepo;
+    @Autowired
+    private StudentEventRepository studentEventRepo;
+
+    @Test
+    void queuedRequestsAreAdmittedInOneBatchAndAFullQueueIsRefused() throws Exception {
+        Event event = event("Queued Rush", 5);
+        List<Student> students = new ArrayList<>();
+        for (int i = 0; i < 52; i++) students.add(student("queued" + i));
+        studentRepo.saveAll(students);
+
+        // Hold the event row so the first batch stalls and everything after it piles up in the queue
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<?> holder = pool.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+            jdbc.queryForList("SELECT id FROM event WHERE id = ? FOR UPDATE", event.getId());
+            locked.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        locked.await();
+
+        List<RegistrationQueue.Ticket> tickets = new ArrayList<>();
+        tickets.add(queue.submit(students.get(0).getId(), event.getId()).orElseThrow());
+        await().atMost(Duration.ofSeconds(5)).until(() -> registry.get("registration.queue.depth").gauge().value() == 0);
+        for (int i = 1; i <= 50; i++) tickets.add(queue.submit(students.get(i).getId(), event.getId()).orElseThrow());
+        assertThat(queue.submit(students.get(51).getId(), event.getId())).isEmpty();
+
+        release.countDown();
+        holder.get(10, TimeUnit.SECONDS);
+        pool.shutdown();
+        await().atMost(Duration.ofSeconds(10))
+                .until(() -> tickets.stream().noneMatch(t -> t.toDTO().getStatus().equals("QUEUED")));
+
+        // First come, first served across both batches
+        assertThat(tickets.subList(0, 5)).allMatch(t -> t.toDTO().getStatus().equals("REGISTERED"));
+        assertThat(tickets.subList(5, 51)).allMatch(t -> t.toDTO().getMessage().equals("Event is full"));
+        assertThat(studentEventRepo.findByEvent(event)).hasSize(5);
+        assertThat(eventRepo.findById(event.getId()).orElseThrow().getSeatsTaken()).isEqualTo(5);
+        assertThat(jdbc.queryForObject("SELECT SUM(registered) FROM event_attendance_stats WHERE event_id = ?",
+                Long.class, event.getId())).isEqualTo(5);
+        assertThat(registry.get("registration.queue.batch.size").summary().max()).isEqualTo(50);
+    }
+
+    @Test
+    void studentFollowsTheirTicket() throws Exception {
+        Event event = event("Queued Talk", null);
+        Long id = studentRepo.save(student("ticket.holder")).getId();
+        Long other = studentRepo.save(student("ticket.stranger")).getId();
+
+        MockHttpServletResponse accepted = mvc.perform(as(post("/api/students/register-event/" + event.getId()), id))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.status").value("QUEUED"))
+                .andReturn().getResponse();
+        String ticket = objectMapper.readTree(accepted.getContentAsString()).get("ticket").asText();
+        assertThat(accepted.getHeader(HttpHeaders.LOCATION)).isEqualTo("/api/students/registrations/" + ticket);
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> mvc.perform(as(get("/api/students/registrations/" + ticket), id))
+                .andReturn().getResponse().getContentAsString().contains("\"status\":\"REGISTERED\""));
+        mvc.perform(as(get("/api/students/registrations/" + ticket), other))
+                .andExpect(status().isNotFound());
+        MockHttpServletResponse stream = mvc.perform(as(get("/api/students/registrations/" + ticket + "/stream"), id))
+                .andExpect(request().asyncStarted())
+                .andReturn().getResponse();
+        assertThat(stream.getContentAsString())
+                .contains("event:outcome")
+                .contains("\"message\":\"Event registered successfully\"");
+        mvc.perform(as(get("/api/students/registered-events"), id))
+                .andExpect(jsonPath("$[*].name").value(contains("Queued Talk")));
+
+        String again = mvc.perform(as(post("/api/students/register-event/" + event.getId()), id))
+                .andExpect(status().isAccepted())
+                .andExpect(header().exists(HttpHeaders.LOCATION))
+                .andReturn().getResponse().getContentAsString();
+        String duplicate = objectMapper.readTree(again).get("ticket").asText();
+        await().atMost(Duration.ofSeconds(5)).until(() -> mvc.perform(as(get("/api/students/registrations/" + duplicate), id))
+                .andReturn().getResponse().getContentAsString().contains("\"message\":\"Already registered\""));
+        assertThat(eventRepo.findById(event.getId()).orElseThrow().getSeatsTaken()).isEqualTo(1);
+    }
+
+    @Test
+    void repeatedRequestsShareATicketAndOnlyBusyEventsHoldAQueue() throws Exception {
+        Event event = event("Queued Repeat", 3);
+        Long id = studentRepo.save(student("queued.repeat")).getId();
+
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<?> holder = pool.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+            jdbc.queryForList("SELECT id FROM event WHERE id = ? FOR UPDATE", event.getId());
+            locked.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        locked.await();
+
+        RegistrationQueue.Ticket first = queue.submit(id, event.getId()).orElseThrow();
+        await().atMost(Duration.ofSeconds(5)).until(() -> registry.get("registration.queue.depth").gauge().value() == 0);
+        for (int i = 0; i < 10; i++) assertThat(queue.submit(id, event.getId())).containsSame(first);
+        assertThat(registry.get("registration.queue.depth").gauge().value()).isZero();
+
+        release.countDown();
+        holder.get(10, TimeUnit.SECONDS);
+        pool.shutdown();
+        await().atMost(Duration.ofSeconds(10)).until(() -> first.toDTO().getStatus().equals("REGISTERED"));
+        assertThat(eventRepo.findById(event.getId()).orElseThrow().getSeatsTaken()).isEqualTo(1);
+        await().atMost(Duration.ofSeconds(5)).until(() -> registry.get("registration.queue.events").gauge().value() == 0);
+
+        mvc.perform(as(post("/api/students/register-event/-1"), id))
+                .andExpect(status().isNotFound());
+        assertThat(registry.get("registration.queue.events").gauge().value()).isZero();
+    }
+
+    private MockHttpServletRequestBuilder as(MockHttpServletRequestBuilder request, Long studentId) {
+        return request.header(HttpHeaders.AUTHORIZATION, "Bearer " + tokenService.issue(AuthRole.STUDENT, studentId));
+    }
+
+    private Event event(String name, Integer capacity) {
+        Event e = new Event();
+        e.setName(name);
+        e.setCapacity(capacity);
+        return eventRepo.save(e);
+    }
+
+    private static Student student(String name) {
+        Student s = new Student();
+        s.setName(name);
+        s.setEmail(name + "@x.edu");
+        s.setPassword("pw");
+        return s;
+    }
+}
@@ -0,0 +1,134 @@
+package com.act.backend.services;
+
+import com.act.backend.models.Event;
+import com.act.backend.models.Faculty;
+import com.act.backend.models.Student;
+import com.act.backend.repositories.EventRepository;
+import com.act.backend.repositories.FacultyRepository;
+import com.act.backend.repositories.StudentRepository;
+import com.act.backend.security.AuthRole;
+import com.act.backend.security.TokenService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class RosterBroadcasterTests {
+
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private TokenService tokenService;
+    @Autowired
+    private StudentService studentService;
+    @Autowired
+    private FacultyService facultyService;
+    @Autowired
+    private StudentRepository studentRepo;
+    @Autowired
+    private FacultyRepository facultyRepo;
+    @Autowired
+    private EventRepository eventRepo;
+
+    @Test
+    void facultyStreamReceivesCommittedRosterChanges() throws Exception {
+        Faculty owner = faculty("sse.owner");
+        Faculty stranger = faculty("sse.stranger");
+        Event event = new Event();
+        event.setName("Live Check-in");
+        event.setFaculty(owner);
+        eventRepo.save(event);
+        Student student = new Student();
+        student.setName("Streamed");
+        student.setEmail("sse.student@x.edu");
+        student.setDepartment("CSE");
+        studentRepo.save(student);
+
+        mvc.perform(get("/api/faculty/events/" + event.getId() + "/stream")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + tokenService.issue(AuthRole.FACULTY, stranger.getId())))
+                .andExpect(status().isForbidden());
+
+        MockHttpServletResponse stream = mvc.perform(get("/api/faculty/events/" + event.getId() + "/stream")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + tokenService.issue(AuthRole.FACULTY, owner.getId())))
+                .andExpect(request().asyncStarted())
+                .andReturn().getResponse();
+
+        studentService.registerEvent(student.getId(), event.getId());
+        // A rejected duplicate rolls back and must not be announced
+        assertThatThrownBy(() -> studentService.registerEvent(student.getId(), event.getId()))
+                .hasMessage("Already registered");
+        facultyService.markAttendance(owner.getId(), event.getId(), student.getId(), true);
+        studentService.unregisterEvent(student.getId(), event.getId());
+
+        await().atMost(Duration.ofSeconds(5))
+                .until(() -> stream.getContentAsString().contains("event:unregistered"));
+        String body = stream.getContentAsString();
+        assertThat(body).contains("event:connected");
+        assertThat(body.split("event:registered", -1)).hasSize(2);
+        assertThat(body).contains("\"studentId\":" + student.getId() + ",\"name\":\"Streamed\"");
+        assertThat(body).contains("event:attendance\ndata:{\"" + student.getId() + "\":true}");
+        assertThat(body.indexOf("event:registered"))
+                .isLessThan(body.indexOf("event:attendance"))
+                .isLessThan(body.indexOf("event:unregistered"));
+    }
+
+    @Test
+    void slowConsumerIsDroppedInsteadOfBuffered() {
+        CountDownLatch release = new CountDownLatch(1);
+        RosterBroadcaster broadcaster = new RosterBroadcaster(new ObjectMapper(), 60_000, 4, 10) {
+            @Override
+            SseEmitter newEmitter(long timeoutMs) {
+                return new SseEmitter(timeoutMs) {
+                    @Override
+                    public void send(SseEventBuilder builder) throws IOException {
+                        // A client whose socket never drains
+                        try {
+                            release.await();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        throw new IOException("Broken pipe");
+                    }
+                };
+            }
+        };
+
+        broadcaster.subscribe(7L);
+        for (int i = 0; i < 9; i++) broadcaster.subscribe(8L);
+        assertThatThrownBy(() -> broadcaster.subscribe(9L)).hasMessage("Too many live connections");
+
+        for (int i = 0; i < 10; i++) broadcaster.publish(7L, "attendance", Map.of(i, true));
+
+        assertThat(broadcaster.hasSubscribers(7L)).isFalse();
+        assertThat(broadcaster.hasSubscribers(8L)).isTrue();
+        assertThat(broadcaster.subscriberCount()).isEqualTo(9);
+        release.countDown();
+    }
+
+    private Faculty faculty(String name) {
+        Faculty f = new Faculty();
+        f.setName(name);
+        f.setEmail(name + "@x.edu");
+        f.setApproved(true);
+        return facultyRepo.save(f);
+    }
+}
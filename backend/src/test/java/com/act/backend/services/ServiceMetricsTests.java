@@ -0,0 +1,74 @@
+package com.act.backend.services;
+
+import com.act.backend.models.Event;
+import com.act.backend.models.Student;
+import com.act.backend.repositories.EventRepository;
+import com.act.backend.repositories.StudentRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class ServiceMetricsTests {
+
+    @Autowired
+    private MeterRegistry registry;
+    @Autowired
+    private StudentService studentService;
+    @Autowired
+    private AdminService adminService;
+    @Autowired
+    private StudentRepository studentRepo;
+    @Autowired
+    private EventRepository eventRepo;
+
+    @Test
+    void operationsAreTimedByOutcome() {
+        Event event = new Event();
+        event.setName("Metered");
+        event.setCapacity(1);
+        eventRepo.save(event);
+        Student first = student("metered.first@x.edu");
+        Student second = student("metered.second@x.edu");
+
+        long registered = count("event.registrations", "success");
+        long full = count("event.registrations", "event_is_full");
+
+        studentService.registerEvent(first.getId(), event.getId());
+        assertThatThrownBy(() -> studentService.registerEvent(second.getId(), event.getId())).hasMessage("Event is full");
+        assertThatThrownBy(() -> studentService.login(second.getEmail(), "wrong")).hasMessage("Invalid credentials");
+        assertThat(adminService.authenticate("nobody@x.edu", "pw")).isEmpty();
+
+        assertThat(count("event.registrations", "success")).isEqualTo(registered + 1);
+        assertThat(count("event.registrations", "event_is_full")).isEqualTo(full + 1);
+        assertThat(registry.get("auth.logins").tags("role", "student", "outcome", "invalid_credentials").timer().count()).isPositive();
+        assertThat(registry.get("auth.logins").tags("role", "admin", "outcome", "invalid_credentials").timer().count()).isPositive();
+    }
+
+    @Test
+    void hibernateAndPoolMetricsArePublished() {
+        studentRepo.count();
+
+        assertThat(registry.get("hibernate.statements").tag("status", "prepared").functionCounter().count()).isPositive();
+        assertThat(registry.find("hibernate.entities.loads").functionCounter()).isNotNull();
+        assertThat(registry.find("hikaricp.connections.pending").gauge()).isNotNull();
+        assertThat(registry.find("hikaricp.connections.max").gauge()).isNotNull();
+    }
+
+    private long count(String name, String outcome) {
+        var timer = registry.find(name).tag("outcome", outcome).timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+    private Student student(String email) {
+        Student s = new Student();
+        s.setName(email);
+        s.setEmail(email);
+        s.setPassword("pw");
+        return studentRepo.save(s);
+    }
+}
@@ -0,0 +1,125 @@
+package com.act.backend.services;
+
+import com.act.backend.dto.ImportReportDTO;
+import com.act.backend.models.Student;
+import com.act.backend.repositories.StudentRepository;
+import com.act.backend.security.AuthRole;
+import com.act.backend.security.TokenService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.groups.Tuple.tuple;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Own database so the generated students are dropped with this context
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:imports;MODE=MySQL;DATABASE_TO_LOWER=TRUE")
+@AutoConfigureMockMvc
+@DirtiesContext
+class StudentImportServiceTests {
+
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private TokenService tokenService;
+    @Autowired
+    private StudentImportService importService;
+    @Autowired
+    private StudentRepository studentRepo;
+
+    @Test
+    void csvImportReportsEveryRejectedRow() throws Exception {
+        Student existing = new Student();
+        existing.setName("Existing");
+        existing.setEmail("taken@import.edu");
+        existing.setPassword("pw");
+        studentRepo.save(existing);
+
+        String csv = """
+                name,email,phone,gender,department,password
+                Ann,Ann@Import.edu,111,F,CSE,pw
+                Bob,bob@import.edu,222,M,ECE,pw
+                Ann Again,ann@import.edu ,333,F,CSE,pw
+                ,noname@import.edu,,,,pw
+                Cy,not-an-email,,,,pw
+                Dee,taken@import.edu,,,,pw
+                Eve,eve@import.edu,,,,
+                """;
+
+        mvc.perform(post("/api/admin/students/import")
+                        .contentType("text/csv")
+                        .content(csv)
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + tokenService.issue(AuthRole.ADMIN, 1L)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalRows").value(7))
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.failed").value(5))
+                .andExpect(jsonPath("$.errors[0].row").value(3))
+                .andExpect(jsonPath("$.errors[0].error").value("Duplicate email in upload (first on row 1)"));
+
+        assertThat(studentRepo.findByEmail("ann@import.edu")).get()
+                .extracting(Student::getName, Student::getDepartment)
+                .containsExactly("Ann", "CSE");
+        assertThat(studentRepo.findByEmail("bob@import.edu")).isPresent();
+        assertThat(studentRepo.findByEmail("eve@import.edu")).isEmpty();
+    }
+
+    @Test
+    void jsonLinesImportSkipsUnreadableRows() {
+        String jsonl = """
+                {"name":"Jay","email":"jay@import.edu","password":"pw","department":"MECH"}
+                {"name":"Kim","email":"kim@import.edu","password":"pw","nickname":"ignored"}
+                {"name":"Lee","email":["lee@import.edu"],"password":"pw"}
+                {"name":"Max","email":"max@import.edu","password":"pw"}
+                """;
+
+        ImportReportDTO report = importService.importStudents(
+                new ByteArrayInputStream(jsonl.getBytes(StandardCharsets.UTF_8)),
+                StudentImportService.Format.JSON_LINES);
+
+        assertThat(report.getTotalRows()).isEqualTo(4);
+        assertThat(report.getImported()).isEqualTo(3);
+        assertThat(report.getErrors()).extracting(ImportReportDTO.RowError::getRow).containsExactly(3L);
+        assertThat(studentRepo.findByEmail("max@import.edu")).isPresent();
+    }
+
+    @Test
+    void twentyThousandRowsImportInBatches() {
+        int rows = 20_000;
+        StringBuilder csv = new StringBuilder("name,email,department,password\n");
+        for (int i = 0; i < rows; i++) {
+            csv.append("Bulk ").append(i).append(",bulk").append(i).append("@import.edu,DEPT")
+                    .append(i % 10).append(",pw\n");
+        }
+        // Every tenth row repeats an earlier email and must be reported, not inserted
+        for (int i = 0; i < rows; i += 10) {
+            csv.append("Dup ").append(i).append(",bulk").append(i).append("@import.edu,DEPT0,pw\n");
+        }
+
+        long started = System.nanoTime();
+        ImportReportDTO report = importService.importStudents(
+                new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)),
+                StudentImportService.Format.CSV);
+        double seconds = (System.nanoTime() - started) / 1e9;
+        System.out.printf("Imported %,d of %,d rows in %.2fs: %,.0f rows/min%n",
+                report.getImported(), report.getTotalRows(), seconds, report.getImported() / seconds * 60);
+
+        assertThat(report.getImported()).isEqualTo(rows);
+        assertThat(report.getFailed()).isEqualTo(rows / 10);
+        assertThat(report.getErrors()).hasSize(1000)
+                .extracting(ImportReportDTO.RowError::getRow, ImportReportDTO.RowError::getEmail)
+                .startsWith(tuple((long) rows + 1, "bulk0@import.edu"));
+        assertThat(report.getImported() / seconds * 60).isGreaterThan(60_000);
+    }
+}
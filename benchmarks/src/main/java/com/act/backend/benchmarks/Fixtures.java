@@ -0,0 +1,128 @@
+package com.act.backend.benchmarks;
+
+import com.act.backend.dto.EventDTO;
+import com.act.backend.dto.StudentWithEventsDTO;
+import com.act.backend.models.Event;
+import com.act.backend.models.Faculty;
+import com.act.backend.models.Student;
+import com.act.backend.models.StudentEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+// Synthetic data shaped like production rows, and in-memory stand-ins for the repositories
+final class Fixtures {
+
+    private static final LocalDateTime START = LocalDateTime.of(2026, 1, 5, 9, 0);
+    private static final String[] DEPARTMENTS = {"CSE", "ECE", "EEE", "MECH", "CIVIL", "IT"};
+
+    private Fixtures() {
+    }
+
+    // Configured the way Spring Boot configures the ObjectMapper behind the controllers
+    static ObjectMapper objectMapper() {
+        return Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+    }
+
+    static Faculty faculty(long id) {
+        Faculty f = new Faculty();
+        f.setId(id);
+        f.setName("Faculty " + id);
+        f.setEmail("faculty" + id + "@college.edu");
+        f.setPhone("98765" + String.format("%05d", id % 100_000));
+        f.setDepartment(DEPARTMENTS[(int) (id % DEPARTMENTS.length)]);
+        f.setGender(id % 2 == 0 ? "Female" : "Male");
+        f.setPassword("secret-" + id);
+        f.setApproved(true);
+        f.setEventsAssigned(new ArrayList<>());
+        return f;
+    }
+
+    static Event event(long id, Faculty faculty) {
+        Event e = new Event();
+        e.setId(id);
+        e.setName("Event " + id);
+        e.setDescription("Workshop number " + id + " with hands-on sessions, talks and a closing quiz for participants.");
+        e.setVenue("Block " + (char) ('A' + id % 6) + ", Room " + (100 + id % 50));
+        e.setStartAt(START.plusDays(id % 365).plusHours(id % 8));
+        e.setEndAt(e.getStartAt().plusHours(3));
+        e.setDate(e.getStartAt().toLocalDate().toString());
+        e.setCapacity(id % 3 == 0 ? null : 120);
+        e.setFaculty(faculty);
+        if (faculty != null) faculty.getEventsAssigned().add(e);
+        return e;
+    }
+
+    static Student student(long id) {
+        Student s = new Student();
+        s.setId(id);
+        s.setName("Student " + id);
+        s.setEmail("student" + id + "@college.edu");
+        s.setPhone("91234" + String.format("%05d", id % 100_000));
+        s.setGender(id % 2 == 0 ? "Female" : "Male");
+        s.setDepartment(DEPARTMENTS[(int) (id % DEPARTMENTS.length)]);
+        s.setPassword("secret-" + id);
+        return s;
+    }
+
+    // size events spread over ten faculty members
+    static List<Event> events(int size) {
+        List<Faculty> faculty = new ArrayList<>();
+        for (long i = 1; i <= 10; i++) faculty.add(faculty(i));
+        List<Event> events = new ArrayList<>(size);
+        for (long i = 1; i <= size; i++) events.add(event(i, faculty.get((int) (i % faculty.size()))));
+        return events;
+    }
+
+    static List<StudentEvent> registrations(Student student, List<Event> events) {
+        List<StudentEvent> registrations = new ArrayList<>(events.size());
+        for (Event e : events) registrations.add(new StudentEvent(e.getId(), student, e, e.getId() % 3 == 0 ? null : e.getId() % 2 == 0));
+        return registrations;
+    }
+
+    // What EventRepository.findCatalog's constructor projection returns
+    static List<EventDTO> catalog(List<Event> events) {
+        return events.stream().map(e -> new EventDTO(e.getId(), e.getName(), e.getDescription(), e.getDate(), e.getVenue(),
+                e.getFaculty().getName(), e.getFaculty().getEmail(), e.getFaculty().getDepartment(),
+                e.getCapacity(), e.getStartAt(), e.getEndAt())).toList();
+    }
+
+    static List<StudentWithEventsDTO> studentsWithEvents(int size, int eventsPerStudent) {
+        List<StudentWithEventsDTO> rows = new ArrayList<>(size);
+        for (long i = 1; i <= size; i++) {
+            Student s = student(i);
+            StudentWithEventsDTO dto = new StudentWithEventsDTO(s.getId(), s.getName(), s.getEmail(), s.getPhone(),
+                    s.getDepartment(), s.getGender());
+            for (int j = 0; j < eventsPerStudent; j++) dto.getRegisteredEvents().add("Event " + (i * 7 + j) % 500);
+            rows.add(dto);
+        }
+        return rows;
+    }
+
+    /**
+     * A repository whose listed methods return canned results; anything else
+     * throws, so a benchmark cannot silently measure an unexpected path.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T repository(Class<T> type, Map<String, Function<Object[], Object>> answers) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            Function<Object[], Object> answer = answers.get(method.getName());
+            if (answer != null) return answer.apply(args);
+            return switch (method.getName()) {
+                case "toString" -> type.getSimpleName() + " stub";
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "equals" -> proxy == args[0];
+                default -> throw new UnsupportedOperationException(type.getSimpleName() + "." + method.getName());
+            };
+        });
+    }
+}
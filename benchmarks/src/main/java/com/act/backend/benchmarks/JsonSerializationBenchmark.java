@@ -0,0 +1,86 @@
+package com.act.backend.benchmarks;
+
+import com.act.backend.dto.EventDTO;
+import com.act.backend.dto.StudentWithEventsDTO;
+import com.act.backend.models.Faculty;
+import com.act.backend.models.Student;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of the response bodies the controllers return, with
+ * the same ObjectMapper configuration Spring Boot uses. {@code size} is the
+ * number of elements in the list. Faculty entities are serialized with their
+ * assigned events, as GET /api/admin/unapproved-faculties does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    @Param({"10", "100", "1000", "10000"})
+    int size;
+
+    private ObjectMapper objectMapper;
+    private List<EventDTO> events;
+    private List<StudentWithEventsDTO> studentsWithEvents;
+    private List<Student> students;
+    private List<Faculty> faculty;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Fixtures.objectMapper();
+        events = Fixtures.catalog(Fixtures.events(size));
+        studentsWithEvents = Fixtures.studentsWithEvents(size, 5);
+
+        students = new ArrayList<>(size);
+        for (long i = 1; i <= size; i++) students.add(Fixtures.student(i));
+
+        // Three assigned events per faculty member
+        faculty = new ArrayList<>(size);
+        long eventId = 1;
+        for (long i = 1; i <= size; i++) {
+            Faculty f = Fixtures.faculty(i);
+            for (int j = 0; j < 3; j++) Fixtures.event(eventId++, f);
+            faculty.add(f);
+        }
+    }
+
+    @Benchmark
+    public byte[] eventDtos() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(events);
+    }
+
+    @Benchmark
+    public byte[] studentWithEventsDtos() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(studentsWithEvents);
+    }
+
+    @Benchmark
+    public byte[] studentEntities() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(students);
+    }
+
+    @Benchmark
+    public byte[] facultyEntities() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(faculty);
+    }
+}
@@ -0,0 +1,135 @@
+package com.act.backend.benchmarks;
+
+import com.act.backend.dto.CursorPage;
+import com.act.backend.dto.EventDTO;
+import com.act.backend.dto.StudentWithEventsDTO;
+import com.act.backend.models.Event;
+import com.act.backend.models.StudentEvent;
+import com.act.backend.repositories.EventRepository;
+import com.act.backend.repositories.StudentEventRepository;
+import com.act.backend.repositories.StudentRepository;
+import com.act.backend.services.AdminServiceImpl;
+import com.act.backend.services.EventCatalogCache;
+import com.act.backend.services.FacultyServiceImpl;
+import com.act.backend.services.ServiceMetrics;
+import com.act.backend.services.StudentServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The Java-side work behind the read endpoints, with the database replaced by
+ * canned repository results so only mapping, merging and serialization are
+ * measured. {@code size} is the number of rows the repository hands back
+ * (registrations, assigned events, catalog entries, roster students).
+ *
+ * The event catalog is no longer mapped in Java: findCatalog projects straight
+ * into EventDTO and the endpoint serves a cached snapshot, so the catalog
+ * benchmark measures rebuilding that snapshot (JSON + ETag) after an
+ * invalidation, which is what getAllEvents costs on a cache miss.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ServiceMappingBenchmark {
+
+    private static final int EVENTS_PER_STUDENT = 5;
+
+    @Param({"10", "100", "1000", "10000"})
+    int size;
+
+    private StudentServiceImpl studentService;
+    private FacultyServiceImpl facultyService;
+    private AdminServiceImpl adminService;
+    private EventCatalogCache catalogCache;
+    private int rosterPageSize;
+
+    private record EventName(Long studentId, String eventName) implements StudentEventRepository.StudentEventName {
+        @Override
+        public Long getStudentId() {
+            return studentId;
+        }
+
+        @Override
+        public String getEventName() {
+            return eventName;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        List<Event> events = Fixtures.events(size);
+        List<EventDTO> catalog = Fixtures.catalog(events);
+        List<StudentEvent> registrations = Fixtures.registrations(Fixtures.student(1), events);
+
+        // Roster pages are capped at 200 students by the service
+        rosterPageSize = Math.min(size, 200);
+        List<StudentWithEventsDTO> rosterRows = Fixtures.studentsWithEvents(rosterPageSize + 1, 0);
+        List<StudentEventRepository.StudentEventName> eventNames = new ArrayList<>();
+        for (StudentWithEventsDTO s : rosterRows.subList(0, rosterPageSize)) {
+            for (int j = 0; j < EVENTS_PER_STUDENT; j++) eventNames.add(new EventName(s.getId(), "Event " + (s.getId() * 7 + j) % 500));
+        }
+
+        EventRepository eventRepo = Fixtures.repository(EventRepository.class, Map.of(
+                "findCatalog", args -> catalog,
+                "findByFacultyId", args -> events));
+        StudentEventRepository studentEventRepo = Fixtures.repository(StudentEventRepository.class, Map.of(
+                "findByStudentId", args -> registrations,
+                "findEventNamesByStudentIds", args -> eventNames));
+        // The service fills in each DTO's event names, so every call gets fresh rows, as from the database
+        StudentRepository studentRepo = Fixtures.repository(StudentRepository.class, Map.of(
+                "findRosterPage", args -> rosterRows.stream()
+                        .map(s -> new StudentWithEventsDTO(s.getId(), s.getName(), s.getEmail(), s.getPhone(),
+                                s.getDepartment(), s.getGender()))
+                        .toList()));
+
+        ServiceMetrics metrics = new ServiceMetrics(new SimpleMeterRegistry());
+        catalogCache = new EventCatalogCache(eventRepo, Fixtures.objectMapper(), 5_000);
+        studentService = new StudentServiceImpl(studentRepo, eventRepo, studentEventRepo, null, null, metrics, null);
+        facultyService = new FacultyServiceImpl(null, eventRepo, studentRepo, studentEventRepo, null, null, catalogCache, metrics);
+        adminService = new AdminServiceImpl(null, null, eventRepo, studentRepo, studentEventRepo, null, catalogCache, null, metrics, null);
+    }
+
+    @Benchmark
+    public List<EventDTO> studentRegisteredEvents() {
+        return studentService.getRegisteredEvents(1L);
+    }
+
+    @Benchmark
+    public List<EventDTO> facultyAssignedEvents() {
+        return facultyService.getAssignedEvents(1L);
+    }
+
+    @Benchmark
+    public CursorPage<StudentWithEventsDTO> adminStudentsWithEvents() {
+        return adminService.getStudentsWithEvents(null, rosterPageSize);
+    }
+
+    @Benchmark
+    public EventCatalogCache.Snapshot eventCatalogRebuild() {
+        catalogCache.invalidate();
+        return catalogCache.current();
+    }
+
+    @Benchmark
+    public EventCatalogCache.Snapshot eventCatalogCached() {
+        return catalogCache.current();
+    }
+}
@@ -0,0 +1,38 @@
+// src/hooks/useRosterStream.js
+import { useEffect, useRef } from "react";
+
+// Keeps a roster ({ studentId, ..., attendance }[]) live from the server's SSE stream while `url` is set.
+// The browser reconnects on its own; `onResync` re-fetches the roster so changes missed while disconnected show up.
+export const useRosterStream = (url, setStudents, onResync) => {
+  const resync = useRef(onResync);
+  resync.current = onResync;
+
+  useEffect(() => {
+    if (!url) return undefined;
+    const source = new EventSource(url, { withCredentials: true });
+    let connectedBefore = false;
+
+    source.addEventListener("connected", () => {
+      if (connectedBefore && resync.current) resync.current();
+      connectedBefore = true;
+    });
+    source.addEventListener("registered", (e) => {
+      const student = JSON.parse(e.data);
+      setStudents((prev) =>
+        prev.some((s) => s.studentId === student.studentId) ? prev : [...prev, student]
+      );
+    });
+    source.addEventListener("unregistered", (e) => {
+      const { studentId } = JSON.parse(e.data);
+      setStudents((prev) => prev.filter((s) => s.studentId !== studentId));
+    });
+    source.addEventListener("attendance", (e) => {
+      const changes = JSON.parse(e.data);
+      setStudents((prev) =>
+        prev.map((s) => (s.studentId in changes ? { ...s, attendance: changes[s.studentId] } : s))
+      );
+    });
+
+    return () => source.close();
+  }, [url, setStudents]);
+};
@@ -12,6 +12,7 @@ const AddEvent = () => {
     description: "",
     date: "",
     venue: "",
+    capacity: "",
     facultyId: "",
   });
   const [faculties, setFaculties] = useState([]);
@@ -67,6 +68,7 @@ const AddEvent = () => {
         description: "",
         date: "",
         venue: "",
+        capacity: "",
         facultyId: "",
       });
     } catch (err) {
@@ -137,6 +139,16 @@ const AddEvent = () => {
             required
           />
 
+          <input
+            type="number"
+            name="capacity"
+            min="1"
+            placeholder="Capacity (leave empty for unlimited)"
+            value={eventData.capacity}
+            onChange={handleChange}
+            className="w-full px-4 py-2 rounded-lg border border-gray-300 focus:ring-2 focus:ring-indigo-400"
+          />
+
           <select
             name="facultyId"
             value={eventData.facultyId}
@@ -4,6 +4,7 @@ import { toast, ToastContainer } from "react-toastify";
 import { useNavigate } from "react-router-dom";
 import { motion } from "framer-motion";
 import AdminNavbar from "../components/AdminNavbar";
+import { useRosterStream } from "../hooks/useRosterStream";
 import "react-toastify/dist/ReactToastify.css";
 
 const AdminViewEvents = () => {
@@ -11,6 +12,7 @@ const AdminViewEvents = () => {
   const [faculties, setFaculties] = useState([]);
   const [selectedEventStudents, setSelectedEventStudents] = useState([]);
   const [showPopup, setShowPopup] = useState(false);
+  const [popupEventId, setPopupEventId] = useState(null);
   const [loading, setLoading] = useState(true);
   const [fetchingStudents, setFetchingStudents] = useState(false);
   const [editEvent, setEditEvent] = useState(null);
@@ -76,6 +78,7 @@ const AdminViewEvents = () => {
       setSelectedEventStudents(
         res.data.map((s) => ({ ...s, attendance: s.attendance ?? null }))
       );
+      setPopupEventId(eventId);
       setShowPopup(true);
     } catch (err) {
       handleSessionError(err);
@@ -84,6 +87,14 @@ const AdminViewEvents = () => {
     }
   };
 
+  useRosterStream(
+    showPopup && popupEventId
+      ? `http://localhost:8000/api/admin/events/${popupEventId}/stream`
+      : null,
+    setSelectedEventStudents,
+    () => handleViewStudents(popupEventId)
+  );
+
   const handleEditEvent = (event) => {
   setEditEvent({
     ...event,
@@ -186,6 +197,14 @@ const AdminViewEvents = () => {
                     {fetchingStudents ? "Fetching Students..." : "View Students"}
                   </button>
 
+                  {/* Streamed by the backend; the browser saves it as attendance.csv */}
+                  <a
+                    href={`http://localhost:8000/api/admin/exports/attendance?eventId=${event.id}`}
+                    className="w-full py-2 rounded-lg bg-sky-600 hover:bg-sky-700 text-white font-medium text-center transition"
+                  >
+                    Export Attendance CSV
+                  </a>
+
                   <button
                     onClick={() => handleEditEvent(event)}
                     className="w-full py-2 rounded-lg bg-green-600 hover:bg-green-700 text-white font-medium transition"
@@ -299,7 +318,7 @@ const AdminViewEvents = () => {
                 <ul className="space-y-4">
                   {selectedEventStudents.map((student) => (
                     <li
-                      key={student.id}
+                      key={student.studentId}
                       className="bg-gray-100 p-4 rounded-md shadow"
                     >
                       <p>
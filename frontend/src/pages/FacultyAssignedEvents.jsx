@@ -1,6 +1,7 @@
 import React, { useEffect, useState } from "react";
 import axios from "axios";
 import FacultyNavbar from "../components/FacultyNavbar";
+import { useRosterStream } from "../hooks/useRosterStream";
 
 const FacultyAssignedEvents = () => {
   const [events, setEvents] = useState([]);
@@ -49,6 +50,15 @@ const FacultyAssignedEvents = () => {
     }
   };
 
+  // Registrations and attendance marked elsewhere show up while the roster is open
+  useRosterStream(
+    showPopup && currentEvent
+      ? `http://localhost:8000/api/faculty/events/${currentEvent.id}/stream`
+      : null,
+    setSelectedEventStudents,
+    () => handleViewStudents(currentEvent)
+  );
+
   const handleMarkAttendance = async (studentId, present) => {
     try {
       await axios.post(
@@ -71,6 +81,29 @@ const FacultyAssignedEvents = () => {
     }
   };
 
+  // One request for the whole roster instead of one per student
+  const handleMarkAllPresent = async () => {
+    const attendance = Object.fromEntries(
+      selectedEventStudents.map((s) => [s.studentId, true])
+    );
+    try {
+      const res = await axios.post(
+        `http://localhost:8000/api/faculty/events/${currentEvent.id}/attendance/bulk`,
+        attendance,
+        { withCredentials: true }
+      );
+      const updated = new Set(
+        res.data.filter((r) => r.status === "UPDATED").map((r) => r.studentId)
+      );
+      setSelectedEventStudents((prev) =>
+        prev.map((s) => (updated.has(s.studentId) ? { ...s, attendance: true } : s))
+      );
+    } catch (err) {
+      console.error("Error marking attendance", err);
+      alert("Failed to mark attendance.");
+    }
+  };
+
   return (
     <>
       <FacultyNavbar />
@@ -125,6 +158,14 @@ const FacultyAssignedEvents = () => {
                 </p>
               ) : (
                 <div className="overflow-x-auto">
+                  <div className="flex justify-end mb-3">
+                    <button
+                      onClick={handleMarkAllPresent}
+                      className="px-4 py-2 bg-green-600 hover:bg-green-700 text-white font-medium rounded-lg shadow"
+                    >
+                      Mark All Present
+                    </button>
+                  </div>
                   <table className="w-full border-collapse border border-gray-200">
                     <thead className="bg-gray-100">
                       <tr>
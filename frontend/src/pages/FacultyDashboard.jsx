@@ -11,7 +11,7 @@ const COLORS = ["#00C49F", "#FFBB28", "#FF8042"];
 const FacultyDashboard = () => {
   const [faculty, setFaculty] = useState(null);
   const [events, setEvents] = useState([]);
-  const [students, setStudents] = useState([]);
+  const [stats, setStats] = useState([]);
   const [loading, setLoading] = useState(true);
   const navigate = useNavigate();
 
@@ -29,20 +29,11 @@ const FacultyDashboard = () => {
         const assignedEvents = Array.isArray(eventsRes.data) ? eventsRes.data : [];
         setEvents(assignedEvents);
 
-        // Fetch all students for assigned events
-        let allStudents = [];
-        for (const event of assignedEvents) {
-          const stuRes = await axios.get(
-            `http://localhost:8000/api/faculty/events/${event.id}/students`,
-            { withCredentials: true }
-          );
-          const studentsWithEvent = stuRes.data.map((s) => ({
-            ...s,
-            attendance: s.attendance ?? null,
-          }));
-          allStudents = [...allStudents, ...studentsWithEvent];
-        }
-        setStudents(allStudents);
+        // Registration/attendance counters for all assigned events in one request
+        const statsRes = await axios.get("http://localhost:8000/api/faculty/analytics/events", {
+          withCredentials: true,
+        });
+        setStats(Array.isArray(statsRes.data) ? statsRes.data : []);
 
         setLoading(false);
       } catch (err) {
@@ -65,9 +56,11 @@ const FacultyDashboard = () => {
   if (loading) return <div className="p-6 text-center text-blue-600">Loading dashboard...</div>;
 
   // Attendance counts
-  const presentCount = students.filter((s) => s.attendance === true).length;
-  const absentCount = students.filter((s) => s.attendance === false).length;
-  const notMarkedCount = students.filter((s) => s.attendance === null).length;
+  const total = (key) => stats.reduce((sum, s) => sum + s[key], 0);
+  const registeredCount = total("registered");
+  const presentCount = total("present");
+  const absentCount = total("absent");
+  const notMarkedCount = total("unmarked");
 
   const pieData = [
     { name: "Present", value: presentCount },
@@ -94,7 +87,7 @@ const FacultyDashboard = () => {
           </div>
           <div className="bg-gradient-to-r from-green-500 to-emerald-500 text-white p-6 rounded-2xl shadow-lg text-center">
             <h3 className="text-lg font-semibold">Total Students</h3>
-            <p className="text-3xl font-bold mt-2">{students.length}</p>
+            <p className="text-3xl font-bold mt-2">{registeredCount}</p>
           </div>
           <div className="bg-gradient-to-r from-yellow-400 to-orange-500 text-white p-6 rounded-2xl shadow-lg text-center">
             <h3 className="text-lg font-semibold">Present</h3>
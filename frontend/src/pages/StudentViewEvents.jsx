@@ -9,11 +9,34 @@ const StudentViewEvents = () => {
   const [registeredEvents, setRegisteredEvents] = useState([]);
   const [loading, setLoading] = useState(true);
   const [searchTerm, setSearchTerm] = useState("");
+  const [nextPage, setNextPage] = useState(null);
+  const [loadingMore, setLoadingMore] = useState(false);
+
+  // Only upcoming events are offered for registration, a page at a time
+  const fetchUpcoming = async (page = 0) => {
+    const res = await axios.get("http://localhost:8000/api/students/events/upcoming", {
+      params: { page, size: 20 },
+      withCredentials: true,
+    });
+    const content = res.data?.content || [];
+    setEvents(prev => (page === 0 ? content : [...prev, ...content]));
+    const meta = res.data?.page;
+    setNextPage(meta && meta.number + 1 < meta.totalPages ? meta.number + 1 : null);
+  };
+
+  const loadMore = async () => {
+    setLoadingMore(true);
+    try {
+      await fetchUpcoming(nextPage);
+    } catch (err) {
+      toast.error("Failed to fetch events.", { autoClose: 3000 });
+    }
+    setLoadingMore(false);
+  };
 
   const fetchData = async () => {
     try {
-      const eventsRes = await axios.get("http://localhost:8000/api/students/events", { withCredentials: true });
-      setEvents(eventsRes.data);
+      await fetchUpcoming(0);
 
       const regRes = await axios.get("http://localhost:8000/api/students/registered-events", { withCredentials: true });
       setRegisteredEvents(regRes.data.map(e => e.id));
@@ -34,9 +57,25 @@ const StudentViewEvents = () => {
     fetchData();
   }, []);
 
+  // Queued registrations answer 202 with a ticket; poll it until the outcome is known
+  const awaitTicket = async (ticket) => {
+    for (;;) {
+      await new Promise(resolve => setTimeout(resolve, 1000));
+      const { data } = await axios.get(`http://localhost:8000/api/students/registrations/${ticket}`, { withCredentials: true });
+      if (data.status !== "QUEUED") return data;
+    }
+  };
+
   const handleRegister = async (eventId) => {
     try {
-      await axios.post(`http://localhost:8000/api/students/register-event/${eventId}`, {}, { withCredentials: true });
+      const res = await axios.post(`http://localhost:8000/api/students/register-event/${eventId}`, {}, { withCredentials: true });
+      if (res.status === 202) {
+        const outcome = await awaitTicket(res.data.ticket);
+        if (outcome.status !== "REGISTERED") {
+          toast.error(outcome.message, { autoClose: 3000 });
+          return;
+        }
+      }
       setRegisteredEvents(prev => [...prev, eventId]);
       toast.success("Registered successfully!", { autoClose: 2000 });
     } catch (err) {
@@ -121,6 +160,18 @@ const StudentViewEvents = () => {
             ))}
           </div>
         )}
+
+        {!loading && nextPage !== null && (
+          <div className="flex justify-center mt-6">
+            <button
+              onClick={loadMore}
+              disabled={loadingMore}
+              className="px-6 py-2 bg-blue-600 text-white rounded-lg hover:bg-blue-700 font-medium transition disabled:opacity-50"
+            >
+              {loadingMore ? "Loading..." : "Load More"}
+            </button>
+          </div>
+        )}
       </div>
     </>
   );
@@ -85,6 +85,23 @@ const UnapprovedFaculties = () => {
     }
   };
 
+  // ✅ Approve every pending faculty in one request
+  const handleApproveAll = async () => {
+    if (!window.confirm(`Approve all ${faculties.length} pending faculties?`)) return;
+    try {
+      const res = await axios.put(
+        "http://localhost:8000/api/admin/moderate-faculties",
+        faculties.map((f) => ({ id: f.id, decision: "APPROVE" })),
+        { withCredentials: true }
+      );
+      toast.success(`${res.data.approved} faculties approved and emails queued`);
+      if (res.data.skipped > 0) toast.info(`${res.data.skipped} skipped`);
+      fetchUnapprovedFaculties();
+    } catch (err) {
+      handleSessionError(err);
+    }
+  };
+
   return (
     <>
       <AdminNavbar />
@@ -94,7 +111,16 @@ const UnapprovedFaculties = () => {
           Pending Faculty Approvals
         </h1>
 
-        
+        {faculties.length > 1 && (
+          <div className="flex justify-end mb-6">
+            <button
+              onClick={handleApproveAll}
+              className="bg-green-600 hover:bg-green-700 text-white px-4 py-2 rounded-lg transition"
+            >
+              Approve All
+            </button>
+          </div>
+        )}
 
         {loading ? (
           <p className="text-center text-gray-600">Loading...</p>
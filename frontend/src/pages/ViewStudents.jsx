@@ -14,6 +14,8 @@ const ViewStudents = () => {
   const [editStudent, setEditStudent] = useState(null);
   const [viewEventsStudent, setViewEventsStudent] = useState(null);
   const [searchTerm, setSearchTerm] = useState("");
+  const [nextCursor, setNextCursor] = useState(null);
+  const [loadingMore, setLoadingMore] = useState(false);
   const navigate = useNavigate();
 
   const handleSessionError = (err) => {
@@ -25,14 +27,26 @@ const ViewStudents = () => {
     }
   };
 
-  const fetchStudents = async () => {
+  const applySearch = (list, term) =>
+    list.filter(
+      (student) =>
+        student.name.toLowerCase().includes(term.toLowerCase()) ||
+        student.email.toLowerCase().includes(term.toLowerCase()) ||
+        student.department.toLowerCase().includes(term.toLowerCase())
+    );
+
+  // Roster is cursor-paginated: pass the last nextCursor to append the next page
+  const fetchStudents = async (cursor = null) => {
     try {
       const res = await axios.get("http://localhost:8000/api/admin/students", {
+        params: cursor ? { cursor } : {},
         withCredentials: true,
       });
-      const studentData = Array.isArray(res.data) ? res.data : [];
+      const page = Array.isArray(res.data?.items) ? res.data.items : [];
+      const studentData = cursor ? [...students, ...page] : page;
       setStudents(studentData);
-      setFilteredStudents(studentData);
+      setFilteredStudents(applySearch(studentData, searchTerm));
+      setNextCursor(res.data?.hasMore ? res.data.nextCursor : null);
     } catch (err) {
       handleSessionError(err);
     } finally {
@@ -40,6 +54,12 @@ const ViewStudents = () => {
     }
   };
 
+  const loadMore = async () => {
+    setLoadingMore(true);
+    await fetchStudents(nextCursor);
+    setLoadingMore(false);
+  };
+
   useEffect(() => {
     axios
       .get("http://localhost:8000/api/admin/me", { withCredentials: true })
@@ -51,13 +71,7 @@ const ViewStudents = () => {
   const handleSearch = (e) => {
     const term = e.target.value;
     setSearchTerm(term);
-    const filtered = students.filter(
-      (student) =>
-        student.name.toLowerCase().includes(term.toLowerCase()) ||
-        student.email.toLowerCase().includes(term.toLowerCase()) ||
-        student.department.toLowerCase().includes(term.toLowerCase())
-    );
-    setFilteredStudents(filtered);
+    setFilteredStudents(applySearch(students, term));
   };
 
   const attemptDelete = (studentId) => {
@@ -110,7 +124,8 @@ const ViewStudents = () => {
       <div className="p-6 min-h-screen bg-gray-100">
         {/* Total Count */}
         <h2 className="text-3xl font-bold text-center text-gray-800 mb-6">
-          Total Students: {students.length}
+          Students Loaded: {students.length}
+          {nextCursor ? "+" : ""}
         </h2>
 
         {/* Search Bar */}
@@ -185,6 +200,18 @@ const ViewStudents = () => {
             ))}
           </div>
         )}
+
+        {!loading && nextCursor && (
+          <div className="flex justify-center mt-6">
+            <button
+              onClick={loadMore}
+              disabled={loadingMore}
+              className="px-6 py-2 bg-sky-600 text-white rounded-lg hover:bg-sky-700 font-medium transition disabled:opacity-50"
+            >
+              {loadingMore ? "Loading..." : "Load More"}
+            </button>
+          </div>
+        )}
       </div>
 
       {/* Delete Confirmation Modal */}